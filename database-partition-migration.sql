@@ -0,0 +1,76 @@
+-- NutriLife: convert existing meals / meal_items tables to monthly range partitions
+-- Run once against nutrilife_core (psql -d nutrilife_core -f database-partition-migration.sql)
+-- while the core service is stopped. New installations get partitioned tables from
+-- database-setup.sql and do not need this script.
+
+BEGIN;
+
+-- meal_items gets the partition key of its meal
+ALTER TABLE meal_items ADD COLUMN IF NOT EXISTS meal_date DATE;
+UPDATE meal_items mi SET meal_date = m.meal_date FROM meals m WHERE m.id = mi.meal_id AND mi.meal_date IS NULL;
+
+ALTER TABLE meal_items RENAME TO meal_items_unpartitioned;
+ALTER TABLE meals RENAME TO meals_unpartitioned;
+
+CREATE TABLE meals (
+    id BIGSERIAL,
+    user_id BIGINT NOT NULL,
+    meal_type VARCHAR(20) NOT NULL,
+    meal_date DATE NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, meal_date)
+) PARTITION BY RANGE (meal_date);
+CREATE TABLE meals_default PARTITION OF meals DEFAULT;
+
+CREATE TABLE meal_items (
+    id BIGSERIAL,
+    meal_id BIGINT NOT NULL,
+    meal_date DATE NOT NULL,
+    food_id BIGINT NOT NULL REFERENCES foods(id) ON DELETE CASCADE,
+    quantity DOUBLE PRECISION NOT NULL,
+    serving_unit VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, meal_date),
+    FOREIGN KEY (meal_id, meal_date) REFERENCES meals(id, meal_date) ON DELETE CASCADE
+) PARTITION BY RANGE (meal_date);
+CREATE TABLE meal_items_default PARTITION OF meal_items DEFAULT;
+
+-- One partition per month from the oldest meal up to three months ahead
+DO $$
+DECLARE
+    month DATE := date_trunc('month', COALESCE((SELECT min(meal_date) FROM meals_unpartitioned), current_date));
+    last_month DATE := date_trunc('month', current_date + INTERVAL '3 months');
+    suffix TEXT;
+BEGIN
+    WHILE month <= last_month LOOP
+        suffix := to_char(month, 'YYYYMM');
+        EXECUTE format('CREATE TABLE meals_p%s PARTITION OF meals FOR VALUES FROM (%L) TO (%L)',
+                       suffix, month, month + INTERVAL '1 month');
+        EXECUTE format('CREATE TABLE meal_items_p%s PARTITION OF meal_items FOR VALUES FROM (%L) TO (%L)',
+                       suffix, month, month + INTERVAL '1 month');
+        month := month + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO meals (id, user_id, meal_type, meal_date, created_at, updated_at)
+SELECT id, user_id, meal_type, meal_date, created_at, updated_at FROM meals_unpartitioned;
+INSERT INTO meal_items (id, meal_id, meal_date, food_id, quantity, serving_unit, created_at)
+SELECT id, meal_id, meal_date, food_id, quantity, serving_unit, created_at FROM meal_items_unpartitioned;
+
+-- New serial sequences continue after the copied ids
+SELECT setval(pg_get_serial_sequence('meals', 'id'), COALESCE((SELECT max(id) FROM meals), 0) + 1, false);
+SELECT setval(pg_get_serial_sequence('meal_items', 'id'), COALESCE((SELECT max(id) FROM meal_items), 0) + 1, false);
+
+DROP TABLE meal_items_unpartitioned;
+DROP TABLE meals_unpartitioned;
+
+CREATE INDEX idx_meals_user_id ON meals(user_id);
+CREATE INDEX idx_meals_date ON meals(meal_date);
+CREATE INDEX idx_meals_user_date ON meals(user_id, meal_date);
+CREATE INDEX idx_meal_items_meal_id ON meal_items(meal_id);
+CREATE INDEX idx_meal_items_food_id ON meal_items(food_id);
+
+CREATE SCHEMA IF NOT EXISTS meals_archive;
+
+COMMIT;
@@ -63,24 +63,91 @@ CREATE TABLE IF NOT EXISTS foods (
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
--- Create meals table
+-- Create meals table (range-partitioned by meal_date, one partition per month)
+-- Monthly partitions are created ahead and detached into meals_archive by the application
+-- (nutrilife.meal-partitions); rows outside every monthly partition land in the default partition.
 CREATE TABLE IF NOT EXISTS meals (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGSERIAL,
     user_id BIGINT NOT NULL,
     meal_type VARCHAR(20) NOT NULL,
     meal_date DATE NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-);
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, meal_date)
+) PARTITION BY RANGE (meal_date);
+CREATE TABLE IF NOT EXISTS meals_default PARTITION OF meals DEFAULT;
 
--- Create meal_items table
+-- Create meal_items table (partitioned like meals; meal_date is copied from the meal)
 CREATE TABLE IF NOT EXISTS meal_items (
-    id BIGSERIAL PRIMARY KEY,
-    meal_id BIGINT NOT NULL REFERENCES meals(id) ON DELETE CASCADE,
+    id BIGSERIAL,
+    meal_id BIGINT NOT NULL,
+    meal_date DATE NOT NULL,
     food_id BIGINT NOT NULL REFERENCES foods(id) ON DELETE CASCADE,
     quantity DOUBLE PRECISION NOT NULL,
     serving_unit VARCHAR(20) NOT NULL,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, meal_date),
+    FOREIGN KEY (meal_id, meal_date) REFERENCES meals(id, meal_date) ON DELETE CASCADE
+) PARTITION BY RANGE (meal_date);
+CREATE TABLE IF NOT EXISTS meal_items_default PARTITION OF meal_items DEFAULT;
+CREATE SCHEMA IF NOT EXISTS meals_archive;
+
+-- Create food_serving_conversions table
+CREATE TABLE IF NOT EXISTS food_serving_conversions (
+    id BIGSERIAL PRIMARY KEY,
+    food_id BIGINT NOT NULL REFERENCES foods(id) ON DELETE CASCADE,
+    serving_unit VARCHAR(20) NOT NULL,
+    grams DOUBLE PRECISION NOT NULL,
+    CONSTRAINT uk_food_serving_conversion UNIQUE (food_id, serving_unit)
+);
+
+-- Create daily_nutrition_summary read model (maintained incrementally by the application)
+CREATE TABLE IF NOT EXISTS daily_nutrition_summary (
+    user_id BIGINT NOT NULL,
+    summary_date DATE NOT NULL,
+    calories DOUBLE PRECISION NOT NULL,
+    protein DOUBLE PRECISION NOT NULL,
+    carbohydrates DOUBLE PRECISION NOT NULL,
+    fat DOUBLE PRECISION NOT NULL,
+    fiber DOUBLE PRECISION NOT NULL,
+    meal_count INTEGER NOT NULL,
+    item_count INTEGER NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (user_id, summary_date)
+);
+
+-- Create nutrition_rollups table (weekly and monthly buckets over daily_nutrition_summary)
+CREATE TABLE IF NOT EXISTS nutrition_rollups (
+    user_id BIGINT NOT NULL,
+    period VARCHAR(10) NOT NULL,
+    bucket_start DATE NOT NULL,
+    logged_days INTEGER NOT NULL,
+    calories DOUBLE PRECISION NOT NULL,
+    protein DOUBLE PRECISION NOT NULL,
+    carbohydrates DOUBLE PRECISION NOT NULL,
+    fat DOUBLE PRECISION NOT NULL,
+    fiber DOUBLE PRECISION NOT NULL,
+    meal_count INTEGER NOT NULL,
+    item_count INTEGER NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (user_id, period, bucket_start)
+);
+
+-- Create meal change log for mobile delta sync (latest change per meal, deletes as tombstones)
+CREATE TABLE IF NOT EXISTS meal_sync_state (
+    user_id BIGINT PRIMARY KEY,
+    last_seq BIGINT NOT NULL,
+    purged_seq BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS meal_changes (
+    user_id BIGINT NOT NULL,
+    seq BIGINT NOT NULL,
+    meal_id BIGINT NOT NULL,
+    meal_date DATE NOT NULL,
+    deleted BOOLEAN NOT NULL,
+    changed_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (user_id, seq)
 );
 
 -- Create indexes
@@ -89,8 +156,19 @@ CREATE INDEX idx_foods_source ON foods(source);
 CREATE INDEX idx_foods_calories ON foods(calories);
 CREATE INDEX idx_meals_user_id ON meals(user_id);
 CREATE INDEX idx_meals_date ON meals(meal_date);
+CREATE INDEX idx_meals_user_date ON meals(user_id, meal_date);
 CREATE INDEX idx_meal_items_meal_id ON meal_items(meal_id);
 CREATE INDEX idx_meal_items_food_id ON meal_items(food_id);
+CREATE INDEX idx_meal_changes_user_meal ON meal_changes(user_id, meal_id);
+
+-- Full-text and trigram search (nutrilife.food-search.mode=postgres)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+ALTER TABLE foods ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('turkish'::regconfig, coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('turkish'::regconfig, coalesce(description, '')), 'B')
+) STORED;
+CREATE INDEX IF NOT EXISTS idx_foods_search_vector ON foods USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_foods_name_trgm ON foods USING GIN (name gin_trgm_ops);
 
 -- Insert sample data
 INSERT INTO foods (name, description, calories, protein, carbohydrates, fat, fiber, source) VALUES
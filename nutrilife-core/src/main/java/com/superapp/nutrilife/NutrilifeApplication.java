@@ -2,8 +2,10 @@ package com.superapp.nutrilife;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class NutrilifeApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,29 @@
+package com.superapp.nutrilife.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.superapp.nutrilife.dto.FoodResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+    
+    /**
+     * Yemek detayları için sınırlı near-cache (Caffeine, W-TinyLFU tahliye).
+     * Yazmalar bu node'da anında geçersiz kılınır; diğer node'lardaki kopyalar TTL ile tazelenir.
+     */
+    @Bean
+    public Cache<Long, FoodResponse> foodCache(
+            @Value("${nutrilife.food-cache.maximum-size:100000}") long maximumSize,
+            @Value("${nutrilife.food-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+}
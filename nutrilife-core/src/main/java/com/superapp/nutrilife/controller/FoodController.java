@@ -1,21 +1,43 @@
 package com.superapp.nutrilife.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.superapp.nutrilife.dto.CursorPage;
+import com.superapp.nutrilife.dto.FoodImportStatus;
+import com.superapp.nutrilife.dto.FoodMacroQuery;
 import com.superapp.nutrilife.dto.FoodRequest;
 import com.superapp.nutrilife.dto.FoodResponse;
+import com.superapp.nutrilife.dto.FoodSuggestion;
+import com.superapp.nutrilife.dto.FrequentFood;
 import com.superapp.nutrilife.model.enums.FoodSource;
+import com.superapp.nutrilife.service.FoodExportService;
+import com.superapp.nutrilife.service.FoodImportService;
 import com.superapp.nutrilife.service.FoodService;
+import com.superapp.nutrilife.service.UserFoodService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
+import static com.superapp.nutrilife.util.NdjsonUtils.writeLine;
+
 @RestController
 @RequestMapping("/api/core")
 @RequiredArgsConstructor
@@ -23,7 +45,13 @@ import java.util.Map;
 @Tag(name = "Food Management", description = "Yemek yönetimi işlemleri")
 public class FoodController {
     
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    
     private final FoodService foodService;
+    private final FoodImportService foodImportService;
+    private final FoodExportService foodExportService;
+    private final UserFoodService userFoodService;
+    private final ObjectMapper objectMapper;
     
     @Operation(summary = "Yemek oluştur", description = "Yeni yemek kaydı oluşturur")
     @ApiResponses(value = {
@@ -40,12 +68,78 @@ public class FoodController {
         }
     }
     
-    @Operation(summary = "Tüm yemekleri listele", description = "Sistemdeki tüm yemekleri listeler")
+    @Operation(summary = "Yemekleri listele", description = "Yemekleri id sırasına göre cursor tabanlı sayfalar halinde listeler")
     @ApiResponse(responseCode = "200", description = "Yemekler başarıyla listelendi")
     @GetMapping("/foods")
-    public ResponseEntity<List<FoodResponse>> getAllFoods() {
-        List<FoodResponse> foods = foodService.getAllFoods();
-        return ResponseEntity.ok(foods);
+    public ResponseEntity<CursorPage<FoodResponse>> getFoods(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        CursorPage<FoodResponse> page = foodService.getFoodsPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+    
+    @Operation(summary = "Tüm yemekleri akışla getir", description = "Tüm kataloğu satır başına bir JSON olacak şekilde (NDJSON) akış halinde döner")
+    @ApiResponse(responseCode = "200", description = "Akış başlatıldı")
+    @GetMapping(value = "/foods/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamFoods() {
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            try {
+                foodService.forEachFood(food -> writeLine(objectMapper, out, food));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+    
+    @Operation(summary = "Kataloğu dışa aktar", description = "Tüm yemekleri besin değerleriyle birlikte NDJSON olarak akışla döner; istemci destekliyorsa gzip ile sıkıştırır")
+    @ApiResponse(responseCode = "200", description = "Akış başlatıldı")
+    @GetMapping(value = "/foods/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportFoods(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        StreamingResponseBody body = outputStream -> foodExportService.exportNdjson(outputStream, gzip);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+    
+    @Operation(summary = "Toplu yemek içe aktar (CSV)", description = "Başlık satırlı CSV dosyasındaki yemekleri partiler halinde foods ve food_nutrients tablolarına yükler")
+    @ApiResponse(responseCode = "200", description = "İçe aktarım tamamlandı, özet döndü")
+    @PostMapping(value = "/foods/import", consumes = "text/csv")
+    public ResponseEntity<FoodImportStatus> importFoodsCsv(
+            @RequestParam(required = false) String importId,
+            InputStream body) {
+        FoodImportStatus status = foodImportService.importCsv(importId, new InputStreamReader(body, StandardCharsets.UTF_8));
+        return ResponseEntity.ok(status);
+    }
+    
+    @Operation(summary = "Toplu yemek içe aktar (NDJSON)", description = "Satır başına bir JSON nesnesi içeren akıştaki yemekleri partiler halinde yükler")
+    @ApiResponse(responseCode = "200", description = "İçe aktarım tamamlandı, özet döndü")
+    @PostMapping(value = "/foods/import", consumes = "application/x-ndjson")
+    public ResponseEntity<FoodImportStatus> importFoodsNdjson(
+            @RequestParam(required = false) String importId,
+            InputStream body) {
+        FoodImportStatus status = foodImportService.importNdjson(importId, new InputStreamReader(body, StandardCharsets.UTF_8));
+        return ResponseEntity.ok(status);
+    }
+    
+    @Operation(summary = "İçe aktarım durumu", description = "Devam eden ya da biten bir içe aktarımın ilerlemesini getirir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Durum bulundu"),
+        @ApiResponse(responseCode = "404", description = "İçe aktarım bulunamadı")
+    })
+    @GetMapping("/foods/import/{importId}")
+    public ResponseEntity<FoodImportStatus> getImportStatus(@PathVariable String importId) {
+        return foodImportService.getStatus(importId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
     
     @Operation(summary = "Yemek detayı", description = "ID'ye göre yemek detayını getirir")
@@ -63,14 +157,70 @@ public class FoodController {
         }
     }
     
-    @Operation(summary = "Yemek ara", description = "İsim veya açıklamaya göre yemek arar")
+    @Operation(summary = "Benzer yemekler", description = "Besin değerleri (kalori, makrolar, şeker, sodyum) verilen yemeğe en yakın yemekleri yakından uzağa sıralar")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Benzer yemekler listelendi"),
+        @ApiResponse(responseCode = "404", description = "Yemek bulunamadı")
+    })
+    @GetMapping("/foods/{id}/similar")
+    public ResponseEntity<?> getSimilarFoods(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<FoodResponse> foods = foodService.getSimilarFoods(id, Math.min(limit, 50));
+            return ResponseEntity.ok(foods);
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @Operation(summary = "Son kullanılan yemekler", description = "Kullanıcının öğünlerine en son eklediği yemekleri en yeniden eskiye listeler")
+    @ApiResponse(responseCode = "200", description = "Yemekler listelendi")
+    @GetMapping("/users/{id}/foods/recent")
+    public ResponseEntity<List<FoodResponse>> getRecentFoods(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<FoodResponse> foods = userFoodService.getRecentFoods(id, Math.min(limit, 50));
+        return ResponseEntity.ok(foods);
+    }
+    
+    @Operation(summary = "En sık kullanılan yemekler", description = "Kullanıcının öğünlerinde en sık kullandığı yemekleri tahmini kullanım sayısıyla listeler")
+    @ApiResponse(responseCode = "200", description = "Yemekler listelendi")
+    @GetMapping("/users/{id}/foods/frequent")
+    public ResponseEntity<List<FrequentFood>> getFrequentFoods(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<FrequentFood> foods = userFoodService.getFrequentFoods(id, Math.min(limit, 50));
+        return ResponseEntity.ok(foods);
+    }
+    
+    @Operation(summary = "Yemek cache istatistikleri", description = "Yemek near-cache'inin isabet, kaçırma ve tahliye sayılarını döner")
+    @ApiResponse(responseCode = "200", description = "İstatistikler getirildi")
+    @GetMapping("/foods/cache/stats")
+    public ResponseEntity<Map<String, Object>> getFoodCacheStats() {
+        return ResponseEntity.ok(foodService.getFoodCacheStats());
+    }
+    
+    @Operation(summary = "Yemek ara", description = "İsim veya açıklamaya göre yemek arar, sonuçları alaka düzeyine göre sıralar")
     @ApiResponse(responseCode = "200", description = "Arama tamamlandı")
     @GetMapping("/foods/search")
-    public ResponseEntity<List<FoodResponse>> searchFoods(@RequestParam String q) {
-        List<FoodResponse> foods = foodService.searchFoods(q);
+    public ResponseEntity<List<FoodResponse>> searchFoods(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<FoodResponse> foods = foodService.searchFoods(q, Math.min(limit, 100));
         return ResponseEntity.ok(foods);
     }
     
+    @Operation(summary = "Yemek adı tamamlama", description = "Yazılan öneke göre en popüler yemeklerin id ve adını döner")
+    @ApiResponse(responseCode = "200", description = "Öneriler listelendi")
+    @GetMapping("/foods/suggest")
+    public ResponseEntity<List<FoodSuggestion>> suggestFoods(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<FoodSuggestion> suggestions = foodService.suggestFoods(q, Math.min(limit, 50));
+        return ResponseEntity.ok(suggestions);
+    }
+    
     @Operation(summary = "Kaynağa göre yemekler", description = "Belirli kaynaktan yemekleri listeler")
     @ApiResponse(responseCode = "200", description = "Yemekler listelendi")
     @GetMapping("/foods/source/{source}")
@@ -79,13 +229,22 @@ public class FoodController {
         return ResponseEntity.ok(foods);
     }
     
-    @Operation(summary = "Kalori aralığına göre yemekler", description = "Belirli kalori aralığındaki yemekleri listeler")
+    @Operation(summary = "Kalori aralığına göre yemekler", description = "Belirli kalori aralığındaki yemekleri kaloriye göre artan sırada listeler")
     @ApiResponse(responseCode = "200", description = "Yemekler listelendi")
     @GetMapping("/foods/calories")
     public ResponseEntity<List<FoodResponse>> getFoodsByCaloriesRange(
             @RequestParam Double min, 
-            @RequestParam Double max) {
-        List<FoodResponse> foods = foodService.getFoodsByCaloriesRange(min, max);
+            @RequestParam Double max,
+            @RequestParam(defaultValue = "1000") int limit) {
+        List<FoodResponse> foods = foodService.getFoodsByCaloriesRange(min, max, limit);
+        return ResponseEntity.ok(foods);
+    }
+    
+    @Operation(summary = "Makro aralıklarına göre yemekler", description = "Protein, karbonhidrat, yağ, lif, şeker ve sodyum aralıklarının hepsini birden sağlayan yemekleri listeler")
+    @ApiResponse(responseCode = "200", description = "Yemekler listelendi")
+    @GetMapping("/foods/macros")
+    public ResponseEntity<List<FoodResponse>> getFoodsByMacroRanges(@ParameterObject FoodMacroQuery query) {
+        List<FoodResponse> foods = foodService.getFoodsByMacroRanges(query);
         return ResponseEntity.ok(foods);
     }
     
@@ -0,0 +1,177 @@
+package com.superapp.nutrilife.controller;
+
+import com.superapp.nutrilife.dto.MealHistoryPage;
+import com.superapp.nutrilife.dto.MealItemResponse;
+import com.superapp.nutrilife.dto.MealItemsRequest;
+import com.superapp.nutrilife.dto.MealRequest;
+import com.superapp.nutrilife.dto.MealResponse;
+import com.superapp.nutrilife.dto.MealSyncPage;
+import com.superapp.nutrilife.dto.MealSyncResult;
+import com.superapp.nutrilife.dto.MealSyncUpload;
+import com.superapp.nutrilife.service.IdempotencyService;
+import com.superapp.nutrilife.service.MealItemWriteBuffer;
+import com.superapp.nutrilife.service.MealService;
+import com.superapp.nutrilife.service.MealSyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/api/core")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Meal Logging", description = "Öğün kaydı işlemleri")
+public class MealController {
+    
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    
+    private final MealService mealService;
+    private final MealSyncService mealSyncService;
+    private final IdempotencyService idempotencyService;
+    private final MealItemWriteBuffer mealItemWriteBuffer;
+    
+    @Operation(summary = "Öğün kaydet", description = "Öğünü ve tüm kalemlerini tek transaction içinde kaydeder. Idempotency-Key başlığıyla tekrarlanan istekler yeni kayıt oluşturmaz, ilk sonucu döner")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Öğün başarıyla kaydedildi"),
+        @ApiResponse(responseCode = "400", description = "Geçersiz veri veya bilinmeyen yemek"),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key farklı bir istekle kullanılmış")
+    })
+    @PostMapping("/meals")
+    public ResponseEntity<?> logMeal(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody MealRequest request) {
+        try {
+            IdempotencyService.Outcome<MealResponse> outcome = idempotencyService.execute(
+                    "meals:" + request.getUserId(), idempotencyKey, request, () -> mealService.logMeal(request));
+            return ResponseEntity.status(201)
+                    .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(outcome.replayed()))
+                    .body(outcome.value());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.unprocessableEntity().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    @Operation(summary = "Öğüne kalem ekle", description = "Var olan öğüne kalem ekler ve günlük özeti günceller. Idempotency-Key başlığıyla tekrarlanan istekler kalemleri yeniden eklemez")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Kalemler eklendi"),
+        @ApiResponse(responseCode = "400", description = "Geçersiz veri veya bilinmeyen yemek"),
+        @ApiResponse(responseCode = "404", description = "Öğün bulunamadı"),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key farklı bir istekle kullanılmış"),
+        @ApiResponse(responseCode = "503", description = "Yazma kuyruğu dolu, Retry-After sonrası tekrar denenmeli")
+    })
+    @PostMapping("/meals/{id}/items")
+    public ResponseEntity<?> addMealItems(
+            @PathVariable Long id,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody MealItemsRequest request) {
+        try {
+            IdempotencyService.Outcome<List<MealItemResponse>> outcome = idempotencyService.execute(
+                    "meal-items:" + id, idempotencyKey, request, () -> mealItemWriteBuffer.addMealItems(id, request.getMealItems()));
+            return ResponseEntity.status(201)
+                    .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(outcome.replayed()))
+                    .body(outcome.value());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.unprocessableEntity().body(Map.of("error", e.getMessage()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    @Operation(summary = "Günlük öğünler", description = "Kullanıcının belirli bir gündeki öğünlerini listeler")
+    @ApiResponse(responseCode = "200", description = "Öğünler listelendi")
+    @GetMapping("/meals")
+    public ResponseEntity<List<MealResponse>> getMeals(
+            @RequestParam Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        List<MealResponse> meals = mealService.getMealsByUserAndDate(userId, date);
+        return ResponseEntity.ok(meals);
+    }
+    
+    @Operation(summary = "Öğün geçmişi", description = "Kullanıcının öğünlerini kalemleri ve yemekleriyle birlikte, en yeni günden geriye doğru gün bazlı sayfalar halinde listeler")
+    @ApiResponse(responseCode = "200", description = "Öğün geçmişi listelendi")
+    @GetMapping("/meals/history")
+    public ResponseEntity<MealHistoryPage> getMealHistory(
+            @RequestParam Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate before,
+            @RequestParam(defaultValue = "7") int days) {
+        MealHistoryPage page = mealService.getMealHistory(userId, before, days);
+        return ResponseEntity.ok(page);
+    }
+    
+    @Operation(summary = "Delta senkronizasyon", description = "since imlecinden sonra oluşturulan öğünleri ve silinen öğünlerin mezar taşlarını değişiklik sırasıyla döner; ilk senkronizasyon since=0 ile yapılır")
+    @ApiResponse(responseCode = "200", description = "Değişiklikler listelendi")
+    @GetMapping("/meals/sync")
+    public ResponseEntity<MealSyncPage> getMealChanges(
+            @RequestParam Long userId,
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "500") int limit) {
+        MealSyncPage page = mealSyncService.getChanges(userId, since, limit);
+        return ResponseEntity.ok(page);
+    }
+    
+    @Operation(summary = "Çevrimdışı kuyruğu yükle", description = "Çevrimdışıyken kaydedilen öğünleri ve silmeleri tek istekte işler; her kayıt ayrı değerlendirilir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Yükleme işlendi"),
+        @ApiResponse(responseCode = "400", description = "Geçersiz veri")
+    })
+    @PostMapping("/meals/sync")
+    public ResponseEntity<MealSyncResult> uploadMeals(
+            @RequestParam Long userId,
+            @Valid @RequestBody MealSyncUpload upload) {
+        MealSyncResult result = mealSyncService.upload(userId, upload);
+        return ResponseEntity.ok(result);
+    }
+    
+    @Operation(summary = "Öğün detayı", description = "ID'ye göre öğünü kalemleriyle getirir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Öğün bulundu"),
+        @ApiResponse(responseCode = "404", description = "Öğün bulunamadı")
+    })
+    @GetMapping("/meals/{id}")
+    public ResponseEntity<?> getMealById(@PathVariable Long id) {
+        try {
+            MealResponse response = mealService.getMealById(id);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @Operation(summary = "Öğün sil", description = "Öğünü ve kalemlerini siler")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Öğün başarıyla silindi"),
+        @ApiResponse(responseCode = "404", description = "Öğün bulunamadı")
+    })
+    @DeleteMapping("/meals/{id}")
+    public ResponseEntity<?> deleteMeal(@PathVariable Long id) {
+        try {
+            mealService.deleteMeal(id);
+            return ResponseEntity.ok(Map.of("message", "Öğün başarıyla silindi"));
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.superapp.nutrilife.controller;
+
+import com.superapp.nutrilife.dto.DailyNutritionTotals;
+import com.superapp.nutrilife.dto.NutritionRangeTotals;
+import com.superapp.nutrilife.model.FoodServingConversion;
+import com.superapp.nutrilife.model.enums.ServingUnit;
+import com.superapp.nutrilife.service.NutritionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/core")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Nutrition Totals", description = "Günlük ve dönemsel besin toplamları")
+public class NutritionController {
+    
+    private static final int MAX_ROLLUP_DAYS = 3660;
+    
+    private final NutritionService nutritionService;
+    
+    @Operation(summary = "Günlük toplamlar", description = "Kullanıcının bir gündeki kalori, protein, karbonhidrat, yağ ve lif toplamlarını porsiyonları grama çevirerek hesaplar")
+    @ApiResponse(responseCode = "200", description = "Toplamlar hesaplandı")
+    @GetMapping("/nutrition/daily")
+    public ResponseEntity<DailyNutritionTotals> getDailyTotals(
+            @RequestParam Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(nutritionService.getDailyTotals(userId, date));
+    }
+    
+    @Operation(summary = "Gün aralığı toplamları", description = "Kullanıcının [from, to] aralığında öğün kaydı olan her günü için toplamları listeler")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Toplamlar listelendi"),
+        @ApiResponse(responseCode = "400", description = "Geçersiz tarih aralığı")
+    })
+    @GetMapping("/nutrition/days")
+    public ResponseEntity<?> getDailyTotalsRange(
+            @RequestParam Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            List<DailyNutritionTotals> days = nutritionService.getDailyTotals(userId, from, to);
+            return ResponseEntity.ok(days);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    @Operation(summary = "Dönem toplamları", description = "Kullanıcının to gününde biten son days gününe ait makro toplamlarını ve günlük kalori hedefine uyumunu ön-toplanmış gün, hafta ve ay kovalarından hesaplar (ör. days=7, 30, 365)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Toplamlar hesaplandı"),
+        @ApiResponse(responseCode = "400", description = "Geçersiz gün sayısı")
+    })
+    @GetMapping("/nutrition/rollup")
+    public ResponseEntity<?> getRangeTotals(
+            @RequestParam Long userId,
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (days < 1 || days > MAX_ROLLUP_DAYS) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Gün sayısı 1 ile " + MAX_ROLLUP_DAYS + " arasında olmalıdır"));
+        }
+        LocalDate end = to != null ? to : LocalDate.now();
+        NutritionRangeTotals totals = nutritionService.getRangeTotals(userId, end.minusDays(days - 1), end);
+        return ResponseEntity.ok(totals);
+    }
+    
+    @Operation(summary = "Günlük özeti yeniden oluştur", description = "Verilen tarih aralığındaki günlük özet satırlarını öğün kalemlerinden yeniden hesaplar")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Özet yeniden oluşturuldu"),
+        @ApiResponse(responseCode = "400", description = "Geçersiz tarih aralığı")
+    })
+    @PostMapping("/nutrition/summaries/rebuild")
+    public ResponseEntity<?> rebuildSummaries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            int rows = nutritionService.rebuildSummaries(from, to);
+            return ResponseEntity.ok(Map.of("rebuiltDays", rows));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    @Operation(summary = "Porsiyon dönüşümü tanımla", description = "Yemeğin bir porsiyon biriminin gram karşılığını tanımlar; tanımlı olmayan birimlerde varsayılan değer kullanılır")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Dönüşüm kaydedildi"),
+        @ApiResponse(responseCode = "400", description = "Geçersiz gram değeri"),
+        @ApiResponse(responseCode = "404", description = "Yemek bulunamadı")
+    })
+    @PutMapping("/foods/{id}/servings/{servingUnit}")
+    public ResponseEntity<?> setServingConversion(
+            @PathVariable Long id,
+            @PathVariable ServingUnit servingUnit,
+            @RequestParam Double grams) {
+        try {
+            FoodServingConversion conversion = nutritionService.setServingConversion(id, servingUnit, grams);
+            return ResponseEntity.ok(Map.of(
+                    "foodId", id,
+                    "servingUnit", conversion.getServingUnit(),
+                    "grams", conversion.getGrams()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.superapp.nutrilife.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Keyset (cursor) tabanlı sayfa cevabı. Bir sonraki sayfa için nextCursor değeri
+ * aynen geri gönderilir; OFFSET kullanılmadığı için derin sayfalar da sabit maliyettedir.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private Long nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,24 @@
+package com.superapp.nutrilife.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyNutritionTotals {
+    private Long userId;
+    private LocalDate date;
+    private double calories;
+    private double protein;
+    private double carbohydrates;
+    private double fat;
+    private double fiber;
+    private int mealCount;
+    private int itemCount;
+}
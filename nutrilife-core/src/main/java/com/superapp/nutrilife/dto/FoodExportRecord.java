@@ -0,0 +1,32 @@
+package com.superapp.nutrilife.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.superapp.nutrilife.model.enums.FoodSource;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Katalog dışa aktarımında tek satır: yemek ve varsa besin değerleri. Boş alanlar yazılmaz.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FoodExportRecord {
+    private Long id;
+    private String name;
+    private String description;
+    private Double calories;
+    private Double protein;
+    private Double carbohydrates;
+    private Double fat;
+    private Double fiber;
+    private FoodSource source;
+    private LocalDateTime updatedAt;
+    private FoodNutrientsResponse nutrients;
+}
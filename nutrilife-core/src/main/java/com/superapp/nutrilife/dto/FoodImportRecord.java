@@ -0,0 +1,44 @@
+package com.superapp.nutrilife.dto;
+
+import com.superapp.nutrilife.model.enums.FoodSource;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+/**
+ * Toplu içe aktarmada bir CSV satırı ya da NDJSON nesnesi. Makro değerler foods tablosuna,
+ * şeker ve sodyum ile birlikte tamamı food_nutrients tablosuna yazılır.
+ */
+@Data
+public class FoodImportRecord {
+    @NotBlank(message = "Yemek adı boş olamaz")
+    private String name;
+    
+    private String description;
+    
+    @NotNull(message = "Kalori değeri boş olamaz")
+    @Positive(message = "Kalori değeri pozitif olmalıdır")
+    private Double calories;
+    
+    @Positive(message = "Protein değeri pozitif olmalıdır")
+    private Double protein;
+    
+    @Positive(message = "Karbonhidrat değeri pozitif olmalıdır")
+    private Double carbohydrates;
+    
+    @Positive(message = "Yağ değeri pozitif olmalıdır")
+    private Double fat;
+    
+    @Positive(message = "Fiber değeri pozitif olmalıdır")
+    private Double fiber;
+    
+    @PositiveOrZero(message = "Şeker değeri negatif olamaz")
+    private Double sugar;
+    
+    @PositiveOrZero(message = "Sodyum değeri negatif olamaz")
+    private Double sodium;
+    
+    private FoodSource source = FoodSource.DATABASE;
+}
@@ -0,0 +1,30 @@
+package com.superapp.nutrilife.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class FoodImportStatus {
+    private String importId;
+    private State state;
+    private long processed;
+    private long imported;
+    private long rejected;
+    private List<String> errors;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
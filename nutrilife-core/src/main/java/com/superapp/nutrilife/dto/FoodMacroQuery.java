@@ -0,0 +1,24 @@
+package com.superapp.nutrilife.dto;
+
+import lombok.Data;
+
+/**
+ * /foods/macros sorgusunun aralıkları. Verilmeyen sınır açık kabul edilir;
+ * protein, karbonhidrat, yağ, lif ve şeker gram, sodyum miligram cinsindendir.
+ */
+@Data
+public class FoodMacroQuery {
+    private Double minProtein;
+    private Double maxProtein;
+    private Double minCarbohydrates;
+    private Double maxCarbohydrates;
+    private Double minFat;
+    private Double maxFat;
+    private Double minFiber;
+    private Double maxFiber;
+    private Double minSugar;
+    private Double maxSugar;
+    private Double minSodium;
+    private Double maxSodium;
+    private int limit = 100;
+}
@@ -0,0 +1,24 @@
+package com.superapp.nutrilife.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FoodNutrientsResponse {
+    private BigDecimal energyKcal;
+    private BigDecimal proteinG;
+    private BigDecimal fatG;
+    private BigDecimal carbsG;
+    private BigDecimal fiberG;
+    private BigDecimal sugarG;
+    private BigDecimal sodiumMg;
+}
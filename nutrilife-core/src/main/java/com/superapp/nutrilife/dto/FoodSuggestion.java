@@ -0,0 +1,13 @@
+package com.superapp.nutrilife.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FoodSuggestion {
+    private Long id;
+    private String name;
+}
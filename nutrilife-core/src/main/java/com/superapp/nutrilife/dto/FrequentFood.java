@@ -0,0 +1,14 @@
+package com.superapp.nutrilife.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FrequentFood {
+    private FoodResponse food;
+    // Tahmini kullanım sayısı; gerçek değerden en fazla birkaç sayım yüksek olabilir
+    private long count;
+}
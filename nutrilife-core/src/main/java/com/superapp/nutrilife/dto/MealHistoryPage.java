@@ -0,0 +1,23 @@
+package com.superapp.nutrilife.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Gün bazlı öğün geçmişi sayfası. Sayfa en yeni günden geriye doğru belirli sayıda öğün
+ * günü içerir; sonraki sayfa için nextCursor, before parametresi olarak aynen gönderilir.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealHistoryPage {
+    private List<MealResponse> meals;
+    private LocalDate nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,22 @@
+package com.superapp.nutrilife.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.superapp.nutrilife.model.enums.ServingUnit;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MealItemResponse {
+    private Long id;
+    private Long foodId;
+    private Double quantity;
+    private ServingUnit servingUnit;
+    // Yalnızca yemekleriyle birlikte yüklenen öğünlerde dolu; değerler 100 g başınadır
+    private FoodResponse food;
+}
@@ -0,0 +1,14 @@
+package com.superapp.nutrilife.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MealItemsRequest {
+    @NotEmpty(message = "En az bir öğün kalemi gönderilmelidir")
+    @Valid
+    private List<MealItemRequest> mealItems;
+}
@@ -1,6 +1,7 @@
 package com.superapp.nutrilife.dto;
 
 import com.superapp.nutrilife.model.enums.MealType;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
@@ -18,5 +19,9 @@ public class MealRequest {
     @NotNull(message = "Öğün tarihi boş olamaz")
     private LocalDate mealDate;
     
+    @Valid
     private List<MealItemRequest> mealItems;
+    
+    // Çevrimdışı kuyruktan yüklenen kayıtlar için; doğrudan isteklerde Idempotency-Key başlığı kullanılır
+    private String idempotencyKey;
 }
@@ -0,0 +1,25 @@
+package com.superapp.nutrilife.dto;
+
+import com.superapp.nutrilife.model.enums.MealType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealResponse {
+    private Long id;
+    private Long userId;
+    private MealType mealType;
+    private LocalDate mealDate;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private List<MealItemResponse> mealItems;
+}
@@ -0,0 +1,26 @@
+package com.superapp.nutrilife.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Delta senkronizasyon cevabı. meals, imleçten sonra oluşturulan ya da değişen öğünlerin güncel
+ * halidir; deleted, silinen öğünlerin mezar taşlarıdır. Sonraki istekte nextCursor, since olarak
+ * gönderilir. resetRequired true ise istemcinin imleci çok eski kalmıştır: yerel veriyi silip
+ * since=0 ile baştan senkronize etmelidir.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealSyncPage {
+    private List<MealResponse> meals;
+    private List<MealTombstone> deleted;
+    private long nextCursor;
+    private boolean hasMore;
+    private boolean resetRequired;
+}
@@ -0,0 +1,33 @@
+package com.superapp.nutrilife.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Toplu yüklemenin sonucu. Her kayıt ayrı işlenir: created, kaydedilen öğünleri yükleme
+ * sırasıyla içerir; reddedilen kayıtlar meals listesindeki index'leriyle rejected'da döner.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MealSyncResult {
+    private List<MealResponse> created;
+    private List<Long> deleted;
+    private List<Long> notFound;
+    private List<Rejection> rejected;
+    
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Rejection {
+        private int index;
+        private String error;
+    }
+}
@@ -0,0 +1,17 @@
+package com.superapp.nutrilife.dto;
+
+import jakarta.validation.Valid;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Çevrimdışıyken kuyruğa alınmış öğün kayıtları ve silmeleri
+ */
+@Data
+public class MealSyncUpload {
+    @Valid
+    private List<MealRequest> meals;
+    
+    private List<Long> deletedMealIds;
+}
@@ -0,0 +1,35 @@
+package com.superapp.nutrilife.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Bir tarih aralığının besin toplamları ve kalori hedefine uyumu. goalAdherence, öğün kaydı
+ * olan günlerin ortalama kalorisinin günlük hedefe oranıdır (1.0 = tam hedefte); hedef
+ * tanımlı değilse boştur.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NutritionRangeTotals {
+    private Long userId;
+    private LocalDate from;
+    private LocalDate to;
+    private int days;
+    private int loggedDays;
+    private double calories;
+    private double protein;
+    private double carbohydrates;
+    private double fat;
+    private double fiber;
+    private int mealCount;
+    private int itemCount;
+    private double averageDailyCalories;
+    private Integer dailyCalorieGoal;
+    private Double goalAdherence;
+}
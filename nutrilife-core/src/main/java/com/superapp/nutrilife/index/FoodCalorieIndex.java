@@ -0,0 +1,222 @@
+package com.superapp.nutrilife.index;
+
+import com.superapp.nutrilife.dto.FoodResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kalori aralığı sorguları için bellek içi indeks. Kaloriler sıralı bir double[] içinde,
+ * yemek id'leri aynı sırayla paralel bir long[] içinde tutulur; aralığın sınırları ikili
+ * aramayla bulunur ve sorgu O(log n + k) sürede, kutulama yapmadan taranır.
+ * <p>
+ * Sıralı diziler değişmez bir anlık görüntüdür. Son yeniden inşadan beri değişen id'ler
+ * ayrı bir kümede bekler ve sorguda canlı haritadan okunup sonuca sıralı şekilde katılır.
+ * Görüntü yalnızca zamanlanmış görevde yeniden kurulur; toplu içe aktarım gibi büyük değişiklik
+ * kümeleri de sorgu thread'inde yeniden inşayı beklemek yerine birleştirme yoluyla okunur.
+ */
+@Component
+@Slf4j
+public class FoodCalorieIndex implements FoodIndex {
+    
+    private final Map<Long, Double> calories = new ConcurrentHashMap<>();
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    // Yeniden inşa sürerken görüntüye henüz yansımamış değişiklikler
+    private volatile Set<Long> inFlight = Set.of();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    
+    @Override
+    public void put(FoodResponse food) {
+        if (food.getCalories() == null) {
+            remove(food.getId());
+            return;
+        }
+        calories.put(food.getId(), food.getCalories());
+        pending.add(food.getId());
+    }
+    
+    @Override
+    public void remove(Long foodId) {
+        calories.remove(foodId);
+        pending.add(foodId);
+    }
+    
+    @Scheduled(fixedDelayString = "${nutrilife.food-calories.rebuild-interval-ms:5000}")
+    public void rebuildIfDirty() {
+        if (!pending.isEmpty()) {
+            rebuild();
+        }
+    }
+    
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        Set<Long> drained = new HashSet<>(pending);
+        inFlight = drained;
+        // Buradan sonraki yazmalar pending'e yeniden düşer; öncekiler aşağıdaki kopyada görünür
+        pending.removeAll(drained);
+        snapshot = Snapshot.build(calories);
+        inFlight = Set.of();
+        log.debug("Kalori indeksi {} yemekle {} ms içinde yeniden oluşturuldu", snapshot.ids.length, System.currentTimeMillis() - start);
+    }
+    
+    /**
+     * Kalorisi [min, max] aralığındaki yemeklerin id'lerini kaloriye göre artan sırada döner
+     */
+    public long[] findIds(double min, double max, int limit) {
+        if (min > max || limit <= 0) {
+            return new long[0];
+        }
+        // Değişiklik kümesi görüntüden önce okunur: arada biten bir yeniden inşa daha yeni bir görüntü
+        // bırakır, değişen id'ler ise ya o görüntüde ya da okunan kümede bulunur
+        Set<Long> changed = changedIds();
+        Snapshot current = snapshot;
+        
+        int from = current.lowerBound(min);
+        int to = current.upperBound(max);
+        long[] result = new long[Math.min(limit, to - from + changed.size())];
+        int count = 0;
+        
+        if (changed.isEmpty()) {
+            for (int i = from; i < to && count < limit; i++) {
+                result[count++] = current.ids[i];
+            }
+            return count == result.length ? result : Arrays.copyOf(result, count);
+        }
+        
+        // Değişen yemekleri canlı değerleriyle sıralayıp görüntüdeki aralıkla birleştir
+        List<Map.Entry<Long, Double>> live = new ArrayList<>();
+        for (Long id : changed) {
+            Double value = calories.get(id);
+            if (value != null && value >= min && value <= max) {
+                live.add(Map.entry(id, value));
+            }
+        }
+        live.sort(Map.Entry.comparingByValue());
+        
+        int i = from;
+        int j = 0;
+        while (count < limit && (i < to || j < live.size())) {
+            if (i < to && changed.contains(current.ids[i])) {
+                i++;
+                continue;
+            }
+            if (j >= live.size() || (i < to && current.values[i] <= live.get(j).getValue())) {
+                result[count++] = current.ids[i++];
+            } else {
+                result[count++] = live.get(j++).getKey();
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+    
+    private Set<Long> changedIds() {
+        // rebuild önce inFlight'ı atayıp sonra pending'den siler; pending önce okunursa aradaki id'ler kaçmaz
+        Set<Long> waiting = pending.isEmpty() ? Set.of() : new HashSet<>(pending);
+        Set<Long> rebuilding = inFlight;
+        if (waiting.isEmpty()) {
+            return rebuilding;
+        }
+        waiting.addAll(rebuilding);
+        return waiting;
+    }
+    
+    private static final class Snapshot {
+        
+        private static final Snapshot EMPTY = new Snapshot(new double[0], new long[0]);
+        
+        private final double[] values;
+        private final long[] ids;
+        
+        private Snapshot(double[] values, long[] ids) {
+            this.values = values;
+            this.ids = ids;
+        }
+        
+        private static Snapshot build(Map<Long, Double> calories) {
+            double[] values = new double[calories.size()];
+            long[] ids = new long[values.length];
+            int count = 0;
+            for (Map.Entry<Long, Double> entry : calories.entrySet()) {
+                // Harita kopyalanırken yazmalar sürebilir; dizi gerekirse büyütülür
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, Math.max(16, count * 2));
+                    ids = Arrays.copyOf(ids, values.length);
+                }
+                values[count] = entry.getValue();
+                ids[count] = entry.getKey();
+                count++;
+            }
+            if (count < values.length) {
+                values = Arrays.copyOf(values, count);
+                ids = Arrays.copyOf(ids, count);
+            }
+            sort(values, ids);
+            return new Snapshot(values, ids);
+        }
+        
+        // Paralel dizileri kaloriye, eşitlikte id'ye göre alttan üste birleştirme sıralamasıyla dizer;
+        // milyonlarca kayıtta Map.Entry kutulaması yapılmaz
+        private static void sort(double[] values, long[] ids) {
+            int n = values.length;
+            double[] valueBuffer = new double[n];
+            long[] idBuffer = new long[n];
+            for (int width = 1; width < n; width *= 2) {
+                for (int lo = 0; lo < n - width; lo += 2 * width) {
+                    int mid = lo + width;
+                    int hi = Math.min(mid + width, n);
+                    int i = lo;
+                    int j = mid;
+                    for (int k = lo; k < hi; k++) {
+                        if (j >= hi || (i < mid && (values[i] < values[j] || (values[i] == values[j] && ids[i] < ids[j])))) {
+                            valueBuffer[k] = values[i];
+                            idBuffer[k] = ids[i++];
+                        } else {
+                            valueBuffer[k] = values[j];
+                            idBuffer[k] = ids[j++];
+                        }
+                    }
+                    System.arraycopy(valueBuffer, lo, values, lo, hi - lo);
+                    System.arraycopy(idBuffer, lo, ids, lo, hi - lo);
+                }
+            }
+        }
+        
+        // values[i] >= min olan ilk konum
+        private int lowerBound(double min) {
+            int lo = 0;
+            int hi = values.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[mid] < min) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+        
+        // values[i] > max olan ilk konum
+        private int upperBound(double max) {
+            int lo = 0;
+            int hi = values.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[mid] <= max) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.superapp.nutrilife.index;
+
+import com.superapp.nutrilife.dto.FoodResponse;
+
+/**
+ * Yemek kataloğunun bellek içi kopyalarını tutan indeksler için ortak sözleşme.
+ * FoodService yazma işlemleri commit olduktan sonra tüm indeksleri bu arayüz üzerinden günceller.
+ */
+public interface FoodIndex {
+    
+    /**
+     * Yemeği indekse ekler; aynı id ile kayıt varsa eskisinin yerine geçer
+     */
+    void put(FoodResponse food);
+    
+    /**
+     * Yemeği indeksten çıkarır; kayıt yoksa bir şey yapmaz
+     */
+    void remove(Long foodId);
+    
+    /**
+     * food_nutrients tablosundaki şeker (g) ve sodyum (mg) değerlerini bildirir; ihtiyaç duymayan indeksler yok sayar
+     */
+    default void putNutrients(Long foodId, Double sugar, Double sodium) {
+    }
+}
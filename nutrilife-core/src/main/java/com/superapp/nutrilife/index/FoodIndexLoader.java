@@ -0,0 +1,72 @@
+package com.superapp.nutrilife.index;
+
+import com.superapp.nutrilife.service.FoodService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+
+/**
+ * Uygulama ayağa kalktığında kataloğu tek bir cursor geçişiyle okuyup tüm bellek içi indeksleri doldurur
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FoodIndexLoader {
+    
+    private static final int FETCH_SIZE = 1000;
+    
+    private final FoodService foodService;
+    private final JdbcTemplate jdbcTemplate;
+    private final FoodIndexes foodIndexes;
+    private final PlatformTransactionManager transactionManager;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndexes() {
+        if (foodIndexes.size() == 0) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long[] count = {0};
+        foodIndexes.beginLoad();
+        try {
+            foodService.forEachFood(food -> {
+                foodIndexes.load(food);
+                count[0]++;
+            });
+            loadNutrients();
+        } finally {
+            foodIndexes.endLoad();
+        }
+        log.info("{} yemek {} indekse {} ms içinde yüklendi", count[0], foodIndexes.size(), System.currentTimeMillis() - start);
+    }
+    
+    // Şeker ve sodyum yalnızca food_nutrients'ta tutulduğu için ayrı bir geçişle okunur. PostgreSQL
+    // fetch size'ı yalnızca autocommit kapalıyken uygular; transaction dışında tablo tek seferde belleğe alınır
+    private void loadNutrients() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement("SELECT food_id, sugar_g, sodium_mg FROM food_nutrients");
+            ps.setFetchSize(FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            Long foodId = rs.getLong("food_id");
+            Double sugar = toDouble(rs.getBigDecimal("sugar_g"));
+            Double sodium = toDouble(rs.getBigDecimal("sodium_mg"));
+            foodIndexes.loadNutrients(foodId, sugar, sodium);
+        }));
+    }
+    
+    private static Double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : null;
+    }
+}
@@ -0,0 +1,96 @@
+package com.superapp.nutrilife.index;
+
+import com.superapp.nutrilife.dto.FoodResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tüm FoodIndex'lere yazmanın tek giriş noktası. Açılış yüklemesi katalog üzerinde cursor ile
+ * ilerlerken commit olan canlı yazmalar da indekslere uygulanır; cursor'ın daha önce okuduğu eski
+ * bir satır bu yazmalardan sonra uygulanırsa güncellemeyi ezer ya da silinen yemeği geri getirir.
+ * Bu yüzden yükleme sürerken canlı yazmaların dokunduğu id'ler tutulur ve yükleme bu id'lerin
+ * satırlarını atlar.
+ */
+@Component
+@RequiredArgsConstructor
+public class FoodIndexes {
+    
+    private final List<FoodIndex> indexes;
+    
+    // Yükleme sürerken satırı canlı yazmayla değişen yemekler
+    private Set<Long> touched;
+    // Yükleme sürerken şeker/sodyum değeri canlı yazmayla gelen ya da silinen yemekler
+    private Set<Long> touchedNutrients;
+    
+    public synchronized void put(FoodResponse food) {
+        for (FoodIndex index : indexes) {
+            index.put(food);
+        }
+        if (touched != null) {
+            touched.add(food.getId());
+        }
+    }
+    
+    /**
+     * Yemeği food_nutrients değerleriyle birlikte ekler
+     */
+    public synchronized void put(FoodResponse food, Double sugar, Double sodium) {
+        for (FoodIndex index : indexes) {
+            index.put(food);
+            index.putNutrients(food.getId(), sugar, sodium);
+        }
+        if (touched != null) {
+            touched.add(food.getId());
+            touchedNutrients.add(food.getId());
+        }
+    }
+    
+    public synchronized void remove(Long foodId) {
+        for (FoodIndex index : indexes) {
+            index.remove(foodId);
+        }
+        if (touched != null) {
+            touched.add(foodId);
+            touchedNutrients.add(foodId);
+        }
+    }
+    
+    public int size() {
+        return indexes.size();
+    }
+    
+    synchronized void beginLoad() {
+        touched = new HashSet<>();
+        touchedNutrients = new HashSet<>();
+    }
+    
+    /**
+     * Yükleme cursor'ının okuduğu satırı, yükleme başladıktan sonra canlı yazma almadıysa uygular
+     */
+    synchronized void load(FoodResponse food) {
+        if (touched != null && touched.contains(food.getId())) {
+            return;
+        }
+        for (FoodIndex index : indexes) {
+            index.put(food);
+        }
+    }
+    
+    synchronized void loadNutrients(Long foodId, Double sugar, Double sodium) {
+        if (touchedNutrients != null && touchedNutrients.contains(foodId)) {
+            return;
+        }
+        for (FoodIndex index : indexes) {
+            index.putNutrients(foodId, sugar, sodium);
+        }
+    }
+    
+    synchronized void endLoad() {
+        touched = null;
+        touchedNutrients = null;
+    }
+}
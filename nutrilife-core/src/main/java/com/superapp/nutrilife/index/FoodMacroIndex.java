@@ -0,0 +1,372 @@
+package com.superapp.nutrilife.index;
+
+import com.superapp.nutrilife.dto.FoodResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Protein, karbonhidrat, yağ, lif, şeker ve sodyum üzerinde çok boyutlu aralık (kutu) sorguları
+ * için bellek içi k-d ağacı. Ağaç ayrı düğüm nesneleri yerine örtük olarak tutulur: noktalar
+ * düz bir float[] içinde öyle yerleştirilir ki her [lo, hi) diliminin ortasındaki eleman, o
+ * derinliğin boyutuna göre medyandır. Sorgu, kutuyla kesişmeyen dilimleri atlayarak ilerler.
+ * <p>
+ * Bilinmeyen değerler NaN olarak saklanır; kısıt verilen boyutta NaN hiçbir aralığa uymaz,
+ * kısıt verilmeyen boyutta ise yemeği elemez. Son yeniden inşadan beri değişen yemekler
+ * FoodCalorieIndex'teki gibi sorgu sırasında canlı haritadan değerlendirilir.
+ */
+@Component
+@Slf4j
+public class FoodMacroIndex implements FoodIndex {
+    
+    public static final int PROTEIN = 0;
+    public static final int CARBOHYDRATES = 1;
+    public static final int FAT = 2;
+    public static final int FIBER = 3;
+    public static final int SUGAR = 4;
+    public static final int SODIUM = 5;
+    public static final int DIMENSIONS = 6;
+    
+    private static final int MAX_PENDING = 4096;
+    
+    private final Map<Long, float[]> points = new ConcurrentHashMap<>();
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private volatile Set<Long> inFlight = Set.of();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    
+    @Override
+    public void put(FoodResponse food) {
+        points.compute(food.getId(), (id, previous) -> {
+            float[] point = previous != null ? previous.clone() : emptyPoint();
+            point[PROTEIN] = toFloat(food.getProtein());
+            point[CARBOHYDRATES] = toFloat(food.getCarbohydrates());
+            point[FAT] = toFloat(food.getFat());
+            point[FIBER] = toFloat(food.getFiber());
+            return point;
+        });
+        pending.add(food.getId());
+    }
+    
+    @Override
+    public void putNutrients(Long foodId, Double sugar, Double sodium) {
+        points.compute(foodId, (id, previous) -> {
+            float[] point = previous != null ? previous.clone() : emptyPoint();
+            point[SUGAR] = toFloat(sugar);
+            point[SODIUM] = toFloat(sodium);
+            return point;
+        });
+        pending.add(foodId);
+    }
+    
+    @Override
+    public void remove(Long foodId) {
+        points.remove(foodId);
+        pending.add(foodId);
+    }
+    
+    @Scheduled(fixedDelayString = "${nutrilife.food-macros.rebuild-interval-ms:5000}")
+    public void rebuildIfDirty() {
+        if (!pending.isEmpty()) {
+            rebuild();
+        }
+    }
+    
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        Set<Long> drained = new HashSet<>(pending);
+        inFlight = drained;
+        pending.removeAll(drained);
+        snapshot = Snapshot.build(points);
+        inFlight = Set.of();
+        log.debug("Makro indeksi {} yemekle {} ms içinde yeniden oluşturuldu", snapshot.ids.length, System.currentTimeMillis() - start);
+    }
+    
+    /**
+     * Her boyutta min[d] <= değer <= max[d] koşulunu sağlayan yemeklerin id'lerini artan sırada döner.
+     * Bir boyutta iki sınır da sonsuzsa o boyut kısıtsız sayılır. Eşleşme limit'ten fazlaysa en küçük
+     * limit id döner; bunun için ağacın eşleşen tüm dalları gezilir.
+     */
+    public long[] findIds(double[] min, double[] max, int limit) {
+        if (min.length != DIMENSIONS || max.length != DIMENSIONS) {
+            throw new IllegalArgumentException("Makro sorgusu " + DIMENSIONS + " boyutlu olmalıdır");
+        }
+        if (limit <= 0) {
+            return new long[0];
+        }
+        for (int d = 0; d < DIMENSIONS; d++) {
+            if (min[d] > max[d]) {
+                return new long[0];
+            }
+        }
+        if (pending.size() > MAX_PENDING) {
+            rebuild();
+        }
+        // Değişiklik kümesi görüntüden önce okunur: arada biten bir yeniden inşa daha yeni bir görüntü
+        // bırakır, değişen id'ler ise ya o görüntüde ya da okunan kümede bulunur
+        Set<Long> changed = changedIds();
+        Snapshot current = snapshot;
+        Box box = new Box(min, max);
+        
+        Matches matches = new Matches(limit);
+        current.search(box, changed, matches);
+        for (Long id : changed) {
+            float[] point = points.get(id);
+            if (point != null && box.contains(point, 0)) {
+                matches.add(id);
+            }
+        }
+        return matches.sortedIds();
+    }
+    
+    private Set<Long> changedIds() {
+        // rebuild önce inFlight'ı atayıp sonra pending'den siler; pending önce okunursa aradaki id'ler kaçmaz
+        Set<Long> waiting = pending.isEmpty() ? Set.of() : new HashSet<>(pending);
+        Set<Long> rebuilding = inFlight;
+        if (waiting.isEmpty()) {
+            return rebuilding;
+        }
+        waiting.addAll(rebuilding);
+        return waiting;
+    }
+    
+    /**
+     * Sorgu kutusu; iki sınırı da sonsuz olan boyutlar kısıtsızdır. Değerler float saklandığı için
+     * sınırlar da float'a yuvarlanır; aksi halde 0.1 gibi bir kapalı sınır 0.1f değerini dışarıda bırakır.
+     */
+    private static final class Box {
+        
+        private final float[] min = new float[DIMENSIONS];
+        private final float[] max = new float[DIMENSIONS];
+        private final boolean[] constrained = new boolean[DIMENSIONS];
+        
+        private Box(double[] min, double[] max) {
+            for (int d = 0; d < DIMENSIONS; d++) {
+                this.min[d] = (float) min[d];
+                this.max[d] = (float) max[d];
+                constrained[d] = min[d] != Double.NEGATIVE_INFINITY || max[d] != Double.POSITIVE_INFINITY;
+            }
+        }
+        
+        private boolean contains(float[] coords, int offset) {
+            for (int d = 0; d < DIMENSIONS; d++) {
+                if (constrained[d]) {
+                    float value = coords[offset + d];
+                    // NaN karşılaştırmaları false döndüğü için bilinmeyen değer burada elenir
+                    if (!(value >= min[d] && value <= max[d])) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+    
+    /**
+     * Eşleşmelerden en küçük limit id'yi tutar. Gezinme sırası ağacın kuruluşuna bağlı olduğu için
+     * ilk limit eşleşmede durmak her yeniden inşada farklı bir alt küme döndürürdü; bunun yerine
+     * id'ler kökte en büyüğü duran bir max-heap'te tutulur.
+     */
+    private static final class Matches {
+        
+        private final int limit;
+        private long[] ids = new long[16];
+        private int size;
+        
+        private Matches(int limit) {
+            this.limit = limit;
+        }
+        
+        private void add(long id) {
+            if (size < limit) {
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, Math.min(limit, size * 2));
+                }
+                ids[size] = id;
+                siftUp(size++);
+            } else if (id < ids[0]) {
+                ids[0] = id;
+                siftDown(0);
+            }
+        }
+        
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (ids[parent] >= ids[i]) {
+                    return;
+                }
+                swap(parent, i);
+                i = parent;
+            }
+        }
+        
+        private void siftDown(int i) {
+            while (true) {
+                int largest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && ids[left] > ids[largest]) {
+                    largest = left;
+                }
+                if (right < size && ids[right] > ids[largest]) {
+                    largest = right;
+                }
+                if (largest == i) {
+                    return;
+                }
+                swap(i, largest);
+                i = largest;
+            }
+        }
+        
+        private void swap(int a, int b) {
+            long tmp = ids[a];
+            ids[a] = ids[b];
+            ids[b] = tmp;
+        }
+        
+        private long[] sortedIds() {
+            long[] result = Arrays.copyOf(ids, size);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+    
+    private static final class Snapshot {
+        
+        private static final Snapshot EMPTY = new Snapshot(new float[0], new long[0]);
+        
+        // i. noktanın d. boyutu coords[i * DIMENSIONS + d]
+        private final float[] coords;
+        private final long[] ids;
+        
+        private Snapshot(float[] coords, long[] ids) {
+            this.coords = coords;
+            this.ids = ids;
+        }
+        
+        private static Snapshot build(Map<Long, float[]> points) {
+            List<Map.Entry<Long, float[]>> entries = new ArrayList<>(points.size());
+            for (Map.Entry<Long, float[]> entry : points.entrySet()) {
+                entries.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+            float[] coords = new float[entries.size() * DIMENSIONS];
+            long[] ids = new long[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                ids[i] = entries.get(i).getKey();
+                System.arraycopy(entries.get(i).getValue(), 0, coords, i * DIMENSIONS, DIMENSIONS);
+            }
+            Snapshot snapshot = new Snapshot(coords, ids);
+            snapshot.buildTree(0, ids.length, 0);
+            return snapshot;
+        }
+        
+        private void buildTree(int lo, int hi, int depth) {
+            if (hi - lo <= 1) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            select(lo, hi, mid, depth % DIMENSIONS);
+            buildTree(lo, mid, depth + 1);
+            buildTree(mid + 1, hi, depth + 1);
+        }
+        
+        /**
+         * [lo, hi) dilimini k. eleman yerine oturacak şekilde d boyutuna göre böler (üç yollu quickselect).
+         * Float.compare NaN'ı en büyük değer saydığı için eksik değerler dilimin sağına toplanır.
+         */
+        private void select(int lo, int hi, int k, int d) {
+            while (hi - lo > 1) {
+                float pivot = value(lo + ThreadLocalRandom.current().nextInt(hi - lo), d);
+                int lt = lo;
+                int gt = hi - 1;
+                int i = lo;
+                while (i <= gt) {
+                    int cmp = Float.compare(value(i, d), pivot);
+                    if (cmp < 0) {
+                        swap(lt++, i++);
+                    } else if (cmp > 0) {
+                        swap(i, gt--);
+                    } else {
+                        i++;
+                    }
+                }
+                if (k < lt) {
+                    hi = lt;
+                } else if (k > gt) {
+                    lo = gt + 1;
+                } else {
+                    return;
+                }
+            }
+        }
+        
+        private void search(Box box, Set<Long> skip, Matches matches) {
+            search(box, skip, matches, 0, ids.length, 0);
+        }
+        
+        private void search(Box box, Set<Long> skip, Matches matches, int lo, int hi, int depth) {
+            if (lo >= hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            int d = depth % DIMENSIONS;
+            if (box.contains(coords, mid * DIMENSIONS) && (skip.isEmpty() || !skip.contains(ids[mid]))) {
+                matches.add(ids[mid]);
+            }
+            float split = value(mid, d);
+            boolean left = true;
+            boolean right = true;
+            if (box.constrained[d]) {
+                // Sol dilimdeki değerler split'ten büyük değil, sağdakiler küçük değil
+                left = Float.isNaN(split) || box.min[d] <= split;
+                right = !Float.isNaN(split) && box.max[d] >= split;
+            }
+            if (left) {
+                search(box, skip, matches, lo, mid, depth + 1);
+            }
+            if (right) {
+                search(box, skip, matches, mid + 1, hi, depth + 1);
+            }
+        }
+        
+        private float value(int index, int d) {
+            return coords[index * DIMENSIONS + d];
+        }
+        
+        private void swap(int a, int b) {
+            if (a == b) {
+                return;
+            }
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            int offsetA = a * DIMENSIONS;
+            int offsetB = b * DIMENSIONS;
+            for (int d = 0; d < DIMENSIONS; d++) {
+                float tmp = coords[offsetA + d];
+                coords[offsetA + d] = coords[offsetB + d];
+                coords[offsetB + d] = tmp;
+            }
+        }
+    }
+    
+    private static float[] emptyPoint() {
+        float[] point = new float[DIMENSIONS];
+        Arrays.fill(point, Float.NaN);
+        return point;
+    }
+    
+    private static float toFloat(Double value) {
+        return value != null ? value.floatValue() : Float.NaN;
+    }
+}
@@ -0,0 +1,200 @@
+package com.superapp.nutrilife.index;
+
+import com.superapp.nutrilife.dto.FoodResponse;
+import com.superapp.nutrilife.search.FoodSearchEngine;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Yemek adı ve açıklaması üzerinde bellek içi ters indeks. Sonuçlar BM25 ile sıralanır;
+ * ad alanındaki eşleşmeler açıklamadakilerden daha ağır basar. Sorgunun son kelimesi
+ * önek olarak genişletilir, böylece yazarken arama ("tav" → "tavuk") da çalışır.
+ */
+@Component
+@ConditionalOnProperty(name = "nutrilife.food-search.mode", havingValue = "memory", matchIfMissing = true)
+public class FoodSearchIndex implements FoodIndex, FoodSearchEngine {
+    
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final float NAME_BOOST = 2.0f;
+    private static final float DESCRIPTION_BOOST = 1.0f;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    
+    private final Map<Long, FoodResponse> documents = new HashMap<>();
+    private final FieldIndex nameField = new FieldIndex(NAME_BOOST);
+    private final FieldIndex descriptionField = new FieldIndex(DESCRIPTION_BOOST);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    @Override
+    public void put(FoodResponse food) {
+        lock.writeLock().lock();
+        try {
+            FoodResponse previous = documents.put(food.getId(), food);
+            if (previous != null) {
+                unindex(previous);
+            }
+            nameField.add(food.getId(), TurkishTextNormalizer.tokenize(food.getName()));
+            descriptionField.add(food.getId(), TurkishTextNormalizer.tokenize(food.getDescription()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void remove(Long foodId) {
+        lock.writeLock().lock();
+        try {
+            FoodResponse previous = documents.remove(foodId);
+            if (previous != null) {
+                unindex(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public List<FoodResponse> search(String query, int limit) {
+        List<String> terms = TurkishTextNormalizer.tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            Map<Long, Double> scores = new HashMap<>();
+            for (int i = 0; i < terms.size(); i++) {
+                String term = terms.get(i);
+                boolean last = i == terms.size() - 1;
+                Set<String> expanded = last && term.length() >= MIN_PREFIX_LENGTH
+                        ? prefixTerms(term)
+                        : Set.of(term);
+                for (String candidate : expanded) {
+                    nameField.score(candidate, documentCount, scores);
+                    descriptionField.score(candidate, documentCount, scores);
+                }
+            }
+            return topK(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private List<FoodResponse> topK(Map<Long, Double> scores, int limit) {
+        Comparator<Map.Entry<Long, Double>> byScore = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed());
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(limit + 1, byScore);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            heap.offer(entry);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<FoodResponse> results = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            results.add(documents.get(heap.poll().getKey()));
+        }
+        Collections.reverse(results);
+        return results;
+    }
+    
+    private Set<String> prefixTerms(String prefix) {
+        Set<String> terms = new LinkedHashSet<>();
+        terms.add(prefix);
+        for (FieldIndex field : List.of(nameField, descriptionField)) {
+            for (String term : field.postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).keySet()) {
+                if (terms.size() >= MAX_PREFIX_EXPANSIONS) {
+                    return terms;
+                }
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+    
+    private void unindex(FoodResponse food) {
+        nameField.remove(food.getId(), TurkishTextNormalizer.tokenize(food.getName()));
+        descriptionField.remove(food.getId(), TurkishTextNormalizer.tokenize(food.getDescription()));
+    }
+    
+    /**
+     * Tek bir metin alanının posting listeleri ve BM25 için gereken uzunluk istatistikleri
+     */
+    private static final class FieldIndex {
+        
+        private final float boost;
+        private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+        private final Map<Long, Integer> lengths = new HashMap<>();
+        private long totalLength;
+        
+        private FieldIndex(float boost) {
+            this.boost = boost;
+        }
+        
+        private void add(Long id, List<String> tokens) {
+            if (tokens.isEmpty()) {
+                return;
+            }
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, t -> new HashMap<>()).merge(id, 1, Integer::sum);
+            }
+            lengths.put(id, tokens.size());
+            totalLength += tokens.size();
+        }
+        
+        private void remove(Long id, List<String> tokens) {
+            Integer length = lengths.remove(id);
+            if (length == null) {
+                return;
+            }
+            totalLength -= length;
+            for (String token : tokens) {
+                Map<Long, Integer> docs = postings.get(token);
+                if (docs != null && docs.remove(id) != null && docs.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+        
+        private void score(String term, int documentCount, Map<Long, Double> scores) {
+            Map<Long, Integer> docs = postings.get(term);
+            if (docs == null || lengths.isEmpty()) {
+                return;
+            }
+            int df = docs.size();
+            double idf = Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+            double averageLength = (double) totalLength / lengths.size();
+            for (Map.Entry<Long, Integer> entry : docs.entrySet()) {
+                int tf = entry.getValue();
+                double norm = K1 * (1 - B + B * lengths.get(entry.getKey()) / averageLength);
+                double score = boost * idf * (tf * (K1 + 1)) / (tf + norm);
+                scores.merge(entry.getKey(), score, Double::sum);
+            }
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.superapp.nutrilife.index;
+
+import com.superapp.nutrilife.dto.FoodResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Besin vektörleri üzerinde en yakın komşu araması. Her yemek kalori, protein, karbonhidrat,
+ * yağ, lif, şeker ve sodyumdan oluşan 7 boyutlu bir satırdır; satırlar tek bir düz float[]
+ * matriste tutulur ve yazmalar satırı yerinde günceller, yeniden inşa gerekmez.
+ * <p>
+ * Boyutlar farklı birimlerde olduğu için mesafe, her boyutun standart sapmasına bölünmüş farklar
+ * üzerinden hesaplanır. Ortalama ve sapma yazmalarla birlikte artımlı tutulur. Bilinmeyen değerler
+ * sorgu anında o boyutun ortalamasıyla değerlendirilir.
+ * Sorgu tüm matrisi tarar; o ana kadarki K. en iyi mesafeyi aşan satırların hesabı yarıda kesilir.
+ */
+@Component
+public class FoodSimilarityIndex implements FoodIndex {
+    
+    private static final int CALORIES = 0;
+    private static final int PROTEIN = 1;
+    private static final int CARBOHYDRATES = 2;
+    private static final int FAT = 3;
+    private static final int FIBER = 4;
+    private static final int SUGAR = 5;
+    private static final int SODIUM = 6;
+    private static final int DIMENSIONS = 7;
+    private static final byte ALL_KNOWN = (1 << DIMENSIONS) - 1;
+    
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int PARALLEL_THRESHOLD = 100_000;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slots = new HashMap<>();
+    // Satır bazında ham değerler ve hangi boyutların bilindiği (bit maskesi)
+    private float[] vectors = new float[INITIAL_CAPACITY * DIMENSIONS];
+    private byte[] known = new byte[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+    private final double[] sums = new double[DIMENSIONS];
+    private final double[] squareSums = new double[DIMENSIONS];
+    private final long[] counts = new long[DIMENSIONS];
+    
+    @Override
+    public void put(FoodResponse food) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotFor(food.getId());
+            setValue(slot, CALORIES, food.getCalories());
+            setValue(slot, PROTEIN, food.getProtein());
+            setValue(slot, CARBOHYDRATES, food.getCarbohydrates());
+            setValue(slot, FAT, food.getFat());
+            setValue(slot, FIBER, food.getFiber());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void putNutrients(Long foodId, Double sugar, Double sodium) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotFor(foodId);
+            setValue(slot, SUGAR, sugar);
+            setValue(slot, SODIUM, sodium);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void remove(Long foodId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slots.remove(foodId);
+            if (slot == null) {
+                return;
+            }
+            for (int d = 0; d < DIMENSIONS; d++) {
+                setValue(slot, d, null);
+            }
+            // Son satırı boşalan yere taşıyarak matrisi bitişik tutuyoruz
+            int last = --size;
+            if (slot != last) {
+                System.arraycopy(vectors, last * DIMENSIONS, vectors, slot * DIMENSIONS, DIMENSIONS);
+                known[slot] = known[last];
+                ids[slot] = ids[last];
+                slots.put(ids[slot], slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Verilen yemeğe en yakın limit kadar yemeğin id'sini yakından uzağa doğru döner.
+     * Yemek indekste yoksa null döner.
+     */
+    public long[] findNearest(Long foodId, int limit) {
+        lock.readLock().lock();
+        try {
+            Integer target = slots.get(foodId);
+            if (target == null) {
+                return null;
+            }
+            int k = Math.min(limit, size - 1);
+            if (k <= 0) {
+                return new long[0];
+            }
+            float[] weights = new float[DIMENSIONS];
+            float[] means = new float[DIMENSIONS];
+            for (int d = 0; d < DIMENSIONS; d++) {
+                weights[d] = (float) (1.0 / standardDeviation(d));
+                means[d] = (float) mean(d);
+            }
+            float[] query = new float[DIMENSIONS];
+            for (int d = 0; d < DIMENSIONS; d++) {
+                query[d] = value(target, d, means) * weights[d];
+            }
+            
+            Neighbours best;
+            if (size < PARALLEL_THRESHOLD) {
+                best = scan(0, size, target, k, weights, query, means);
+            } else {
+                // Büyük katalogda matris parçalara bölünüp paralel taranır, parça sonuçları birleştirilir
+                int chunks = ForkJoinPool.getCommonPoolParallelism() + 1;
+                int chunkSize = (size + chunks - 1) / chunks;
+                best = IntStream.range(0, chunks)
+                        .parallel()
+                        .mapToObj(chunk -> scan(chunk * chunkSize, Math.min(size, (chunk + 1) * chunkSize), target, k, weights, query, means))
+                        .reduce(Neighbours::merge)
+                        .orElseThrow();
+            }
+            
+            long[] result = new long[best.count];
+            for (int i = 0; i < best.count; i++) {
+                result[i] = ids[best.slots[i]];
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private Neighbours scan(int from, int to, int target, int k, float[] weights, float[] query, float[] means) {
+        Neighbours best = new Neighbours(k);
+        float w0 = weights[0], w1 = weights[1], w2 = weights[2], w3 = weights[3], w4 = weights[4], w5 = weights[5], w6 = weights[6];
+        float q0 = query[0], q1 = query[1], q2 = query[2], q3 = query[3], q4 = query[4], q5 = query[5], q6 = query[6];
+        for (int slot = from; slot < to; slot++) {
+            if (slot == target) {
+                continue;
+            }
+            float distance;
+            if (known[slot] == ALL_KNOWN) {
+                // Tüm değerleri bilinen satırlar için açılmış döngü; taramanın sıcak yolu burası
+                int offset = slot * DIMENSIONS;
+                float d0 = vectors[offset] * w0 - q0;
+                float d1 = vectors[offset + 1] * w1 - q1;
+                float d2 = vectors[offset + 2] * w2 - q2;
+                float d3 = vectors[offset + 3] * w3 - q3;
+                float d4 = vectors[offset + 4] * w4 - q4;
+                float d5 = vectors[offset + 5] * w5 - q5;
+                float d6 = vectors[offset + 6] * w6 - q6;
+                distance = d0 * d0 + d1 * d1 + d2 * d2 + d3 * d3 + d4 * d4 + d5 * d5 + d6 * d6;
+            } else {
+                distance = 0f;
+                for (int d = 0; d < DIMENSIONS && distance < best.worst; d++) {
+                    float diff = value(slot, d, means) * weights[d] - query[d];
+                    distance += diff * diff;
+                }
+            }
+            if (distance < best.worst) {
+                best.offer(distance, slot);
+            }
+        }
+        return best;
+    }
+    
+    private int slotFor(Long foodId) {
+        Integer existing = slots.get(foodId);
+        if (existing != null) {
+            return existing;
+        }
+        if (size == ids.length) {
+            int capacity = ids.length * 2;
+            vectors = Arrays.copyOf(vectors, capacity * DIMENSIONS);
+            known = Arrays.copyOf(known, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+        }
+        int slot = size++;
+        ids[slot] = foodId;
+        known[slot] = 0;
+        Arrays.fill(vectors, slot * DIMENSIONS, (slot + 1) * DIMENSIONS, 0f);
+        slots.put(foodId, slot);
+        return slot;
+    }
+    
+    private void setValue(int slot, int d, Double value) {
+        int index = slot * DIMENSIONS + d;
+        int mask = 1 << d;
+        if ((known[slot] & mask) != 0) {
+            double previous = vectors[index];
+            sums[d] -= previous;
+            squareSums[d] -= previous * previous;
+            counts[d]--;
+        }
+        if (value == null) {
+            known[slot] &= (byte) ~mask;
+            vectors[index] = 0f;
+            return;
+        }
+        known[slot] |= (byte) mask;
+        vectors[index] = value.floatValue();
+        double stored = vectors[index];
+        sums[d] += stored;
+        squareSums[d] += stored * stored;
+        counts[d]++;
+    }
+    
+    private float value(int slot, int d, float[] means) {
+        return (known[slot] & (1 << d)) != 0 ? vectors[slot * DIMENSIONS + d] : means[d];
+    }
+    
+    private double mean(int d) {
+        return counts[d] > 0 ? sums[d] / counts[d] : 0.0;
+    }
+    
+    private double standardDeviation(int d) {
+        if (counts[d] < 2) {
+            return 1.0;
+        }
+        double mean = mean(d);
+        double variance = squareSums[d] / counts[d] - mean * mean;
+        return variance > 1e-9 ? Math.sqrt(variance) : 1.0;
+    }
+    
+    /**
+     * En yakın k satır; mesafeye göre artan sırada tutulur, k küçük olduğu için eklemeli sıralama yeterli
+     */
+    private static final class Neighbours {
+        
+        private final float[] distances;
+        private final int[] slots;
+        private int count;
+        private float worst = Float.POSITIVE_INFINITY;
+        
+        private Neighbours(int k) {
+            this.distances = new float[k];
+            this.slots = new int[k];
+        }
+        
+        private void offer(float distance, int slot) {
+            int position = count < distances.length ? count++ : distances.length - 1;
+            while (position > 0 && distances[position - 1] > distance) {
+                distances[position] = distances[position - 1];
+                slots[position] = slots[position - 1];
+                position--;
+            }
+            distances[position] = distance;
+            slots[position] = slot;
+            if (count == distances.length) {
+                worst = distances[count - 1];
+            }
+        }
+        
+        private Neighbours merge(Neighbours other) {
+            for (int i = 0; i < other.count && other.distances[i] < worst; i++) {
+                offer(other.distances[i], other.slots[i]);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.superapp.nutrilife.index;
+
+import com.superapp.nutrilife.dto.FoodResponse;
+import com.superapp.nutrilife.dto.FoodSuggestion;
+import com.superapp.nutrilife.repository.FoodRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Yemek adları için önek tamamlama indeksi. Katlanmış (bkz. TurkishTextNormalizer) adlar
+ * sıralı olarak tek bir char[] tamponunda tutulur; sıralı dizide her önek bitişik bir
+ * aralığa karşılık geldiği için bu dizi, trie yapraklarının sırayla dizilmiş halidir.
+ * Aralık ikili aramayla bulunur, aralıktaki en popüler K yemek ise popülerlik ağırlıkları
+ * üzerine kurulu bir maksimum segment ağacından O(K log n) ile çekilir.
+ * <p>
+ * Anlık görüntü değişmezdir; yazmalar canlı haritayı günceller ve bir sonraki periyodik
+ * yeniden inşada görüntüye yansır. Arada silinen ya da adı değişen yemekler sorgu sırasında elenir.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FoodSuggestIndex implements FoodIndex {
+    
+    private static final long WEIGHT_REFRESH_INTERVAL_MS = TimeUnit.MINUTES.toMillis(10);
+    
+    private final FoodRepository foodRepository;
+    
+    private final Map<Long, String> names = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> popularity = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile boolean structureDirty;
+    private volatile boolean weightsDirty;
+    private volatile long lastRebuild;
+    
+    @Override
+    public void put(FoodResponse food) {
+        String previous = names.put(food.getId(), food.getName());
+        if (!food.getName().equals(previous)) {
+            structureDirty = true;
+        }
+    }
+    
+    @Override
+    public void remove(Long foodId) {
+        if (names.remove(foodId) != null) {
+            popularity.remove(foodId);
+            structureDirty = true;
+        }
+    }
+    
+    /**
+     * Yemeğin bir öğünde kullanıldığını kaydeder; ağırlık bir sonraki yeniden inşada sıralamaya yansır
+     */
+    public void recordUsage(Long foodId) {
+        popularity.merge(foodId, 1, Integer::sum);
+        weightsDirty = true;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPopularity() {
+        foodRepository.countUsageByFood()
+                .forEach(usage -> popularity.merge(usage.getFoodId(), Math.toIntExact(usage.getUsageCount()), Integer::sum));
+        weightsDirty = true;
+    }
+    
+    @Scheduled(fixedDelayString = "${nutrilife.food-suggest.rebuild-interval-ms:5000}")
+    public void rebuildIfDirty() {
+        boolean weightsStale = weightsDirty && System.currentTimeMillis() - lastRebuild >= WEIGHT_REFRESH_INTERVAL_MS;
+        if (structureDirty || weightsStale) {
+            rebuild();
+        }
+    }
+    
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        structureDirty = false;
+        weightsDirty = false;
+        snapshot = Snapshot.build(names, popularity);
+        lastRebuild = System.currentTimeMillis();
+        log.debug("Öneri indeksi {} yemekle {} ms içinde yeniden oluşturuldu", snapshot.size(), lastRebuild - start);
+    }
+    
+    public List<FoodSuggestion> suggest(String prefix, int limit) {
+        String key = TurkishTextNormalizer.fold(prefix).strip();
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Snapshot current = snapshot;
+        List<FoodSuggestion> suggestions = new ArrayList<>(limit);
+        current.topK(key, entry -> {
+            String liveName = names.get(current.ids[entry]);
+            if (current.names[entry].equals(liveName)) {
+                suggestions.add(new FoodSuggestion(current.ids[entry], liveName));
+            }
+            return suggestions.size() < limit;
+        });
+        return suggestions;
+    }
+    
+    @FunctionalInterface
+    private interface EntryVisitor {
+        /**
+         * false dönerse gezinme durur
+         */
+        boolean visit(int entry);
+    }
+    
+    private static final class Snapshot {
+        
+        private static final Snapshot EMPTY = new Snapshot(new char[0], new int[1], new long[0], new String[0], new int[0]);
+        
+        private final char[] keyChars;
+        private final int[] keyOffsets;
+        private final long[] ids;
+        private final String[] names;
+        private final int[] weights;
+        // tree[node] = düğümün kapsadığı aralıktaki en ağır girdinin indeksi
+        private final int[] tree;
+        private final int leafBase;
+        
+        private Snapshot(char[] keyChars, int[] keyOffsets, long[] ids, String[] names, int[] weights) {
+            this.keyChars = keyChars;
+            this.keyOffsets = keyOffsets;
+            this.ids = ids;
+            this.names = names;
+            this.weights = weights;
+            int base = 1;
+            while (base < ids.length) {
+                base <<= 1;
+            }
+            this.leafBase = base;
+            this.tree = new int[2 * base];
+            Arrays.fill(tree, -1);
+            for (int i = 0; i < ids.length; i++) {
+                tree[base + i] = i;
+            }
+            for (int node = base - 1; node >= 1; node--) {
+                tree[node] = heavier(tree[2 * node], tree[2 * node + 1]);
+            }
+        }
+        
+        private static Snapshot build(Map<Long, String> liveNames, Map<Long, Integer> popularity) {
+            List<Map.Entry<Long, String>> entries = new ArrayList<>(liveNames.size());
+            for (Map.Entry<Long, String> entry : liveNames.entrySet()) {
+                entries.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+            int n = entries.size();
+            String[] keys = new String[n];
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                keys[i] = TurkishTextNormalizer.fold(entries.get(i).getValue());
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.<Integer, String>comparing(i -> keys[i])
+                    .thenComparing(i -> entries.get(i).getKey()));
+            
+            int totalChars = 0;
+            for (String key : keys) {
+                totalChars += key.length();
+            }
+            char[] keyChars = new char[totalChars];
+            int[] keyOffsets = new int[n + 1];
+            long[] ids = new long[n];
+            String[] names = new String[n];
+            int[] weights = new int[n];
+            int offset = 0;
+            for (int i = 0; i < n; i++) {
+                int source = order[i];
+                String key = keys[source];
+                key.getChars(0, key.length(), keyChars, offset);
+                keyOffsets[i] = offset;
+                offset += key.length();
+                ids[i] = entries.get(source).getKey();
+                names[i] = entries.get(source).getValue();
+                weights[i] = popularity.getOrDefault(ids[i], 0);
+            }
+            keyOffsets[n] = offset;
+            return new Snapshot(keyChars, keyOffsets, ids, names, weights);
+        }
+        
+        private int size() {
+            return ids.length;
+        }
+        
+        private void topK(String prefix, EntryVisitor visitor) {
+            int lo = lowerBound(prefix, false);
+            int hi = lowerBound(prefix, true);
+            if (lo >= hi) {
+                return;
+            }
+            // Ağırlığa göre en iyi-ilk arama: her adımda alt aralığın en ağırını alıp aralığı ikiye böleriz
+            PriorityQueue<int[]> queue = new PriorityQueue<>((a, b) -> compareEntries(b[2], a[2]));
+            queue.add(new int[]{lo, hi, rangeMax(lo, hi)});
+            while (!queue.isEmpty()) {
+                int[] range = queue.poll();
+                int best = range[2];
+                if (!visitor.visit(best)) {
+                    return;
+                }
+                if (range[0] < best) {
+                    queue.add(new int[]{range[0], best, rangeMax(range[0], best)});
+                }
+                if (best + 1 < range[1]) {
+                    queue.add(new int[]{best + 1, range[1], rangeMax(best + 1, range[1])});
+                }
+            }
+        }
+        
+        private int rangeMax(int from, int to) {
+            int best = -1;
+            for (int l = from + leafBase, r = to + leafBase; l < r; l >>= 1, r >>= 1) {
+                if ((l & 1) == 1) {
+                    best = heavier(best, tree[l++]);
+                }
+                if ((r & 1) == 1) {
+                    best = heavier(best, tree[--r]);
+                }
+            }
+            return best;
+        }
+        
+        private int heavier(int a, int b) {
+            if (a < 0) {
+                return b;
+            }
+            if (b < 0) {
+                return a;
+            }
+            return compareEntries(a, b) >= 0 ? a : b;
+        }
+        
+        // Ağırlık eşitse kısa ve alfabetik olarak önce gelen ad öne çıkar
+        private int compareEntries(int a, int b) {
+            int byWeight = Integer.compare(weights[a], weights[b]);
+            return byWeight != 0 ? byWeight : Integer.compare(b, a);
+        }
+        
+        /**
+         * afterPrefix=false: anahtarı prefix'ten küçük olmayan ilk girdi;
+         * afterPrefix=true: prefix ile başlayanların hemen sonrasındaki ilk girdi
+         */
+        private int lowerBound(String prefix, boolean afterPrefix) {
+            int lo = 0;
+            int hi = ids.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                int cmp = comparePrefix(mid, prefix);
+                if (cmp < 0 || (afterPrefix && cmp == 0)) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+        
+        // Girdinin anahtarını prefix uzunluğunda keserek karşılaştırır
+        private int comparePrefix(int entry, String prefix) {
+            int start = keyOffsets[entry];
+            int length = keyOffsets[entry + 1] - start;
+            int common = Math.min(length, prefix.length());
+            for (int i = 0; i < common; i++) {
+                char c = keyChars[start + i];
+                char p = prefix.charAt(i);
+                if (c != p) {
+                    return c < p ? -1 : 1;
+                }
+            }
+            return length < prefix.length() ? -1 : 0;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.superapp.nutrilife.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Türkçe metinleri arama için normalize eder. Önce Türkçe kurallarıyla küçük harfe çevirir
+ * (İ → i, I → ı), ardından ı/ş/ç/ğ/ö/ü harflerini ASCII karşılıklarına katlar; böylece
+ * "ŞİŞ", "sis" ve "şiş" aynı terime düşer.
+ */
+public final class TurkishTextNormalizer {
+    
+    private static final Locale TURKISH = Locale.forLanguageTag("tr-TR");
+    
+    private TurkishTextNormalizer() {
+    }
+    
+    public static String fold(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String lower = text.toLowerCase(TURKISH);
+        StringBuilder folded = new StringBuilder(lower.length());
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            switch (c) {
+                case 'ı', 'î' -> folded.append('i');
+                case 'ş' -> folded.append('s');
+                case 'ç' -> folded.append('c');
+                case 'ğ' -> folded.append('g');
+                case 'ö' -> folded.append('o');
+                case 'ü', 'û' -> folded.append('u');
+                case 'â' -> folded.append('a');
+                case '\u0307' -> { } // İ'nin ayrık yazılmış noktası
+                default -> folded.append(c);
+            }
+        }
+        return folded.toString();
+    }
+    
+    public static List<String> tokenize(String text) {
+        String folded = fold(text);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < folded.length(); i++) {
+            if (Character.isLetterOrDigit(folded.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(folded.substring(start));
+        }
+        return tokens;
+    }
+}
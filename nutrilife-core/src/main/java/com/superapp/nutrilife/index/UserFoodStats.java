@@ -0,0 +1,100 @@
+package com.superapp.nutrilife.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Tek bir kullanıcının yemek kullanımı: son kullanılan yemeklerin sınırlı LRU listesi ve en sık
+ * kullanılanlar için space-saving (heavy hitters) sayaçları. Sayaç sayısı sabittir; yeni bir yemek
+ * geldiğinde tablo doluysa en küçük sayaç o yemeğe devredilir ve eski değeri hata payı olarak
+ * saklanır. Böylece kullanıcı kaç farklı yemek yerse yesin bellek sabit kalır; gerçek sıklığı
+ * kapasiteye göre yeterince yüksek olan yemekler listeden düşmez.
+ * <p>
+ * Metotlar synchronized'dır; aynı kullanıcının eşzamanlı yazmaları nadirdir.
+ */
+public class UserFoodStats {
+    
+    private final int recentCapacity;
+    private final LinkedHashSet<Long> recent = new LinkedHashSet<>();
+    private final long[] foodIds;
+    private final long[] counts;
+    private final long[] errors;
+    private int size;
+    
+    public UserFoodStats(int recentCapacity, int counterCapacity) {
+        this.recentCapacity = recentCapacity;
+        this.foodIds = new long[counterCapacity];
+        this.counts = new long[counterCapacity];
+        this.errors = new long[counterCapacity];
+    }
+    
+    public synchronized void record(long foodId) {
+        recent.remove(foodId);
+        recent.add(foodId);
+        if (recent.size() > recentCapacity) {
+            Iterator<Long> eldest = recent.iterator();
+            eldest.next();
+            eldest.remove();
+        }
+        
+        int min = 0;
+        for (int i = 0; i < size; i++) {
+            if (foodIds[i] == foodId) {
+                counts[i]++;
+                return;
+            }
+            if (counts[i] < counts[min]) {
+                min = i;
+            }
+        }
+        if (size < foodIds.length) {
+            foodIds[size] = foodId;
+            counts[size] = 1;
+            errors[size] = 0;
+            size++;
+            return;
+        }
+        // Tablo dolu: en küçük sayaç yeni yemeğe geçer, eski sayım yeni yemeğin hata payı olur
+        foodIds[min] = foodId;
+        errors[min] = counts[min];
+        counts[min]++;
+    }
+    
+    /**
+     * Son kullanılan yemeklerin id'leri, en yeniden eskiye
+     */
+    public synchronized long[] recent(int limit) {
+        if (limit <= 0) {
+            return new long[0];
+        }
+        List<Long> ordered = new ArrayList<>(recent);
+        int count = Math.min(limit, ordered.size());
+        long[] result = new long[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = ordered.get(ordered.size() - 1 - i);
+        }
+        return result;
+    }
+    
+    /**
+     * Tahmini kullanım sayısına göre azalan sırada en sık yemekler. Sayım gerçek değerden en fazla
+     * hata payı kadar yüksektir.
+     */
+    public synchronized List<Counter> frequent(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        Counter[] counters = new Counter[size];
+        for (int i = 0; i < size; i++) {
+            counters[i] = new Counter(foodIds[i], counts[i], errors[i]);
+        }
+        Arrays.sort(counters, (a, b) -> a.count() != b.count() ? Long.compare(b.count(), a.count()) : Long.compare(a.error(), b.error()));
+        return List.of(Arrays.copyOf(counters, Math.min(limit, size)));
+    }
+    
+    public record Counter(long foodId, long count, long error) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.superapp.nutrilife.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Kullanıcının bir günlük besin toplamları (okuma modeli). Satırlar öğün yazılırken delta
+ * olarak güncellenir ve NutritionService tarafından JDBC ile okunur/yazılır; entity şemayı
+ * tanımlamak içindir. Birincil anahtar (user_id, summary_date) olduğu için gün, hafta ve ay
+ * okumaları tek bir anahtar aralığı taramasıdır.
+ */
+@Entity
+@Table(name = "daily_nutrition_summary")
+@IdClass(DailyNutritionSummaryId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyNutritionSummary {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Id
+    @Column(name = "summary_date")
+    private LocalDate summaryDate;
+    
+    @Column(nullable = false)
+    private double calories;
+    
+    @Column(nullable = false)
+    private double protein;
+    
+    @Column(nullable = false)
+    private double carbohydrates;
+    
+    @Column(nullable = false)
+    private double fat;
+    
+    @Column(nullable = false)
+    private double fiber;
+    
+    @Column(name = "meal_count", nullable = false)
+    private int mealCount;
+    
+    @Column(name = "item_count", nullable = false)
+    private int itemCount;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
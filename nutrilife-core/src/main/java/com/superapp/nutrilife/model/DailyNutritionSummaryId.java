@@ -0,0 +1,16 @@
+package com.superapp.nutrilife.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyNutritionSummaryId implements Serializable {
+    private Long userId;
+    private LocalDate summaryDate;
+}
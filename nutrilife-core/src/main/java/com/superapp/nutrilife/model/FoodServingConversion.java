@@ -0,0 +1,39 @@
+package com.superapp.nutrilife.model;
+
+import com.superapp.nutrilife.model.enums.ServingUnit;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bir yemeğin belirli porsiyon biriminin gram karşılığı (ör. 1 PIECE yumurta = 50 g).
+ * Tanımlı olmayan birimler için ServingUnit varsayılanı kullanılır.
+ */
+@Entity
+@Table(name = "food_serving_conversions",
+        uniqueConstraints = @UniqueConstraint(name = "uk_food_serving_conversion", columnNames = {"food_id", "serving_unit"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FoodServingConversion {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "food_id", nullable = false)
+    private Food food;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "serving_unit", nullable = false)
+    private ServingUnit servingUnit;
+    
+    @NotNull(message = "Gram karşılığı boş olamaz")
+    @Positive(message = "Gram karşılığı pozitif olmalıdır")
+    @Column(nullable = false)
+    private Double grams;
+}
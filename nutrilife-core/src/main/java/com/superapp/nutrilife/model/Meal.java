@@ -12,7 +12,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "meals")
+@Table(name = "meals", indexes = @Index(name = "idx_meals_user_date", columnList = "user_id, meal_date"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,43 @@
+package com.superapp.nutrilife.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Öğün değişiklik günlüğü; mobil istemcilerin delta senkronizasyonu için. Her öğünün yalnızca
+ * son değişikliği tutulur (sıkıştırılmış günlük), silinen öğünler deleted = true olan bir mezar
+ * taşı (tombstone) bırakır. seq kullanıcı bazında artan değişiklik imlecidir.
+ */
+@Entity
+@Table(name = "meal_changes", indexes = @Index(name = "idx_meal_changes_user_meal", columnList = "user_id, meal_id"))
+@IdClass(MealChangeId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealChange {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Id
+    @Column(name = "seq")
+    private Long seq;
+    
+    @Column(name = "meal_id", nullable = false)
+    private Long mealId;
+    
+    @Column(name = "meal_date", nullable = false)
+    private LocalDate mealDate;
+    
+    @Column(nullable = false)
+    private boolean deleted;
+    
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,15 @@
+package com.superapp.nutrilife.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealChangeId implements Serializable {
+    private Long userId;
+    private Long seq;
+}
@@ -8,10 +8,11 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "meal_items")
+@Table(name = "meal_items", indexes = @Index(name = "idx_meal_items_meal_id", columnList = "meal_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,10 +22,15 @@ public class MealItem {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    // Veritabanındaki yabancı anahtar bölümleme anahtarını da içeren (meal_id, meal_date) çiftidir
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "meal_id", nullable = false)
+    @JoinColumn(name = "meal_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Meal meal;
     
+    // Öğünün tarihi; meal_items da meals gibi meal_date'e göre bölümlenir
+    @Column(name = "meal_date")
+    private LocalDate mealDate;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "food_id", nullable = false)
     private Food food;
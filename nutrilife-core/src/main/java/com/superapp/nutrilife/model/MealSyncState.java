@@ -0,0 +1,29 @@
+package com.superapp.nutrilife.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Kullanıcının değişiklik imleci. lastSeq her öğün yazmasında satır kilidi altında artırılır;
+ * böylece aynı kullanıcının değişiklikleri seq sırasıyla commit edilir. purgedSeq, süresi dolup
+ * silinen en yeni mezar taşının seq değeridir.
+ */
+@Entity
+@Table(name = "meal_sync_state")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealSyncState {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "last_seq", nullable = false)
+    private long lastSeq;
+    
+    @Column(name = "purged_seq", nullable = false)
+    private long purgedSeq;
+}
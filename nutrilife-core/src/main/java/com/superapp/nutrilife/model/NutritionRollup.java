@@ -0,0 +1,64 @@
+package com.superapp.nutrilife.model;
+
+import com.superapp.nutrilife.model.enums.RollupPeriod;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Kullanıcının bir hafta ya da aydaki besin toplamları. daily_nutrition_summary ile aynı
+ * deltalarla güncellenir; uzun aralıklar gün satırları yerine bu kovalardan birleştirilir.
+ */
+@Entity
+@Table(name = "nutrition_rollups")
+@IdClass(NutritionRollupId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NutritionRollup {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "period", length = 10)
+    private RollupPeriod period;
+    
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDate bucketStart;
+    
+    // Kovada öğün kaydı olan gün sayısı
+    @Column(name = "logged_days", nullable = false)
+    private int loggedDays;
+    
+    @Column(nullable = false)
+    private double calories;
+    
+    @Column(nullable = false)
+    private double protein;
+    
+    @Column(nullable = false)
+    private double carbohydrates;
+    
+    @Column(nullable = false)
+    private double fat;
+    
+    @Column(nullable = false)
+    private double fiber;
+    
+    @Column(name = "meal_count", nullable = false)
+    private int mealCount;
+    
+    @Column(name = "item_count", nullable = false)
+    private int itemCount;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
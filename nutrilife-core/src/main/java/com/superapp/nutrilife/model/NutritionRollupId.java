@@ -0,0 +1,18 @@
+package com.superapp.nutrilife.model;
+
+import com.superapp.nutrilife.model.enums.RollupPeriod;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NutritionRollupId implements Serializable {
+    private Long userId;
+    private RollupPeriod period;
+    private LocalDate bucketStart;
+}
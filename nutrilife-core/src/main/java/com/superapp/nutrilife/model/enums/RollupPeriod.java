@@ -0,0 +1,9 @@
+package com.superapp.nutrilife.model.enums;
+
+/**
+ * Ön-toplanmış besin kovalarının periyodu. Haftalar ISO haftasıdır (pazartesi başlar).
+ */
+public enum RollupPeriod {
+    WEEK,
+    MONTH
+}
@@ -1,12 +1,26 @@
 package com.superapp.nutrilife.model.enums;
 
+/**
+ * Porsiyon birimleri ve yemeğe özel dönüşüm tanımlı değilse kullanılan gram karşılıkları.
+ * Hacim birimlerinde yoğunluk 1 g/ml kabul edilir; PIECE için varsayılan bir porsiyon 100 g'dır.
+ */
 public enum ServingUnit {
-    GRAM,
-    KILOGRAM,
-    PIECE,
-    CUP,
-    TABLESPOON,
-    TEASPOON,
-    LITER,
-    MILLILITER
-}
\ No newline at end of file
+    GRAM(1.0),
+    KILOGRAM(1000.0),
+    PIECE(100.0),
+    CUP(240.0),
+    TABLESPOON(15.0),
+    TEASPOON(5.0),
+    LITER(1000.0),
+    MILLILITER(1.0);
+    
+    private final double defaultGrams;
+    
+    ServingUnit(double defaultGrams) {
+        this.defaultGrams = defaultGrams;
+    }
+    
+    public double getDefaultGrams() {
+        return defaultGrams;
+    }
+}
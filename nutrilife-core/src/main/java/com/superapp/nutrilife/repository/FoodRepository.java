@@ -2,12 +2,16 @@ package com.superapp.nutrilife.repository;
 
 import com.superapp.nutrilife.model.Food;
 import com.superapp.nutrilife.model.enums.FoodSource;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface FoodRepository extends JpaRepository<Food, Long> {
@@ -16,9 +20,17 @@ public interface FoodRepository extends JpaRepository<Food, Long> {
     
     List<Food> findBySource(FoodSource source);
     
-    @Query("SELECT f FROM Food f WHERE f.name ILIKE %:name% OR f.description ILIKE %:name%")
-    List<Food> searchByNameOrDescription(@Param("name") String searchTerm);
+    // Keyset sayfalama: PK indeksi üzerinden id > cursor, OFFSET yok
+    List<Food> findByIdGreaterThanOrderByIdAsc(Long cursor, Pageable pageable);
     
-    @Query("SELECT f FROM Food f WHERE f.calories BETWEEN :minCalories AND :maxCalories")
-    List<Food> findByCaloriesRange(@Param("minCalories") Double minCalories, @Param("maxCalories") Double maxCalories);
+    // Sunucu tarafı cursor; açık bir transaction içinde tüketilmeli
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT f FROM Food f ORDER BY f.id")
+    Stream<Food> streamAllOrderById();
+    
+    @Query("SELECT mi.food.id AS foodId, COUNT(mi) AS usageCount FROM MealItem mi GROUP BY mi.food.id")
+    List<FoodUsageCount> countUsageByFood();
 }
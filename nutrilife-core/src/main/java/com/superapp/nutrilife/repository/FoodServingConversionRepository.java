@@ -0,0 +1,17 @@
+package com.superapp.nutrilife.repository;
+
+import com.superapp.nutrilife.model.FoodServingConversion;
+import com.superapp.nutrilife.model.enums.ServingUnit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FoodServingConversionRepository extends JpaRepository<FoodServingConversion, Long> {
+    
+    Optional<FoodServingConversion> findByFoodIdAndServingUnit(Long foodId, ServingUnit servingUnit);
+    
+    List<FoodServingConversion> findByFoodId(Long foodId);
+}
@@ -0,0 +1,10 @@
+package com.superapp.nutrilife.repository;
+
+/**
+ * Bir yemeğin kaç öğün kaleminde kullanıldığını taşıyan projeksiyon
+ */
+public interface FoodUsageCount {
+    Long getFoodId();
+    
+    Long getUsageCount();
+}
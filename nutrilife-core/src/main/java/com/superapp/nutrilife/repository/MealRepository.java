@@ -2,23 +2,47 @@ package com.superapp.nutrilife.repository;
 
 import com.superapp.nutrilife.model.Meal;
 import com.superapp.nutrilife.model.enums.MealType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MealRepository extends JpaRepository<Meal, Long> {
     
+    @EntityGraph(attributePaths = {"mealItems", "mealItems.food"})
+    Optional<Meal> findWithItemsById(Long id);
+    
+    @EntityGraph(attributePaths = {"mealItems", "mealItems.food"})
+    List<Meal> findWithItemsByIdIn(Collection<Long> ids);
+    
+    @EntityGraph(attributePaths = {"mealItems", "mealItems.food"})
     List<Meal> findByUserIdAndMealDate(Long userId, LocalDate mealDate);
     
     List<Meal> findByUserIdAndMealTypeAndMealDate(Long userId, MealType mealType, LocalDate mealDate);
     
-    @Query("SELECT m FROM Meal m WHERE m.userId = :userId AND m.mealDate BETWEEN :startDate AND :endDate ORDER BY m.mealDate DESC")
-    List<Meal> findByUserIdAndDateRange(@Param("userId") Long userId, 
-                                       @Param("startDate") LocalDate startDate, 
-                                       @Param("endDate") LocalDate endDate);
+    /**
+     * Kullanıcının before'dan önceki öğün günleri, yeniden eskiye; (user_id, meal_date) indeksinden okunur
+     */
+    @Query("SELECT DISTINCT m.mealDate FROM Meal m WHERE m.userId = :userId AND m.mealDate < :before ORDER BY m.mealDate DESC")
+    List<LocalDate> findMealDatesBefore(@Param("userId") Long userId,
+                                        @Param("before") LocalDate before,
+                                        Pageable pageable);
+    
+    /**
+     * Öğünleri kalemleri ve kalemlerin yemekleriyle birlikte tek sorguda getirir
+     */
+    @Query("SELECT m FROM Meal m LEFT JOIN FETCH m.mealItems mi LEFT JOIN FETCH mi.food " +
+           "WHERE m.userId = :userId AND m.mealDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY m.mealDate DESC, m.id, mi.id")
+    List<Meal> findWithItemsByUserIdAndDateRange(@Param("userId") Long userId,
+                                                @Param("startDate") LocalDate startDate,
+                                                @Param("endDate") LocalDate endDate);
 }
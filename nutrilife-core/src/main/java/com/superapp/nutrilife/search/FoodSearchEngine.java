@@ -0,0 +1,17 @@
+package com.superapp.nutrilife.search;
+
+import com.superapp.nutrilife.dto.FoodResponse;
+
+import java.util.List;
+
+/**
+ * Yemek aramasının arka ucu. Hangi uygulamanın kullanılacağı
+ * nutrilife.food-search.mode ayarı ile deployment bazında seçilir.
+ */
+public interface FoodSearchEngine {
+    
+    /**
+     * Sorguya en alakalı yemekleri skor sırasıyla, en fazla limit kadar döner
+     */
+    List<FoodResponse> search(String query, int limit);
+}
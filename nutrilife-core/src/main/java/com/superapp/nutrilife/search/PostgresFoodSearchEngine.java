@@ -0,0 +1,87 @@
+package com.superapp.nutrilife.search;
+
+import com.superapp.nutrilife.dto.FoodResponse;
+import com.superapp.nutrilife.model.enums.FoodSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Aramayı veritabanına bırakan arka uç: ağırlıklı tsvector kolonu üzerinde tam metin arama
+ * ve pg_trgm ile yazım hatasına dayanıklı isim eşleşmesi. İndeks tek bir yerde durduğu için
+ * yatayda ölçeklenen core node'ları bellek içi kopya tutmadan aynı sonuçları görür.
+ */
+@Component
+@ConditionalOnProperty(name = "nutrilife.food-search.mode", havingValue = "postgres")
+@RequiredArgsConstructor
+@Slf4j
+public class PostgresFoodSearchEngine implements FoodSearchEngine {
+    
+    private static final List<String> SCHEMA_STATEMENTS = List.of(
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            "ALTER TABLE foods ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (" +
+                    "setweight(to_tsvector('turkish'::regconfig, coalesce(name, '')), 'A') || " +
+                    "setweight(to_tsvector('turkish'::regconfig, coalesce(description, '')), 'B')) STORED",
+            "CREATE INDEX IF NOT EXISTS idx_foods_search_vector ON foods USING GIN (search_vector)",
+            "CREATE INDEX IF NOT EXISTS idx_foods_name_trgm ON foods USING GIN (name gin_trgm_ops)"
+    );
+    
+    // Her iki koşul da kendi GIN indeksini kullanır; planlayıcı BitmapOr ile birleştirir
+    private static final String SEARCH_SQL =
+            "SELECT f.id, f.name, f.description, f.calories, f.protein, f.carbohydrates, f.fat, f.fiber, " +
+            "f.source, f.created_at, f.updated_at " +
+            "FROM foods f, websearch_to_tsquery('turkish', ?) q " +
+            "WHERE f.search_vector @@ q OR f.name % ? " +
+            "ORDER BY ts_rank_cd(f.search_vector, q) + similarity(f.name, ?) DESC, f.id " +
+            "LIMIT ?";
+    
+    private static final RowMapper<FoodResponse> FOOD_ROW_MAPPER = (rs, rowNum) -> FoodResponse.builder()
+            .id(rs.getLong("id"))
+            .name(rs.getString("name"))
+            .description(rs.getString("description"))
+            .calories(rs.getObject("calories", Double.class))
+            .protein(rs.getObject("protein", Double.class))
+            .carbohydrates(rs.getObject("carbohydrates", Double.class))
+            .fat(rs.getObject("fat", Double.class))
+            .fiber(rs.getObject("fiber", Double.class))
+            .source(FoodSource.valueOf(rs.getString("source")))
+            .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+            .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+            .build();
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureSchema() {
+        for (String statement : SCHEMA_STATEMENTS) {
+            try {
+                jdbcTemplate.execute(statement);
+            } catch (DataAccessException e) {
+                // pg_trgm eklentisi superuser gerektirebilir; database-setup.sql ile önceden kurulmuş olmalı
+                log.warn("Arama şeması hazırlanamadı: {} - {}", statement, e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+    
+    @Override
+    public List<FoodResponse> search(String query, int limit) {
+        if (query == null || query.isBlank() || limit <= 0) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SEARCH_SQL, FOOD_ROW_MAPPER, query, query, query, limit);
+    }
+    
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,108 @@
+package com.superapp.nutrilife.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.superapp.nutrilife.dto.FoodExportRecord;
+import com.superapp.nutrilife.dto.FoodNutrientsResponse;
+import com.superapp.nutrilife.model.enums.FoodSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.zip.GZIPOutputStream;
+
+import static com.superapp.nutrilife.util.NdjsonUtils.writeLine;
+
+/**
+ * Tüm yemek kataloğunu besin değerleriyle birlikte NDJSON olarak dışa aktarır. Satırlar
+ * veritabanından sunucu tarafı cursor ile FETCH_SIZE'lık parçalar halinde çekilip doğrudan
+ * çıkış akışına yazılır; bellekte hiçbir anda tek parçadan fazlası tutulmaz.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FoodExportService {
+    
+    private static final int FETCH_SIZE = 1000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private static final String EXPORT_SQL =
+            "SELECT f.id, f.name, f.description, f.calories, f.protein, f.carbohydrates, f.fat, f.fiber, " +
+            "f.source, f.updated_at, n.food_id AS nutrients_food_id, n.energy_kcal, n.protein_g, n.fat_g, " +
+            "n.carbs_g, n.fiber_g, n.sugar_g, n.sodium_mg " +
+            "FROM foods f LEFT JOIN food_nutrients n ON n.food_id = f.id " +
+            "ORDER BY f.id";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    
+    /**
+     * Kataloğu verilen akışa yazar. PostgreSQL sürücüsü fetch size'ı yalnızca autocommit kapalıyken
+     * cursor olarak uyguladığından metot bir read-only transaction içinde çalışır.
+     */
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream target, boolean gzip) throws IOException {
+        long start = System.currentTimeMillis();
+        OutputStream out = gzip
+                ? new GZIPOutputStream(target, BUFFER_SIZE)
+                : new BufferedOutputStream(target, BUFFER_SIZE);
+        long[] count = {0};
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(EXPORT_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(FETCH_SIZE);
+                return ps;
+            }, rs -> {
+                writeLine(objectMapper, out, mapRow(rs));
+                count[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (out instanceof GZIPOutputStream gzipOut) {
+            gzipOut.finish();
+        }
+        out.flush();
+        log.info("Yemek kataloğu dışa aktarıldı. Kayıt: {}, süre: {} ms", count[0], System.currentTimeMillis() - start);
+        return count[0];
+    }
+    
+    private FoodExportRecord mapRow(ResultSet rs) throws SQLException {
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        FoodNutrientsResponse nutrients = null;
+        if (rs.getObject("nutrients_food_id") != null) {
+            nutrients = FoodNutrientsResponse.builder()
+                    .energyKcal(rs.getBigDecimal("energy_kcal"))
+                    .proteinG(rs.getBigDecimal("protein_g"))
+                    .fatG(rs.getBigDecimal("fat_g"))
+                    .carbsG(rs.getBigDecimal("carbs_g"))
+                    .fiberG(rs.getBigDecimal("fiber_g"))
+                    .sugarG(rs.getBigDecimal("sugar_g"))
+                    .sodiumMg(rs.getBigDecimal("sodium_mg"))
+                    .build();
+        }
+        return FoodExportRecord.builder()
+                .id(rs.getLong("id"))
+                .name(rs.getString("name"))
+                .description(rs.getString("description"))
+                .calories(rs.getObject("calories", Double.class))
+                .protein(rs.getObject("protein", Double.class))
+                .carbohydrates(rs.getObject("carbohydrates", Double.class))
+                .fat(rs.getObject("fat", Double.class))
+                .fiber(rs.getObject("fiber", Double.class))
+                .source(FoodSource.valueOf(rs.getString("source")))
+                .updatedAt(updatedAt != null ? updatedAt.toLocalDateTime() : null)
+                .nutrients(nutrients)
+                .build();
+    }
+}
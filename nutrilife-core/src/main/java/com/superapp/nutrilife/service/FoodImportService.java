@@ -0,0 +1,323 @@
+package com.superapp.nutrilife.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.superapp.nutrilife.dto.FoodImportRecord;
+import com.superapp.nutrilife.dto.FoodImportStatus;
+import com.superapp.nutrilife.dto.FoodResponse;
+import com.superapp.nutrilife.index.FoodIndexes;
+import com.superapp.nutrilife.model.enums.FoodSource;
+import com.superapp.nutrilife.util.CsvRecordReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * CSV ya da NDJSON akışından foods ve food_nutrients tablolarına toplu yükleme yapar.
+ * Girdi satır satır okunur ve en fazla BATCH_SIZE kayıt bellekte tutulur. Food IDENTITY
+ * anahtar kullandığı için Hibernate toplu insert yapamaz; bu yüzden her parti için
+ * sequence'tan blok halinde id ayrılıp iki tabloya JDBC batch ile yazılır.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FoodImportService {
+    
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    
+    private static final String RESERVE_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('foods', 'id')) FROM generate_series(1, ?)";
+    
+    private static final String INSERT_FOOD_SQL =
+            "INSERT INTO foods (id, name, description, calories, protein, carbohydrates, fat, fiber, source, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String INSERT_NUTRIENTS_SQL =
+            "INSERT INTO food_nutrients (food_id, energy_kcal, protein_g, fat_g, carbs_g, fiber_g, sugar_g, sodium_mg) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final FoodIndexes foodIndexes;
+    private final Cache<String, FoodImportStatus> imports = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .expireAfterWrite(Duration.ofHours(6))
+            .build();
+    
+    public Optional<FoodImportStatus> getStatus(String importId) {
+        return Optional.ofNullable(imports.getIfPresent(importId));
+    }
+    
+    public FoodImportStatus importCsv(String importId, Reader input) {
+        return runImport(importId, input, (reader, sink) -> {
+            CsvRecordReader csv = new CsvRecordReader(reader);
+            List<String> header = csv.next();
+            if (header == null) {
+                return;
+            }
+            List<String> columns = header.stream()
+                    .map(column -> column.strip().toLowerCase(Locale.ROOT))
+                    .collect(Collectors.toList());
+            List<String> values;
+            while ((values = csv.next()) != null) {
+                if (values.size() == 1 && values.get(0).isBlank()) {
+                    continue;
+                }
+                long line = csv.getRecordNumber();
+                try {
+                    Map<String, String> row = new HashMap<>();
+                    for (int i = 0; i < Math.min(columns.size(), values.size()); i++) {
+                        if (!values.get(i).isBlank()) {
+                            row.put(columns.get(i), values.get(i).strip());
+                        }
+                    }
+                    sink.accept(line, objectMapper.convertValue(row, FoodImportRecord.class));
+                } catch (IllegalArgumentException e) {
+                    sink.reject(line, e.getMessage());
+                }
+            }
+        });
+    }
+    
+    public FoodImportStatus importNdjson(String importId, Reader input) {
+        return runImport(importId, input, (reader, sink) -> {
+            BufferedReader lines = (BufferedReader) reader;
+            String json;
+            long line = 0;
+            while ((json = lines.readLine()) != null) {
+                line++;
+                if (json.isBlank()) {
+                    continue;
+                }
+                try {
+                    sink.accept(line, objectMapper.readValue(json, FoodImportRecord.class));
+                } catch (JsonProcessingException e) {
+                    sink.reject(line, e.getOriginalMessage());
+                }
+            }
+        });
+    }
+    
+    private FoodImportStatus runImport(String requestedId, Reader input, RecordParser parser) {
+        String importId = requestedId != null && !requestedId.isBlank() ? requestedId : UUID.randomUUID().toString();
+        ImportRun run = new ImportRun(importId);
+        imports.put(importId, run.snapshot(FoodImportStatus.State.RUNNING));
+        log.info("Yemek içe aktarımı başladı. Import ID: {}", importId);
+        
+        try (BufferedReader reader = new BufferedReader(input, 64 * 1024)) {
+            parser.parse(reader, run);
+            run.flush();
+            FoodImportStatus status = run.snapshot(FoodImportStatus.State.COMPLETED);
+            imports.put(importId, status);
+            log.info("Yemek içe aktarımı tamamlandı. Import ID: {}, eklenen: {}, reddedilen: {}",
+                    importId, status.getImported(), status.getRejected());
+            return status;
+        } catch (IOException | RuntimeException e) {
+            log.error("Yemek içe aktarımı başarısız. Import ID: {}", importId, e);
+            run.error(0, "İçe aktarım durdu: " + e.getMessage());
+            FoodImportStatus status = run.snapshot(FoodImportStatus.State.FAILED);
+            imports.put(importId, status);
+            return status;
+        }
+    }
+    
+    private List<FoodResponse> insertBatch(List<FoodImportRecord> batch) {
+        return transactionTemplate.execute(tx -> {
+            List<Long> ids = jdbcTemplate.queryForList(RESERVE_IDS_SQL, Long.class, batch.size());
+            LocalDateTime now = LocalDateTime.now();
+            Timestamp timestamp = Timestamp.valueOf(now);
+            
+            jdbcTemplate.batchUpdate(INSERT_FOOD_SQL, new BatchSetter(batch.size(), (ps, i) -> {
+                FoodImportRecord record = batch.get(i);
+                ps.setLong(1, ids.get(i));
+                ps.setString(2, record.getName());
+                ps.setString(3, record.getDescription());
+                ps.setDouble(4, record.getCalories());
+                setDouble(ps, 5, record.getProtein());
+                setDouble(ps, 6, record.getCarbohydrates());
+                setDouble(ps, 7, record.getFat());
+                setDouble(ps, 8, record.getFiber());
+                ps.setString(9, record.getSource().name());
+                ps.setTimestamp(10, timestamp);
+                ps.setTimestamp(11, timestamp);
+            }));
+            
+            jdbcTemplate.batchUpdate(INSERT_NUTRIENTS_SQL, new BatchSetter(batch.size(), (ps, i) -> {
+                FoodImportRecord record = batch.get(i);
+                ps.setLong(1, ids.get(i));
+                setDecimal(ps, 2, record.getCalories());
+                setDecimal(ps, 3, record.getProtein());
+                setDecimal(ps, 4, record.getFat());
+                setDecimal(ps, 5, record.getCarbohydrates());
+                setDecimal(ps, 6, record.getFiber());
+                setDecimal(ps, 7, record.getSugar());
+                setDecimal(ps, 8, record.getSodium());
+            }));
+            
+            List<FoodResponse> saved = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                FoodImportRecord record = batch.get(i);
+                saved.add(FoodResponse.builder()
+                        .id(ids.get(i))
+                        .name(record.getName())
+                        .description(record.getDescription())
+                        .calories(record.getCalories())
+                        .protein(record.getProtein())
+                        .carbohydrates(record.getCarbohydrates())
+                        .fat(record.getFat())
+                        .fiber(record.getFiber())
+                        .source(record.getSource())
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build());
+            }
+            return saved;
+        });
+    }
+    
+    private static void setDouble(PreparedStatement ps, int index, Double value) throws SQLException {
+        if (value != null) {
+            ps.setDouble(index, value);
+        } else {
+            ps.setNull(index, Types.DOUBLE);
+        }
+    }
+    
+    private static void setDecimal(PreparedStatement ps, int index, Double value) throws SQLException {
+        if (value != null) {
+            ps.setBigDecimal(index, BigDecimal.valueOf(value));
+        } else {
+            ps.setNull(index, Types.NUMERIC);
+        }
+    }
+    
+    @FunctionalInterface
+    private interface RowSetter {
+        void set(PreparedStatement ps, int i) throws SQLException;
+    }
+    
+    private record BatchSetter(int size, RowSetter setter) implements BatchPreparedStatementSetter {
+        
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+            setter.set(ps, i);
+        }
+        
+        @Override
+        public int getBatchSize() {
+            return size;
+        }
+    }
+    
+    @FunctionalInterface
+    private interface RecordParser {
+        void parse(Reader reader, ImportRun sink) throws IOException;
+    }
+    
+    /**
+     * Tek bir içe aktarımın sayaçları ve yazılmayı bekleyen partisi
+     */
+    private final class ImportRun {
+        
+        private final String importId;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final List<FoodImportRecord> batch = new ArrayList<>(BATCH_SIZE);
+        private final List<String> errors = new ArrayList<>();
+        private long processed;
+        private long imported;
+        private long rejected;
+        
+        private ImportRun(String importId) {
+            this.importId = importId;
+        }
+        
+        private void accept(long line, FoodImportRecord record) {
+            processed++;
+            if (record.getSource() == null) {
+                record.setSource(FoodSource.DATABASE);
+            }
+            Set<ConstraintViolation<FoodImportRecord>> violations = validator.validate(record);
+            if (!violations.isEmpty()) {
+                rejected++;
+                error(line, violations.stream().map(ConstraintViolation::getMessage).collect(Collectors.joining(", ")));
+                return;
+            }
+            batch.add(record);
+            if (batch.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+        
+        private void reject(long line, String reason) {
+            processed++;
+            rejected++;
+            error(line, reason);
+        }
+        
+        private void error(long line, String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(line > 0 ? "Satır " + line + ": " + message : message);
+            }
+        }
+        
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<FoodResponse> saved = insertBatch(batch);
+            imported += saved.size();
+            // Commit edilen parti bellek içi indekslere de yansır
+            for (int i = 0; i < saved.size(); i++) {
+                FoodResponse food = saved.get(i);
+                FoodImportRecord record = batch.get(i);
+                foodIndexes.put(food, record.getSugar(), record.getSodium());
+            }
+            batch.clear();
+            imports.put(importId, snapshot(FoodImportStatus.State.RUNNING));
+            log.debug("Import {}: {} satır işlendi, {} eklendi", importId, processed, imported);
+        }
+        
+        private FoodImportStatus snapshot(FoodImportStatus.State state) {
+            return FoodImportStatus.builder()
+                    .importId(importId)
+                    .state(state)
+                    .processed(processed)
+                    .imported(imported)
+                    .rejected(rejected)
+                    .errors(List.copyOf(errors))
+                    .startedAt(startedAt)
+                    .finishedAt(state == FoodImportStatus.State.RUNNING ? null : LocalDateTime.now())
+                    .build();
+        }
+    }
+}
@@ -1,22 +1,55 @@
 package com.superapp.nutrilife.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.superapp.nutrilife.dto.CursorPage;
+import com.superapp.nutrilife.dto.FoodMacroQuery;
 import com.superapp.nutrilife.dto.FoodRequest;
 import com.superapp.nutrilife.dto.FoodResponse;
+import com.superapp.nutrilife.dto.FoodSuggestion;
+import com.superapp.nutrilife.index.FoodCalorieIndex;
+import com.superapp.nutrilife.index.FoodIndexes;
+import com.superapp.nutrilife.index.FoodMacroIndex;
+import com.superapp.nutrilife.index.FoodSimilarityIndex;
+import com.superapp.nutrilife.index.FoodSuggestIndex;
 import com.superapp.nutrilife.model.Food;
 import com.superapp.nutrilife.model.enums.FoodSource;
 import com.superapp.nutrilife.repository.FoodRepository;
+import com.superapp.nutrilife.search.FoodSearchEngine;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.superapp.nutrilife.util.TransactionUtils.afterCommit;
 
 @Service
 @RequiredArgsConstructor
 public class FoodService {
     
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_RANGE_RESULTS = 5000;
+    
     private final FoodRepository foodRepository;
+    private final EntityManager entityManager;
+    private final FoodSearchEngine foodSearchEngine;
+    private final FoodSuggestIndex foodSuggestIndex;
+    private final FoodCalorieIndex foodCalorieIndex;
+    private final FoodMacroIndex foodMacroIndex;
+    private final FoodSimilarityIndex foodSimilarityIndex;
+    private final Cache<Long, FoodResponse> foodCache;
+    private final FoodIndexes foodIndexes;
+    private final NutritionService nutritionService;
     
     @Transactional
     public FoodResponse createFood(FoodRequest request) {
@@ -31,43 +64,117 @@ public class FoodService {
         food.setSource(request.getSource());
         
         Food savedFood = foodRepository.save(food);
-        return mapToResponse(savedFood);
+        FoodResponse response = mapToResponse(savedFood);
+        afterCommit(() -> foodIndexes.put(response));
+        return response;
     }
     
-    public List<FoodResponse> getAllFoods() {
-        return foodRepository.findAll().stream()
-                .map(this::mapToResponse)
+    @Transactional(readOnly = true)
+    public CursorPage<FoodResponse> getFoodsPage(Long cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long after = cursor != null ? cursor : 0L;
+        
+        // Bir fazla satır çekerek sonraki sayfanın varlığını COUNT sorgusu olmadan anlıyoruz
+        List<Food> foods = foodRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = foods.size() > pageSize;
+        List<FoodResponse> items = foods.stream()
+                .limit(pageSize)
+                .map(FoodService::mapToResponse)
                 .collect(Collectors.toList());
+        
+        return CursorPage.<FoodResponse>builder()
+                .items(items)
+                .nextCursor(hasMore ? items.get(items.size() - 1).getId() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+    
+    @Transactional(readOnly = true)
+    public void forEachFood(Consumer<FoodResponse> action) {
+        try (Stream<Food> foods = foodRepository.streamAllOrderById()) {
+            foods.forEach(food -> {
+                action.accept(mapToResponse(food));
+                // Persistence context'in katalog boyunca büyümemesi için entity'yi bırak
+                entityManager.detach(food);
+            });
+        }
     }
     
     public FoodResponse getFoodById(Long id) {
-        Food food = foodRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Yemek bulunamadı"));
-        return mapToResponse(food);
+        FoodResponse food = foodCache.get(id, key -> foodRepository.findById(key)
+                .map(FoodService::mapToResponse)
+                .orElse(null));
+        if (food == null) {
+            throw new RuntimeException("Yemek bulunamadı");
+        }
+        return food;
     }
     
-    public List<FoodResponse> searchFoods(String searchTerm) {
-        return foodRepository.searchByNameOrDescription(searchTerm).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public Map<String, Object> getFoodCacheStats() {
+        CacheStats stats = foodCache.stats();
+        return Map.of(
+                "size", foodCache.estimatedSize(),
+                "hitCount", stats.hitCount(),
+                "missCount", stats.missCount(),
+                "hitRate", stats.hitRate(),
+                "evictionCount", stats.evictionCount(),
+                "averageLoadPenaltyNanos", stats.averageLoadPenalty());
+    }
+    
+    public List<FoodResponse> searchFoods(String searchTerm, int limit) {
+        return foodSearchEngine.search(searchTerm, limit);
+    }
+    
+    public List<FoodSuggestion> suggestFoods(String prefix, int limit) {
+        return foodSuggestIndex.suggest(prefix, limit);
     }
     
     public List<FoodResponse> getFoodsBySource(FoodSource source) {
         return foodRepository.findBySource(source).stream()
-                .map(this::mapToResponse)
+                .map(FoodService::mapToResponse)
                 .collect(Collectors.toList());
     }
     
-    public List<FoodResponse> getFoodsByCaloriesRange(Double minCalories, Double maxCalories) {
-        return foodRepository.findByCaloriesRange(minCalories, maxCalories).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public List<FoodResponse> getFoodsByCaloriesRange(Double minCalories, Double maxCalories, int limit) {
+        return resolveFoods(foodCalorieIndex.findIds(minCalories, maxCalories, Math.min(limit, MAX_RANGE_RESULTS)));
+    }
+    
+    public List<FoodResponse> getFoodsByMacroRanges(FoodMacroQuery query) {
+        double[] min = new double[FoodMacroIndex.DIMENSIONS];
+        double[] max = new double[FoodMacroIndex.DIMENSIONS];
+        setRange(min, max, FoodMacroIndex.PROTEIN, query.getMinProtein(), query.getMaxProtein());
+        setRange(min, max, FoodMacroIndex.CARBOHYDRATES, query.getMinCarbohydrates(), query.getMaxCarbohydrates());
+        setRange(min, max, FoodMacroIndex.FAT, query.getMinFat(), query.getMaxFat());
+        setRange(min, max, FoodMacroIndex.FIBER, query.getMinFiber(), query.getMaxFiber());
+        setRange(min, max, FoodMacroIndex.SUGAR, query.getMinSugar(), query.getMaxSugar());
+        setRange(min, max, FoodMacroIndex.SODIUM, query.getMinSodium(), query.getMaxSodium());
+        return resolveFoods(foodMacroIndex.findIds(min, max, Math.min(query.getLimit(), MAX_RANGE_RESULTS)));
+    }
+    
+    public List<FoodResponse> getSimilarFoods(Long id, int limit) {
+        long[] ids = foodSimilarityIndex.findNearest(id, limit);
+        if (ids == null) {
+            throw new RuntimeException("Yemek bulunamadı");
+        }
+        return resolveFoods(ids);
+    }
+    
+    /**
+     * Id'leri verilen sırayla yemeklere çevirir; silinmiş yemekler atlanır
+     */
+    public List<FoodResponse> getFoodsByIds(long[] ids) {
+        return resolveFoods(ids);
     }
     
     @Transactional
     public FoodResponse updateFood(Long id, FoodRequest request) {
         Food food = foodRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Yemek bulunamadı"));
+        boolean nutritionChanged = !Objects.equals(food.getCalories(), request.getCalories())
+                || !Objects.equals(food.getProtein(), request.getProtein())
+                || !Objects.equals(food.getCarbohydrates(), request.getCarbohydrates())
+                || !Objects.equals(food.getFat(), request.getFat())
+                || !Objects.equals(food.getFiber(), request.getFiber());
         
         food.setName(request.getName());
         food.setDescription(request.getDescription());
@@ -78,8 +185,20 @@ public class FoodService {
         food.setFiber(request.getFiber());
         food.setSource(request.getSource());
         
-        Food updatedFood = foodRepository.save(food);
-        return mapToResponse(updatedFood);
+        Food updatedFood;
+        if (nutritionChanged) {
+            // Günlük özetlerdeki katkı yeni değerlerle hesaplanır; sonraki silmeler aynı değeri çıkarır
+            updatedFood = foodRepository.saveAndFlush(food);
+            nutritionService.rebuildFoodSummaries(id);
+        } else {
+            updatedFood = foodRepository.save(food);
+        }
+        FoodResponse response = mapToResponse(updatedFood);
+        afterCommit(() -> {
+            foodCache.invalidate(id);
+            foodIndexes.put(response);
+        });
+        return response;
     }
     
     @Transactional
@@ -88,9 +207,43 @@ public class FoodService {
             throw new RuntimeException("Yemek bulunamadı");
         }
         foodRepository.deleteById(id);
+        afterCommit(() -> {
+            foodCache.invalidate(id);
+            foodIndexes.remove(id);
+        });
+    }
+    
+    private static void setRange(double[] min, double[] max, int dimension, Double from, Double to) {
+        min[dimension] = from != null ? from : Double.NEGATIVE_INFINITY;
+        max[dimension] = to != null ? to : Double.POSITIVE_INFINITY;
+    }
+    
+    // İndeksin döndüğü sırayı koruyarak id'leri cache üzerinden yemeklere çevirir; cache'te olmayanlar tek bir findAllById ile yüklenir
+    private List<FoodResponse> resolveFoods(long[] ids) {
+        List<Long> keys = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            keys.add(id);
+        }
+        Map<Long, FoodResponse> foods = foodCache.getAll(keys, this::loadFoods);
+        List<FoodResponse> result = new ArrayList<>(keys.size());
+        for (Long id : keys) {
+            FoodResponse food = foods.get(id);
+            if (food != null) {
+                result.add(food);
+            }
+        }
+        return result;
+    }
+    
+    private Map<Long, FoodResponse> loadFoods(Set<? extends Long> ids) {
+        return foodRepository.findAllById(List.copyOf(ids)).stream()
+                .collect(Collectors.toMap(Food::getId, FoodService::mapToResponse));
     }
     
-    private FoodResponse mapToResponse(Food food) {
+    /**
+     * Yemek entity'sini API cevabına çevirir; öğün cevapları da yemekleri bununla eşler
+     */
+    static FoodResponse mapToResponse(Food food) {
         return FoodResponse.builder()
                 .id(food.getId())
                 .name(food.getName())
@@ -0,0 +1,107 @@
+package com.superapp.nutrilife.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key ile gelen yazmaların tekrarlarını ilk sonucun kendisiyle cevaplar. Anahtarlar
+ * sınırlı boyutlu ve TTL ile düşen bir Caffeine deposunda tutulur. Kontrol ve kayıt tek bir
+ * putIfAbsent ile yapılır: ilk istek anahtara henüz tamamlanmamış bir sonuç bırakır, aynı anda
+ * gelen tekrarlar yazma yapmadan bu sonucu bekler. Yazma hata verirse anahtar silinir ve istemci
+ * aynı anahtarla yeniden deneyebilir.
+ * <p>
+ * İsteğin parmak izi JSON gövdesinin SHA-256 özetidir. Boyut sınırı yalnızca tamamlanmış sonuçlara
+ * uygulanır: sürmekte olan bir kayıt tahliye edilirse aynı anahtarla gelen tekrar yazmayı ikinci kez
+ * çalıştırabileceği için tamamlanana kadar ağırlığı sıfırdır.
+ * <p>
+ * Depo node'a yereldir; tekrarların aynı node'a düşmesi için yük dengeleyicinin anahtara (ya da
+ * kullanıcıya) göre yönlendirmesi gerekir.
+ */
+@Service
+public class IdempotencyService {
+    
+    private final Cache<String, Entry> entries;
+    private final ObjectMapper objectMapper;
+    
+    public IdempotencyService(
+            ObjectMapper objectMapper,
+            @Value("${nutrilife.idempotency.maximum-size:100000}") long maximumSize,
+            @Value("${nutrilife.idempotency.expire-after-write:24h}") Duration expireAfterWrite) {
+        this.objectMapper = objectMapper;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maximumSize)
+                .weigher((String key, Entry entry) -> entry.result().isDone() ? 1 : 0)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+    
+    /**
+     * action'ı kapsam + anahtar için en fazla bir kez çalıştırır. Anahtar boşsa action doğrudan
+     * çalışır. Aynı anahtar farklı bir istekle gelirse IllegalStateException fırlatılır.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Outcome<T> execute(String scope, String key, Object request, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return new Outcome<>(action.get(), false);
+        }
+        String cacheKey = scope + ":" + key;
+        Entry entry = new Entry(fingerprint(request), new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(cacheKey, entry);
+        if (existing != null) {
+            if (!MessageDigest.isEqual(existing.fingerprint(), entry.fingerprint())) {
+                throw new IllegalStateException("Idempotency-Key daha önce farklı bir istekle kullanılmış");
+            }
+            try {
+                return new Outcome<>((T) existing.result().join(), true);
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            T result = action.get();
+            entry.result().complete(result);
+            // Ağırlık yazma anında hesaplandığı için tamamlanan kayıt yeniden yazılarak boyut sınırına dahil edilir
+            entries.asMap().replace(cacheKey, entry, entry);
+            return new Outcome<>(result, false);
+        } catch (RuntimeException e) {
+            entries.asMap().remove(cacheKey, entry);
+            entry.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+    
+    /**
+     * Deneme amaçlı: bekleyen tahliye ve süre dolumu işlerini hemen çalıştırır
+     */
+    void cleanUp() {
+        entries.cleanUp();
+    }
+    
+    private byte[] fingerprint(Object request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("İstek parmak izi hesaplanamadı", e);
+        }
+    }
+    
+    /**
+     * replayed true ise sonuç önceki bir istekten döner, bu istek hiçbir şey yazmamıştır
+     */
+    public record Outcome<T>(T value, boolean replayed) {
+    }
+    
+    private record Entry(byte[] fingerprint, CompletableFuture<Object> result) {
+    }
+}
@@ -0,0 +1,264 @@
+package com.superapp.nutrilife.service;
+
+import com.superapp.nutrilife.dto.MealItemRequest;
+import com.superapp.nutrilife.dto.MealItemResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Öğüne kalem ekleme için isteğe bağlı write-behind modu. Açıkken istekler kullanıcıya göre
+ * seçilen bir parçanın (shard) sınırlı kuyruğuna girer; her parçanın tek yazıcı thread'i kuyruğu
+ * flush-interval-ms dolunca ya da max-batch-rows kaleme ulaşınca tek transaction'da yazar. Böylece
+ * hızlı atıştırmalık eklemelerinin her biri için ayrı transaction ödenmez.
+ * <p>
+ * Kuyruk bellekte olduğu için istek, kaydı kuyruğa bıraktığında değil grubun transaction'ı commit
+ * olduğunda yanıtlanır; istemci kalıcı olmayan bir onay almaz, bekleme en fazla bir flush aralığı
+ * kadar uzar. Bir kullanıcının yazmaları hep aynı parçaya düştüğü için gönderildikleri sırayla
+ * yazılır; bu sırayı bozmamak için kuyruk doluyken istek kuyruğu atlayıp doğrudan yazılmaz,
+ * enqueue-timeout-ms kadar yer bekler ve yer açılmazsa RejectedExecutionException ile reddedilir.
+ * Mod kapalıysa istek doğrudan kendi transaction'ında yazılır.
+ * <p>
+ * Yazıcı thread beklenmeyen bir hatayla (Error) düşerse elindeki grubun ve kuyruğunda kalan
+ * kayıtların istekleri hatayla tamamlanır, parça da yeni kayıtları RejectedExecutionException
+ * ile reddeder; hiçbir istek yazılmayacak bir kaydı beklemez.
+ */
+@Service
+@Slf4j
+public class MealItemWriteBuffer {
+    
+    private final MealService mealService;
+    private final boolean enabled;
+    private final int maxBatchRows;
+    private final long flushIntervalNanos;
+    private final long enqueueTimeoutMs;
+    private final List<Shard> shards = new ArrayList<>();
+    private final List<Thread> writers = new ArrayList<>();
+    // Kuyruğa bırakma okuma kilidiyle, kapanış yazma kilidiyle yapılır; kapanış başladıktan sonra
+    // yazıcıların artık boşaltmayacağı bir kuyruğa kayıt bırakılamaz
+    private final ReadWriteLock enqueueLock = new ReentrantReadWriteLock();
+    private volatile boolean running;
+    
+    public MealItemWriteBuffer(
+            MealService mealService,
+            @Value("${nutrilife.meal-items.write-behind.enabled:false}") boolean enabled,
+            @Value("${nutrilife.meal-items.write-behind.shards:4}") int shardCount,
+            @Value("${nutrilife.meal-items.write-behind.queue-capacity:10000}") int queueCapacity,
+            @Value("${nutrilife.meal-items.write-behind.max-batch-rows:500}") int maxBatchRows,
+            @Value("${nutrilife.meal-items.write-behind.flush-interval-ms:20}") long flushIntervalMs,
+            @Value("${nutrilife.meal-items.write-behind.enqueue-timeout-ms:100}") long enqueueTimeoutMs) {
+        this.mealService = mealService;
+        this.enabled = enabled;
+        this.maxBatchRows = maxBatchRows;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+        if (enabled) {
+            for (int i = 0; i < shardCount; i++) {
+                shards.add(new Shard(new ArrayBlockingQueue<>(queueCapacity)));
+            }
+        }
+    }
+    
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < shards.size(); i++) {
+            Shard shard = shards.get(i);
+            Thread writer = new Thread(() -> drain(shard), "meal-item-writer-" + i);
+            writer.setDaemon(true);
+            writer.start();
+            writers.add(writer);
+        }
+        if (enabled) {
+            log.info("Öğün kalemi write-behind modu açık: {} parça, en fazla {} kalem / {} ms", shards.size(), maxBatchRows,
+                    TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos));
+        }
+    }
+    
+    /**
+     * Kapanışta yazıcılar kuyruklarında kalan kayıtları yazıp çıkar
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        enqueueLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            enqueueLock.writeLock().unlock();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+    }
+    
+    /**
+     * Kalemleri öğüne ekler ve yazıldıkları transaction commit olduktan sonra döner. Kuyrukta
+     * enqueue-timeout-ms içinde yer açılmazsa ya da uygulama kapanıyorsa RejectedExecutionException fırlatır
+     */
+    public List<MealItemResponse> addMealItems(Long mealId, List<MealItemRequest> items) {
+        if (!enabled) {
+            return mealService.addMealItems(mealId, items);
+        }
+        long userId = mealService.getMealOwner(mealId);
+        PendingItems pending = new PendingItems(mealId, items, new CompletableFuture<>());
+        enqueue(shards.get(Math.floorMod(Long.hashCode(userId), shards.size())), pending);
+        // Sonuç yazıcı tarafından ya da yazıcı düşerken retire ile mutlaka tamamlanır; süre sınırı
+        // konmaz, aksi halde zaman aşımına uğrayıp sonradan yazılan kalemler istemcide tekrar denenirdi
+        try {
+            return pending.result().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+    
+    private void enqueue(Shard shard, PendingItems pending) {
+        enqueueLock.readLock().lock();
+        try {
+            if (!running) {
+                throw new RejectedExecutionException("Uygulama kapanıyor, öğün kalemleri kabul edilmiyor");
+            }
+            if (!shard.alive) {
+                throw new RejectedExecutionException("Öğün kalemi yazıcısı durdu, daha sonra tekrar deneyin");
+            }
+            if (!shard.queue.offer(pending, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                log.debug("Öğün kalemi kuyruğu dolu, istek reddedildi. Öğün ID: {}", pending.mealId());
+                throw new RejectedExecutionException("Öğün kalemi kuyruğu dolu, daha sonra tekrar deneyin");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Öğün kalemi kuyruğa alınırken kesildi", e);
+        } finally {
+            enqueueLock.readLock().unlock();
+        }
+    }
+    
+    private void drain(Shard shard) {
+        try {
+            drain(shard.queue);
+        } catch (Throwable e) {
+            log.error("Öğün kalemi yazıcısı beklenmeyen bir hatayla durdu, parça kapatılıyor", e);
+            retire(shard, e);
+        }
+    }
+    
+    /**
+     * Yazıcısı düşen parçayı kapatır ve kuyrukta kalan istekleri reddeder. Kapanış yazma kilidiyle
+     * yapılır; kilit bırakıldıktan sonra kuyruğa kayıt bırakılamaz.
+     */
+    private void retire(Shard shard, Throwable cause) {
+        List<PendingItems> orphaned = new ArrayList<>();
+        enqueueLock.writeLock().lock();
+        try {
+            shard.alive = false;
+            shard.queue.drainTo(orphaned);
+        } finally {
+            enqueueLock.writeLock().unlock();
+        }
+        for (PendingItems pending : orphaned) {
+            pending.result().completeExceptionally(
+                    new RejectedExecutionException("Öğün kalemi yazıcısı durdu, daha sonra tekrar deneyin", cause));
+        }
+    }
+    
+    private void drain(BlockingQueue<PendingItems> queue) {
+        List<PendingItems> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingItems first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                // İlk kayıttan itibaren en fazla bir flush aralığı ya da max-batch-rows kalem kadar toplanır
+                batch.add(first);
+                int rows = first.items().size();
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (rows < maxBatchRows) {
+                    PendingItems next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    rows += next.items().size();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queue.drainTo(batch);
+                flush(batch);
+                return;
+            }
+            flush(batch);
+            batch.clear();
+        }
+    }
+    
+    private void flush(List<PendingItems> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            write(batch);
+        } catch (Throwable e) {
+            // Yazıcıyı düşüren hata grubun yanıtlanmamış isteklerini askıda bırakmasın
+            for (PendingItems pending : batch) {
+                pending.result().completeExceptionally(e);
+            }
+            throw e;
+        }
+    }
+    
+    private void write(List<PendingItems> batch) {
+        List<Long> mealIds = new ArrayList<>(batch.size());
+        List<List<MealItemRequest>> items = new ArrayList<>(batch.size());
+        for (PendingItems pending : batch) {
+            mealIds.add(pending.mealId());
+            items.add(pending.items());
+        }
+        try {
+            List<List<MealItemResponse>> responses = mealService.addMealItemsBatch(mealIds, items);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(responses.get(i));
+            }
+            return;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            log.debug("Öğün kalemi grubu yazılamadı, kayıtlar tek tek yazılıyor: {}", e.getMessage());
+        }
+        // Geçersiz tek bir kayıt grubun geri kalanını düşürmesin diye kayıtlar sırayla ayrı ayrı denenir
+        for (PendingItems pending : batch) {
+            try {
+                pending.result().complete(mealService.addMealItems(pending.mealId(), pending.items()));
+            } catch (RuntimeException e) {
+                pending.result().completeExceptionally(e);
+            }
+        }
+    }
+    
+    private static final class Shard {
+        
+        private final BlockingQueue<PendingItems> queue;
+        private volatile boolean alive = true;
+        
+        private Shard(BlockingQueue<PendingItems> queue) {
+            this.queue = queue;
+        }
+    }
+    
+    private record PendingItems(Long mealId, List<MealItemRequest> items, CompletableFuture<List<MealItemResponse>> result) {
+    }
+}
@@ -0,0 +1,136 @@
+package com.superapp.nutrilife.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * meals ve meal_items tablolarının aylık bölümlerini (partition) yönetir. Tablolar meal_date
+ * üzerinden aralık bölümlemelidir (database-setup.sql); bu servis önümüzdeki aylar için bölümleri
+ * önceden açar ve sıcak pencerenin dışında kalan ayları ana tablodan ayırıp arşiv şemasına taşır.
+ * Böylece güncel sorgular yalnızca son ayların küçük bölümlerine ve indekslerine dokunur.
+ * <p>
+ * Arşivlenen öğünler API'den okunmaz; günlük özet ve haftalık/aylık kovalar ise korunur, bu yüzden
+ * geçmiş dönem toplamları arşivlemeden etkilenmez.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MealPartitionService {
+    
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern MEALS_PARTITION = Pattern.compile("meals_p(\\d{6})");
+    
+    private static final String IS_PARTITIONED_SQL =
+            "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('meals'))";
+    
+    private static final String LIST_PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = to_regclass('meals')";
+    
+    private static final String ITEM_FOREIGN_KEYS_SQL =
+            "SELECT conname FROM pg_constraint WHERE conrelid = to_regclass(?) AND confrelid = to_regclass('meals') AND contype = 'f'";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${nutrilife.meal-partitions.months-ahead:3}")
+    private int monthsAhead;
+    
+    // 0: hiçbir bölüm arşivlenmez
+    @Value("${nutrilife.meal-partitions.hot-months:0}")
+    private int hotMonths;
+    
+    @Value("${nutrilife.meal-partitions.archive-schema:meals_archive}")
+    private String archiveSchema;
+    
+    // Arşiv bölümleri için isteğe bağlı tablespace (ör. sıkıştırmalı dosya sistemindeki ucuz disk)
+    @Value("${nutrilife.meal-partitions.archive-tablespace:}")
+    private String archiveTablespace;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${nutrilife.meal-partitions.maintenance-cron:0 0 2 * * *}")
+    public void maintainPartitions() {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Boolean.class))) {
+            log.warn("meals tablosu bölümlenmemiş; database-partition-migration.sql çalıştırılana kadar bölüm bakımı yapılmaz");
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartitions(current.plusMonths(i));
+        }
+        LocalDate archivedBefore = getArchivedBefore();
+        if (archivedBefore == null) {
+            return;
+        }
+        for (String partition : jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class)) {
+            Matcher matcher = MEALS_PARTITION.matcher(partition);
+            if (matcher.matches()) {
+                YearMonth month = YearMonth.parse(matcher.group(1), SUFFIX_FORMAT);
+                if (month.atDay(1).isBefore(archivedBefore)) {
+                    archivePartitions(month);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Bu tarihten önceki aylar arşive taşınır (ya da taşınmıştır); arşivleme kapalıysa null
+     */
+    public LocalDate getArchivedBefore() {
+        return hotMonths > 0 ? YearMonth.now().minusMonths(hotMonths).atDay(1) : null;
+    }
+    
+    private void createPartitions(YearMonth month) {
+        String suffix = month.format(SUFFIX_FORMAT);
+        String range = "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS meals_p" + suffix + " PARTITION OF meals " + range);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS meal_items_p" + suffix + " PARTITION OF meal_items " + range);
+        } catch (DataAccessException e) {
+            // Genellikle varsayılan bölümde bu aya ait satır olduğunda olur; elle taşınması gerekir
+            log.error("{} ayı için öğün bölümü oluşturulamadı: {}", month, e.getMostSpecificCause().getMessage());
+        }
+    }
+    
+    /**
+     * Ayın bölümlerini ayırıp arşiv şemasına taşır. Önce kalem bölümü ayrılır ve öğünlere olan
+     * yabancı anahtarı kaldırılır, aksi halde öğün bölümü ayrılamaz.
+     */
+    private void archivePartitions(YearMonth month) {
+        String suffix = month.format(SUFFIX_FORMAT);
+        String items = "meal_items_p" + suffix;
+        String meals = "meals_p" + suffix;
+        long start = System.currentTimeMillis();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("ALTER TABLE meal_items DETACH PARTITION " + items);
+            List<String> foreignKeys = jdbcTemplate.queryForList(ITEM_FOREIGN_KEYS_SQL, String.class, items);
+            for (String foreignKey : foreignKeys) {
+                jdbcTemplate.execute("ALTER TABLE " + items + " DROP CONSTRAINT \"" + foreignKey + "\"");
+            }
+            jdbcTemplate.execute("ALTER TABLE meals DETACH PARTITION " + meals);
+            jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + archiveSchema);
+            jdbcTemplate.execute("ALTER TABLE " + items + " SET SCHEMA " + archiveSchema);
+            jdbcTemplate.execute("ALTER TABLE " + meals + " SET SCHEMA " + archiveSchema);
+            if (!archiveTablespace.isBlank()) {
+                jdbcTemplate.execute("ALTER TABLE " + archiveSchema + "." + items + " SET TABLESPACE " + archiveTablespace);
+                jdbcTemplate.execute("ALTER TABLE " + archiveSchema + "." + meals + " SET TABLESPACE " + archiveTablespace);
+            }
+        });
+        log.info("{} ayının öğün bölümleri {} ms içinde {} şemasına arşivlendi", month, System.currentTimeMillis() - start, archiveSchema);
+    }
+}
@@ -0,0 +1,349 @@
+package com.superapp.nutrilife.service;
+
+import com.superapp.nutrilife.dto.MealHistoryPage;
+import com.superapp.nutrilife.dto.MealItemRequest;
+import com.superapp.nutrilife.dto.MealItemResponse;
+import com.superapp.nutrilife.dto.MealRequest;
+import com.superapp.nutrilife.dto.MealResponse;
+import com.superapp.nutrilife.index.FoodSuggestIndex;
+import com.superapp.nutrilife.model.Meal;
+import com.superapp.nutrilife.model.MealItem;
+import com.superapp.nutrilife.repository.MealRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static com.superapp.nutrilife.util.TransactionUtils.afterCommit;
+
+/**
+ * Öğün kaydı. Meal ve MealItem IDENTITY anahtar kullandığı için Hibernate bu satırları tek tek
+ * insert eder; yoğun saatlerde her kalem için bir round-trip ödememek adına yazma yolu JDBC ile
+ * yapılır. Öğün ve kalem id'leri tek sorguda sequence'lardan ayrılır, kalemler tek bir batch ile
+ * yazılır (reWriteBatchedInserts ile sürücü bunu çok satırlı INSERT'e çevirir), ardından öğünün
+ * katkısı günlük özete ve değişiklik günlüğüne işlenir. Öğün kaç kalem içerirse içersin transaction
+ * beş round-trip sürer.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MealService {
+    
+    private static final String RESERVE_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('meals', 'id')) AS meal_id, " +
+            "ARRAY(SELECT nextval(pg_get_serial_sequence('meal_items', 'id')) FROM generate_series(1, ?)) AS item_ids";
+    
+    private static final String RESERVE_ITEM_IDS_SQL =
+            "SELECT ARRAY(SELECT nextval(pg_get_serial_sequence('meal_items', 'id')) FROM generate_series(1, ?)) AS item_ids";
+    
+    private static final String INSERT_MEAL_SQL =
+            "INSERT INTO meals (id, user_id, meal_type, meal_date, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+    
+    private static final String INSERT_ITEM_SQL =
+            "INSERT INTO meal_items (id, meal_id, meal_date, food_id, quantity, serving_unit, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    
+    /**
+     * Öğünün değişiklik günlüğündeki önceki kaydını silip kullanıcının sıradaki seq'iyle yenisini
+     * yazar. meal_sync_state satırındaki kilit, aynı kullanıcının değişikliklerini commit sırasına dizer.
+     */
+    private static final String RECORD_CHANGE_SQL =
+            "WITH s AS (INSERT INTO meal_sync_state (user_id, last_seq, purged_seq) VALUES (?, 1, 0) " +
+            "ON CONFLICT (user_id) DO UPDATE SET last_seq = meal_sync_state.last_seq + 1 RETURNING user_id, last_seq), " +
+            "d AS (DELETE FROM meal_changes WHERE user_id = ? AND meal_id = ?) " +
+            "INSERT INTO meal_changes (user_id, seq, meal_id, meal_date, deleted, changed_at) " +
+            "SELECT s.user_id, s.last_seq, ?, ?, ?, ? FROM s";
+    
+    private static final int MAX_HISTORY_DAYS = 31;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final MealRepository mealRepository;
+    private final FoodSuggestIndex foodSuggestIndex;
+    private final NutritionService nutritionService;
+    private final UserFoodService userFoodService;
+    
+    @Transactional
+    public MealResponse logMeal(MealRequest request) {
+        List<MealItemRequest> items = request.getMealItems() != null ? request.getMealItems() : List.of();
+        ReservedIds ids = jdbcTemplate.queryForObject(RESERVE_IDS_SQL, (rs, rowNum) ->
+                new ReservedIds(rs.getLong("meal_id"), toLongArray(rs.getArray("item_ids"))), items.size());
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        Date mealDate = Date.valueOf(request.getMealDate());
+        
+        try {
+            jdbcTemplate.update(INSERT_MEAL_SQL, ids.mealId(), request.getUserId(), request.getMealType().name(),
+                    mealDate, timestamp, timestamp);
+            insertItems(ids.mealId(), mealDate, ids.itemIds(), items, timestamp);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Öğün kalemlerindeki yemeklerden biri bulunamadı");
+        }
+        nutritionService.applyMealDelta(ids.mealId(), 1);
+        recordChange(request.getUserId(), ids.mealId(), mealDate, false, timestamp);
+        
+        List<MealItemResponse> itemResponses = toItemResponses(ids.itemIds(), items);
+        afterCommit(() -> {
+            items.forEach(item -> foodSuggestIndex.recordUsage(item.getFoodId()));
+            userFoodService.recordUsage(request.getUserId(), items);
+        });
+        log.debug("Öğün kaydedildi. Öğün ID: {}, kalem sayısı: {}", ids.mealId(), items.size());
+        
+        return MealResponse.builder()
+                .id(ids.mealId())
+                .userId(request.getUserId())
+                .mealType(request.getMealType())
+                .mealDate(request.getMealDate())
+                .createdAt(now)
+                .updatedAt(now)
+                .mealItems(itemResponses)
+                .build();
+    }
+    
+    /**
+     * Var olan öğüne kalem ekler. Öğün satırı kilitlenir; öğünün özetteki eski katkısı çıkarılıp
+     * kalemler eklendikten sonra yenisi eklenir. Yalnızca eklenen kalemleri döner.
+     */
+    @Transactional
+    public List<MealItemResponse> addMealItems(Long mealId, List<MealItemRequest> items) {
+        return addMealItemsBatch(List.of(mealId), List.of(items)).get(0);
+    }
+    
+    /**
+     * Birden çok kalem ekleme isteğini tek transaction'da yazar (MealItemWriteBuffer'ın grup
+     * commit'i). mealIds.get(i) öğününe items.get(i) eklenir, sonuç da aynı sırayla döner. Aynı
+     * öğüne düşen istekler birleştirilip özete tek delta olarak işlenir; öğünler id sırasıyla
+     * kilitlendiği için eşzamanlı gruplar birbirini kilitlemez. Herhangi bir istek geçersizse
+     * grubun tamamı geri alınır.
+     */
+    @Transactional
+    public List<List<MealItemResponse>> addMealItemsBatch(List<Long> mealIds, List<List<MealItemRequest>> items) {
+        Map<Long, List<Integer>> requestsByMeal = new TreeMap<>();
+        int total = 0;
+        for (int i = 0; i < mealIds.size(); i++) {
+            requestsByMeal.computeIfAbsent(mealIds.get(i), id -> new ArrayList<>()).add(i);
+            total += items.get(i).size();
+        }
+        long[] itemIds = jdbcTemplate.queryForObject(RESERVE_ITEM_IDS_SQL, (rs, rowNum) -> toLongArray(rs.getArray("item_ids")), total);
+        Timestamp timestamp = Timestamp.valueOf(LocalDateTime.now());
+        
+        List<List<MealItemResponse>> responses = new ArrayList<>(Collections.nCopies(mealIds.size(), null));
+        List<MealItemRequest> written = new ArrayList<>(total);
+        for (Map.Entry<Long, List<Integer>> entry : requestsByMeal.entrySet()) {
+            long mealId = entry.getKey();
+            MealKey meal = lockMeal(null, mealId);
+            int from = written.size();
+            for (int index : entry.getValue()) {
+                List<MealItemRequest> requested = items.get(index);
+                responses.set(index, toItemResponses(Arrays.copyOfRange(itemIds, written.size(), written.size() + requested.size()), requested));
+                written.addAll(requested);
+            }
+            
+            nutritionService.applyMealDelta(mealId, -1);
+            try {
+                insertItems(mealId, meal.mealDate(), Arrays.copyOfRange(itemIds, from, written.size()),
+                        written.subList(from, written.size()), timestamp);
+            } catch (DataIntegrityViolationException e) {
+                throw new IllegalArgumentException("Öğün kalemlerindeki yemeklerden biri bulunamadı");
+            }
+            jdbcTemplate.update("UPDATE meals SET updated_at = ? WHERE id = ? AND meal_date = ?", timestamp, mealId, meal.mealDate());
+            nutritionService.applyMealDelta(mealId, 1);
+            recordChange(meal.userId(), mealId, meal.mealDate(), false, timestamp);
+            List<MealItemRequest> mealItems = List.copyOf(written.subList(from, written.size()));
+            afterCommit(() -> userFoodService.recordUsage(meal.userId(), mealItems));
+        }
+        
+        afterCommit(() -> written.forEach(item -> foodSuggestIndex.recordUsage(item.getFoodId())));
+        log.debug("Öğünlere kalem eklendi. Öğün sayısı: {}, kalem sayısı: {}", requestsByMeal.size(), total);
+        return responses;
+    }
+    
+    /**
+     * Öğünün sahibini döner; öğün yoksa bulunamadı hatası fırlatır
+     */
+    @Transactional(readOnly = true)
+    public long getMealOwner(Long mealId) {
+        List<Long> owners = jdbcTemplate.queryForList("SELECT user_id FROM meals WHERE id = ?", Long.class, mealId);
+        if (owners.isEmpty()) {
+            throw new EntityNotFoundException("Öğün bulunamadı");
+        }
+        return owners.get(0);
+    }
+    
+    @Transactional(readOnly = true)
+    public MealResponse getMealById(Long id) {
+        Meal meal = mealRepository.findWithItemsById(id)
+                .orElseThrow(() -> new RuntimeException("Öğün bulunamadı"));
+        return mapToResponse(meal);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<MealResponse> getMealsByUserAndDate(Long userId, LocalDate mealDate) {
+        return mealRepository.findByUserIdAndMealDate(userId, mealDate).stream()
+                .map(MealService::mapToResponse)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * before gününden (hariç) geriye doğru öğün kaydı olan en fazla days günün öğünlerini döner.
+     * Önce sayfadaki günler indeks üzerinden belirlenir, ardından bu günlerin öğünleri tek bir
+     * fetch join sorgusuyla yüklenir; sayfa ne kadar büyük olursa olsun iki sorgu çalışır.
+     */
+    @Transactional(readOnly = true)
+    public MealHistoryPage getMealHistory(Long userId, LocalDate before, int days) {
+        int pageDays = Math.max(1, Math.min(days, MAX_HISTORY_DAYS));
+        LocalDate cursor = before != null ? before : LocalDate.now().plusDays(1);
+        
+        // Bir fazla gün çekerek sonraki sayfanın varlığını COUNT sorgusu olmadan anlıyoruz
+        List<LocalDate> dates = mealRepository.findMealDatesBefore(userId, cursor, PageRequest.of(0, pageDays + 1));
+        boolean hasMore = dates.size() > pageDays;
+        if (dates.isEmpty()) {
+            return MealHistoryPage.builder()
+                    .meals(List.of())
+                    .hasMore(false)
+                    .build();
+        }
+        LocalDate newest = dates.get(0);
+        LocalDate oldest = dates.get(Math.min(dates.size(), pageDays) - 1);
+        
+        List<MealResponse> meals = mealRepository.findWithItemsByUserIdAndDateRange(userId, oldest, newest).stream()
+                .map(MealService::mapToResponse)
+                .collect(Collectors.toList());
+        return MealHistoryPage.builder()
+                .meals(meals)
+                .nextCursor(hasMore ? oldest : null)
+                .hasMore(hasMore)
+                .build();
+    }
+    
+    @Transactional
+    public void deleteMeal(Long id) {
+        delete(null, id);
+    }
+    
+    /**
+     * Öğünü yalnızca verilen kullanıcıya aitse siler
+     */
+    @Transactional
+    public void deleteMeal(Long userId, Long id) {
+        delete(userId, id);
+    }
+    
+    private void delete(Long userId, Long id) {
+        MealKey meal = lockMeal(userId, id);
+        nutritionService.applyMealDelta(id, -1);
+        // meal_date ile silmek yalnızca öğünün bölümüne dokunur
+        jdbcTemplate.update("DELETE FROM meal_items WHERE meal_id = ? AND meal_date = ?", id, meal.mealDate());
+        jdbcTemplate.update("DELETE FROM meals WHERE id = ? AND meal_date = ?", id, meal.mealDate());
+        recordChange(meal.userId(), id, meal.mealDate(), true, Timestamp.valueOf(LocalDateTime.now()));
+    }
+    
+    /**
+     * Öğün satırını kilitler; eşzamanlı iki yazmanın özete aynı deltayı iki kez işlemesini engeller.
+     * userId verilirse öğün o kullanıcıya ait değilse bulunamadı sayılır.
+     */
+    private MealKey lockMeal(Long userId, Long id) {
+        List<MealKey> meals = jdbcTemplate.query("SELECT user_id, meal_date FROM meals WHERE id = ? FOR UPDATE",
+                (rs, rowNum) -> new MealKey(rs.getLong("user_id"), rs.getDate("meal_date")), id);
+        if (meals.isEmpty() || (userId != null && meals.get(0).userId() != userId)) {
+            throw new EntityNotFoundException("Öğün bulunamadı");
+        }
+        return meals.get(0);
+    }
+    
+    private void insertItems(long mealId, Date mealDate, long[] itemIds, List<MealItemRequest> items, Timestamp timestamp) {
+        if (items.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                MealItemRequest item = items.get(i);
+                ps.setLong(1, itemIds[i]);
+                ps.setLong(2, mealId);
+                ps.setDate(3, mealDate);
+                ps.setLong(4, item.getFoodId());
+                ps.setDouble(5, item.getQuantity());
+                ps.setString(6, item.getServingUnit().name());
+                ps.setTimestamp(7, timestamp);
+            }
+            
+            @Override
+            public int getBatchSize() {
+                return items.size();
+            }
+        });
+    }
+    
+    private static List<MealItemResponse> toItemResponses(long[] itemIds, List<MealItemRequest> items) {
+        List<MealItemResponse> responses = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            MealItemRequest item = items.get(i);
+            responses.add(MealItemResponse.builder()
+                    .id(itemIds[i])
+                    .foodId(item.getFoodId())
+                    .quantity(item.getQuantity())
+                    .servingUnit(item.getServingUnit())
+                    .build());
+        }
+        return responses;
+    }
+    
+    private void recordChange(Long userId, long mealId, Date mealDate, boolean deleted, Timestamp changedAt) {
+        jdbcTemplate.update(RECORD_CHANGE_SQL, userId, userId, mealId, mealId, mealDate, deleted, changedAt);
+    }
+    
+    static MealResponse mapToResponse(Meal meal) {
+        List<MealItem> items = meal.getMealItems() != null ? meal.getMealItems() : List.of();
+        return MealResponse.builder()
+                .id(meal.getId())
+                .userId(meal.getUserId())
+                .mealType(meal.getMealType())
+                .mealDate(meal.getMealDate())
+                .createdAt(meal.getCreatedAt())
+                .updatedAt(meal.getUpdatedAt())
+                .mealItems(items.stream()
+                        .map(item -> MealItemResponse.builder()
+                                .id(item.getId())
+                                .foodId(item.getFood().getId())
+                                .quantity(item.getQuantity())
+                                .servingUnit(item.getServingUnit())
+                                .food(FoodService.mapToResponse(item.getFood()))
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+    
+    private static long[] toLongArray(Array array) throws SQLException {
+        Object[] values = (Object[]) array.getArray();
+        long[] result = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = ((Number) values[i]).longValue();
+        }
+        return result;
+    }
+    
+    private record ReservedIds(long mealId, long[] itemIds) {
+    }
+    
+    private record MealKey(long userId, Date mealDate) {
+    }
+}
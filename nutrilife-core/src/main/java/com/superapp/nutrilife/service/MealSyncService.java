@@ -0,0 +1,172 @@
+package com.superapp.nutrilife.service;
+
+import com.superapp.nutrilife.dto.MealRequest;
+import com.superapp.nutrilife.dto.MealResponse;
+import com.superapp.nutrilife.dto.MealSyncPage;
+import com.superapp.nutrilife.dto.MealSyncResult;
+import com.superapp.nutrilife.dto.MealSyncUpload;
+import com.superapp.nutrilife.dto.MealTombstone;
+import com.superapp.nutrilife.repository.MealRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Çevrimdışı çalışan mobil istemciler için öğün delta senkronizasyonu. İstemci son aldığı
+ * imleci (seq) gönderir ve yalnızca o imleçten sonra değişen öğünleri ve silinen öğünlerin
+ * mezar taşlarını alır. meal_changes her öğün için yalnızca son değişikliği tuttuğu için since=0
+ * ile yapılan ilk senkronizasyon da tüm canlı öğünleri tekrarsız getirir.
+ * <p>
+ * Mezar taşları tombstone-retention-days sonra silinir. İmleci silinen en yeni mezar taşından
+ * eski olan istemci bir silmeyi kaçırmış olabileceği için baştan senkronizasyona yönlendirilir.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MealSyncService {
+    
+    private static final int MAX_SYNC_LIMIT = 1000;
+    
+    private static final String SELECT_CHANGES_SQL =
+            "SELECT seq, meal_id, meal_date, deleted, changed_at FROM meal_changes " +
+            "WHERE user_id = ? AND seq > ? ORDER BY seq LIMIT ?";
+    
+    private static final String PURGE_TOMBSTONES_SQL =
+            "WITH purged AS (DELETE FROM meal_changes WHERE deleted AND changed_at < ? RETURNING user_id, seq) " +
+            "UPDATE meal_sync_state s SET purged_seq = GREATEST(s.purged_seq, p.max_seq) " +
+            "FROM (SELECT user_id, max(seq) AS max_seq FROM purged GROUP BY user_id) p WHERE s.user_id = p.user_id";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final MealRepository mealRepository;
+    private final MealService mealService;
+    private final IdempotencyService idempotencyService;
+    
+    @Value("${nutrilife.meal-sync.tombstone-retention-days:90}")
+    private int tombstoneRetentionDays;
+    
+    @Transactional(readOnly = true)
+    public MealSyncPage getChanges(Long userId, long since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_SYNC_LIMIT));
+        if (since > 0) {
+            List<Long> purged = jdbcTemplate.queryForList(
+                    "SELECT purged_seq FROM meal_sync_state WHERE user_id = ?", Long.class, userId);
+            if (!purged.isEmpty() && since < purged.get(0)) {
+                return MealSyncPage.builder()
+                        .meals(List.of())
+                        .deleted(List.of())
+                        .nextCursor(0)
+                        .resetRequired(true)
+                        .build();
+            }
+        }
+        
+        // Bir fazla satır çekerek sonraki sayfanın varlığını COUNT sorgusu olmadan anlıyoruz
+        List<Change> changes = jdbcTemplate.query(SELECT_CHANGES_SQL, (rs, rowNum) -> new Change(
+                rs.getLong("seq"),
+                rs.getLong("meal_id"),
+                rs.getBoolean("deleted"),
+                rs.getDate("meal_date").toLocalDate(),
+                rs.getTimestamp("changed_at").toLocalDateTime()), userId, since, pageSize + 1);
+        boolean hasMore = changes.size() > pageSize;
+        if (hasMore) {
+            changes = changes.subList(0, pageSize);
+        }
+        
+        List<Long> upsertedIds = new ArrayList<>();
+        List<MealTombstone> tombstones = new ArrayList<>();
+        for (Change change : changes) {
+            if (change.deleted()) {
+                tombstones.add(MealTombstone.builder()
+                        .mealId(change.mealId())
+                        .mealDate(change.mealDate())
+                        .deletedAt(change.changedAt())
+                        .build());
+            } else {
+                upsertedIds.add(change.mealId());
+            }
+        }
+        Map<Long, MealResponse> meals = upsertedIds.isEmpty() ? Map.of() : mealRepository.findWithItemsByIdIn(upsertedIds).stream()
+                .map(MealService::mapToResponse)
+                .collect(Collectors.toMap(MealResponse::getId, Function.identity()));
+        
+        return MealSyncPage.builder()
+                // Değişiklik sırasını koru; arşive taşınmış öğünler artık bulunamaz ve atlanır
+                .meals(upsertedIds.stream()
+                        .map(meals::get)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()))
+                .deleted(tombstones)
+                .nextCursor(changes.isEmpty() ? since : changes.get(changes.size() - 1).seq())
+                .hasMore(hasMore)
+                .build();
+    }
+    
+    /**
+     * Çevrimdışı kuyruğu işler. Her öğün ve silme kendi transaction'ında yürür; geçersiz bir kayıt
+     * kuyruğun geri kalanını bloklamaz. idempotencyKey taşıyan öğünler yeniden yüklendiğinde ilk
+     * kaydın sonucu döner; silmeler zaten tekrar edilebilirdir.
+     */
+    public MealSyncResult upload(Long userId, MealSyncUpload upload) {
+        List<MealRequest> requests = upload.getMeals() != null ? upload.getMeals() : List.of();
+        List<Long> deletions = upload.getDeletedMealIds() != null ? upload.getDeletedMealIds() : List.of();
+        List<MealResponse> created = new ArrayList<>(requests.size());
+        List<MealSyncResult.Rejection> rejected = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            MealRequest request = requests.get(i);
+            if (!userId.equals(request.getUserId())) {
+                rejected.add(new MealSyncResult.Rejection(i, "Öğün başka bir kullanıcıya ait"));
+                continue;
+            }
+            try {
+                created.add(idempotencyService.execute("meals:" + userId, request.getIdempotencyKey(), request,
+                        () -> mealService.logMeal(request)).value());
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                rejected.add(new MealSyncResult.Rejection(i, e.getMessage()));
+            }
+        }
+        
+        List<Long> deleted = new ArrayList<>();
+        List<Long> notFound = new ArrayList<>();
+        for (Long mealId : deletions) {
+            try {
+                mealService.deleteMeal(userId, mealId);
+                deleted.add(mealId);
+            } catch (EntityNotFoundException e) {
+                // Zaten silinmiş öğün tekrar gönderilebilir; istemci için sonuç aynıdır. Diğer hatalar
+                // silinmiş gibi raporlanmaz, istemci kaydı kuyrukta tutup yeniden denesin diye yukarı iletilir
+                notFound.add(mealId);
+            }
+        }
+        return MealSyncResult.builder()
+                .created(created)
+                .deleted(deleted)
+                .notFound(notFound)
+                .rejected(rejected)
+                .build();
+    }
+    
+    @Scheduled(cron = "${nutrilife.meal-sync.purge-cron:0 15 3 * * *}")
+    public void purgeTombstones() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+        int users = jdbcTemplate.update(PURGE_TOMBSTONES_SQL, cutoff);
+        log.info("{} günden eski mezar taşları {} kullanıcı için silindi", tombstoneRetentionDays, users);
+    }
+    
+    private record Change(long seq, long mealId, boolean deleted, LocalDate mealDate, LocalDateTime changedAt) {
+    }
+}
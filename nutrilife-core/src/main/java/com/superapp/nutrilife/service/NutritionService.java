@@ -0,0 +1,415 @@
+package com.superapp.nutrilife.service;
+
+import com.superapp.nutrilife.dto.DailyNutritionTotals;
+import com.superapp.nutrilife.dto.NutritionRangeTotals;
+import com.superapp.nutrilife.model.Food;
+import com.superapp.nutrilife.model.FoodServingConversion;
+import com.superapp.nutrilife.model.UserProfile;
+import com.superapp.nutrilife.model.enums.RollupPeriod;
+import com.superapp.nutrilife.model.enums.ServingUnit;
+import com.superapp.nutrilife.repository.FoodRepository;
+import com.superapp.nutrilife.repository.FoodServingConversionRepository;
+import com.superapp.nutrilife.repository.UserProfileRepository;
+import com.superapp.nutrilife.util.DateBuckets;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Kullanıcının günlük besin toplamları. Yemek değerleri 100 g başınadır; her kalemin miktarı
+ * önce yemeğe özel dönüşüm tablosundan, yoksa birimin varsayılanından grama çevrilir.
+ * <p>
+ * Toplamlar okuma anında meal_items üzerinden hesaplanmaz; daily_nutrition_summary tablosunda
+ * (user_id, summary_date) anahtarıyla, haftalık ve aylık kovalar nutrition_rollups tablosunda
+ * tutulur. Öğün yazan her işlem aynı transaction içinde applyMealDelta ile öğünün katkısını
+ * üç seviyeye birden ekler ya da çıkarır; gün okuması bir anahtar aralığı taramasına, uzun
+ * aralıklar birkaç kovanın toplamına iner. Delta her zaman yemeğin ve dönüşümün güncel değeriyle
+ * hesaplanır; bu yüzden bir yemeğin besin değeri ya da dönüşümü değiştiğinde o yemeği içeren gün
+ * ve kovalar aynı transaction içinde rebuildFoodSummaries ile yeniden hesaplanır, sonraki −1
+ * deltalar eklenen değerle aynı değeri çıkarır. Kalan sapmalar gece çalışan rebuild ile giderilir.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NutritionService {
+    
+    /**
+     * mi.serving_unit için varsayılan gram karşılığı; ServingUnit'ten üretilir
+     */
+    static final String DEFAULT_GRAMS_SQL = Arrays.stream(ServingUnit.values())
+            .map(unit -> "WHEN '" + unit.name() + "' THEN " + unit.getDefaultGrams())
+            .collect(Collectors.joining(" ", "CASE mi.serving_unit ", " END"));
+    
+    /**
+     * Kalemin gram cinsinden miktarı; meal_items mi ve food_serving_conversions c takma adlarını bekler
+     */
+    static final String ITEM_GRAMS_SQL = "mi.quantity * COALESCE(c.grams, " + DEFAULT_GRAMS_SQL + ")";
+    
+    /**
+     * Öğünlerin (user_id, meal_date) bazında toplamları; sonuna WHERE ve GROUP BY eklenir
+     */
+    private static final String MEAL_TOTALS_SQL =
+            "SELECT m.user_id, m.meal_date, COUNT(DISTINCT m.id) AS meal_count, COUNT(mi.id) AS item_count, " +
+            "COALESCE(SUM(f.calories * g.grams), 0) / 100 AS calories, " +
+            "COALESCE(SUM(f.protein * g.grams), 0) / 100 AS protein, " +
+            "COALESCE(SUM(f.carbohydrates * g.grams), 0) / 100 AS carbohydrates, " +
+            "COALESCE(SUM(f.fat * g.grams), 0) / 100 AS fat, " +
+            "COALESCE(SUM(f.fiber * g.grams), 0) / 100 AS fiber " +
+            "FROM meals m " +
+            "LEFT JOIN meal_items mi ON mi.meal_id = m.id AND mi.meal_date = m.meal_date " +
+            "LEFT JOIN foods f ON f.id = mi.food_id " +
+            "LEFT JOIN food_serving_conversions c ON c.food_id = mi.food_id AND c.serving_unit = mi.serving_unit " +
+            "CROSS JOIN LATERAL (SELECT " + ITEM_GRAMS_SQL + " AS grams) g ";
+    
+    private static final String[] TOTAL_COLUMNS =
+            {"meal_count", "item_count", "calories", "protein", "carbohydrates", "fat", "fiber"};
+    
+    /**
+     * Öğünün katkısını tek ifadede günlük özete, haftalık ve aylık kovalara işler. Gün satırının
+     * yeni meal_count değeri, günün kayıtlı gün sayısına girip çıktığını kovalara bildirir.
+     */
+    private static final String APPLY_DELTA_SQL =
+            "WITH t AS (SELECT t0.user_id, t0.meal_date, t0.meal_count * s.sign AS meal_count, " +
+            "t0.item_count * s.sign AS item_count, t0.calories * s.sign AS calories, t0.protein * s.sign AS protein, " +
+            "t0.carbohydrates * s.sign AS carbohydrates, t0.fat * s.sign AS fat, t0.fiber * s.sign AS fiber " +
+            "FROM (" + MEAL_TOTALS_SQL + "WHERE m.id = ? GROUP BY m.user_id, m.meal_date) t0, (SELECT CAST(? AS INTEGER) AS sign) s), " +
+            "d AS (INSERT INTO daily_nutrition_summary " +
+            "(user_id, summary_date, meal_count, item_count, calories, protein, carbohydrates, fat, fiber, updated_at) " +
+            "SELECT user_id, meal_date, meal_count, item_count, calories, protein, carbohydrates, fat, fiber, now() FROM t " +
+            "ON CONFLICT (user_id, summary_date) DO UPDATE SET " + accumulateSql("daily_nutrition_summary") + ", " +
+            "updated_at = EXCLUDED.updated_at RETURNING meal_count) " +
+            "INSERT INTO nutrition_rollups " +
+            "(user_id, period, bucket_start, logged_days, meal_count, item_count, calories, protein, carbohydrates, fat, fiber, updated_at) " +
+            "SELECT t.user_id, b.period, b.bucket_start, " +
+            "CASE WHEN t.meal_count > 0 AND d.meal_count = t.meal_count THEN 1 " +
+            "WHEN t.meal_count < 0 AND d.meal_count <= 0 THEN -1 ELSE 0 END, " +
+            "t.meal_count, t.item_count, t.calories, t.protein, t.carbohydrates, t.fat, t.fiber, now() " +
+            "FROM t CROSS JOIN d CROSS JOIN LATERAL (VALUES " +
+            "('WEEK', CAST(date_trunc('week', t.meal_date) AS DATE)), " +
+            "('MONTH', CAST(date_trunc('month', t.meal_date) AS DATE))) b(period, bucket_start) " +
+            "ON CONFLICT (user_id, period, bucket_start) DO UPDATE SET " + accumulateSql("nutrition_rollups") + ", " +
+            "logged_days = nutrition_rollups.logged_days + EXCLUDED.logged_days, updated_at = EXCLUDED.updated_at";
+    
+    // Son öğünü silinen gün ve kovaların satırı kalmaz; aksi halde kayan nokta artıkları sıfır yerine görünür
+    private static final String DELETE_EMPTY_DAY_SQL =
+            "DELETE FROM daily_nutrition_summary d USING meals m " +
+            "WHERE m.id = ? AND d.user_id = m.user_id AND d.summary_date = m.meal_date AND d.meal_count <= 0";
+    
+    private static final String DELETE_EMPTY_ROLLUPS_SQL =
+            "DELETE FROM nutrition_rollups r USING meals m " +
+            "WHERE m.id = ? AND r.user_id = m.user_id AND r.meal_count <= 0 AND (" +
+            "(r.period = 'WEEK' AND r.bucket_start = CAST(date_trunc('week', m.meal_date) AS DATE)) OR " +
+            "(r.period = 'MONTH' AND r.bucket_start = CAST(date_trunc('month', m.meal_date) AS DATE)))";
+    
+    private static final String REBUILD_DELETE_SQL =
+            "DELETE FROM daily_nutrition_summary WHERE summary_date BETWEEN ? AND ?";
+    
+    private static final String REBUILD_INSERT_SQL =
+            "INSERT INTO daily_nutrition_summary " +
+            "(user_id, summary_date, meal_count, item_count, calories, protein, carbohydrates, fat, fiber, updated_at) " +
+            "SELECT t.user_id, t.meal_date, t.meal_count, t.item_count, t.calories, t.protein, t.carbohydrates, t.fat, t.fiber, now() " +
+            "FROM (" + MEAL_TOTALS_SQL + "WHERE m.meal_date BETWEEN ? AND ? GROUP BY m.user_id, m.meal_date) t " +
+            "ON CONFLICT (user_id, summary_date) DO UPDATE SET " + overwriteSql() + ", updated_at = EXCLUDED.updated_at";
+    
+    /**
+     * Verilen yemeği içeren (user_id, meal_date) anahtarları; bir ? parametresi bekler
+     */
+    private static final String FOOD_DAYS_SQL =
+            "SELECT DISTINCT fm.user_id, fm.meal_date FROM meal_items fi " +
+            "JOIN meals fm ON fm.id = fi.meal_id AND fm.meal_date = fi.meal_date WHERE fi.food_id = ?";
+    
+    private static final String REBUILD_FOOD_DAYS_SQL =
+            "INSERT INTO daily_nutrition_summary " +
+            "(user_id, summary_date, meal_count, item_count, calories, protein, carbohydrates, fat, fiber, updated_at) " +
+            "SELECT t.user_id, t.meal_date, t.meal_count, t.item_count, t.calories, t.protein, t.carbohydrates, t.fat, t.fiber, now() " +
+            "FROM (" + MEAL_TOTALS_SQL + "WHERE (m.user_id, m.meal_date) IN (" + FOOD_DAYS_SQL + ") " +
+            "GROUP BY m.user_id, m.meal_date) t " +
+            "ON CONFLICT (user_id, summary_date) DO UPDATE SET " + overwriteSql() + ", updated_at = EXCLUDED.updated_at";
+    
+    /**
+     * Yemeği içeren günlerin kovalarını gün satırlarından yeniden toplar; periyot adı date_trunc alanı olarak kullanılır
+     */
+    private static final String REBUILD_FOOD_ROLLUPS_SQL =
+            "INSERT INTO nutrition_rollups " +
+            "(user_id, period, bucket_start, logged_days, meal_count, item_count, calories, protein, carbohydrates, fat, fiber, updated_at) " +
+            "SELECT s.user_id, '%1$s', CAST(date_trunc('%1$s', s.summary_date) AS DATE), COUNT(*), SUM(s.meal_count), " +
+            "SUM(s.item_count), SUM(s.calories), SUM(s.protein), SUM(s.carbohydrates), SUM(s.fat), SUM(s.fiber), now() " +
+            "FROM daily_nutrition_summary s WHERE (s.user_id, CAST(date_trunc('%1$s', s.summary_date) AS DATE)) IN (" +
+            "SELECT k.user_id, CAST(date_trunc('%1$s', k.meal_date) AS DATE) FROM (" + FOOD_DAYS_SQL + ") k) GROUP BY 1, 3 " +
+            "ON CONFLICT (user_id, period, bucket_start) DO UPDATE SET " + overwriteSql() + ", " +
+            "logged_days = EXCLUDED.logged_days, updated_at = EXCLUDED.updated_at";
+    
+    private static final String REBUILD_ROLLUPS_DELETE_SQL =
+            "DELETE FROM nutrition_rollups WHERE period = ? AND bucket_start BETWEEN ? AND ?";
+    
+    /**
+     * Kovalar gün satırlarından yeniden toplanır; periyot adı date_trunc alanı olarak kullanılır
+     */
+    private static final String REBUILD_ROLLUPS_INSERT_SQL =
+            "INSERT INTO nutrition_rollups " +
+            "(user_id, period, bucket_start, logged_days, meal_count, item_count, calories, protein, carbohydrates, fat, fiber, updated_at) " +
+            "SELECT user_id, '%1$s', CAST(date_trunc('%1$s', summary_date) AS DATE), COUNT(*), SUM(meal_count), SUM(item_count), " +
+            "SUM(calories), SUM(protein), SUM(carbohydrates), SUM(fat), SUM(fiber), now() " +
+            "FROM daily_nutrition_summary WHERE summary_date BETWEEN ? AND ? GROUP BY 1, 3 " +
+            "ON CONFLICT (user_id, period, bucket_start) DO UPDATE SET " + overwriteSql() + ", " +
+            "logged_days = EXCLUDED.logged_days, updated_at = EXCLUDED.updated_at";
+    
+    /**
+     * Aralığı oluşturan gün, hafta ve ay kovalarını tek sorguda toplar
+     */
+    private static final String RANGE_TOTALS_SQL =
+            "SELECT COALESCE(SUM(logged_days), 0) AS logged_days, COALESCE(SUM(meal_count), 0) AS meal_count, " +
+            "COALESCE(SUM(item_count), 0) AS item_count, COALESCE(SUM(calories), 0) AS calories, " +
+            "COALESCE(SUM(protein), 0) AS protein, COALESCE(SUM(carbohydrates), 0) AS carbohydrates, " +
+            "COALESCE(SUM(fat), 0) AS fat, COALESCE(SUM(fiber), 0) AS fiber FROM (" +
+            "SELECT 1 AS logged_days, meal_count, item_count, calories, protein, carbohydrates, fat, fiber " +
+            "FROM daily_nutrition_summary WHERE user_id = ? AND summary_date = ANY(?) " +
+            "UNION ALL SELECT logged_days, meal_count, item_count, calories, protein, carbohydrates, fat, fiber " +
+            "FROM nutrition_rollups WHERE user_id = ? AND period = 'WEEK' AND bucket_start = ANY(?) " +
+            "UNION ALL SELECT logged_days, meal_count, item_count, calories, protein, carbohydrates, fat, fiber " +
+            "FROM nutrition_rollups WHERE user_id = ? AND period = 'MONTH' AND bucket_start = ANY(?)) b";
+    
+    private static final String SELECT_SUMMARIES_SQL =
+            "SELECT user_id, summary_date, calories, protein, carbohydrates, fat, fiber, meal_count, item_count " +
+            "FROM daily_nutrition_summary WHERE user_id = ? AND summary_date BETWEEN ? AND ? ORDER BY summary_date";
+    
+    private static final RowMapper<DailyNutritionTotals> TOTALS_MAPPER = (rs, rowNum) -> DailyNutritionTotals.builder()
+            .userId(rs.getLong("user_id"))
+            .date(rs.getDate("summary_date").toLocalDate())
+            .calories(rs.getDouble("calories"))
+            .protein(rs.getDouble("protein"))
+            .carbohydrates(rs.getDouble("carbohydrates"))
+            .fat(rs.getDouble("fat"))
+            .fiber(rs.getDouble("fiber"))
+            .mealCount(rs.getInt("meal_count"))
+            .itemCount(rs.getInt("item_count"))
+            .build();
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final FoodRepository foodRepository;
+    private final FoodServingConversionRepository servingConversionRepository;
+    private final UserProfileRepository userProfileRepository;
+    private final MealPartitionService mealPartitionService;
+    
+    @Value("${nutrilife.daily-summary.rebuild-lookback-days:35}")
+    private int rebuildLookbackDays;
+    
+    @Transactional(readOnly = true)
+    public DailyNutritionTotals getDailyTotals(Long userId, LocalDate date) {
+        List<DailyNutritionTotals> days = getDailyTotals(userId, date, date);
+        return days.isEmpty() ? emptyDay(userId, date) : days.get(0);
+    }
+    
+    /**
+     * [from, to] aralığında öğün kaydı olan günlerin toplamlarını tarihe göre artan sırada döner.
+     * Kaydı olmayan günler listede yer almaz.
+     */
+    @Transactional(readOnly = true)
+    public List<DailyNutritionTotals> getDailyTotals(Long userId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Başlangıç tarihi bitiş tarihinden sonra olamaz");
+        }
+        return jdbcTemplate.query(SELECT_SUMMARIES_SQL, TOTALS_MAPPER, userId, Date.valueOf(from), Date.valueOf(to));
+    }
+    
+    /**
+     * Öğünün katkısını günlük özete ekler (sign = 1) ya da çıkarır (sign = -1). Öğünü yazan
+     * transaction içinde çağrılmalıdır: eklemede kalemler yazıldıktan sonra, silmede öğün
+     * silinmeden önce.
+     */
+    @Transactional
+    public void applyMealDelta(Long mealId, int sign) {
+        jdbcTemplate.update(APPLY_DELTA_SQL, mealId, sign);
+        if (sign < 0) {
+            jdbcTemplate.update(DELETE_EMPTY_DAY_SQL, mealId);
+            jdbcTemplate.update(DELETE_EMPTY_ROLLUPS_SQL, mealId);
+        }
+    }
+    
+    /**
+     * [from, to] aralığına dokunan gün, hafta ve ay satırlarını meal_items'tan yeniden hesaplar.
+     * Gün satırları, aralığa dokunan kovaları tamamen kapsayacak şekilde genişletilmiş aralıkta
+     * yeniden yazılır, kovalar da bu gün satırlarından toplanır. Her şey tek transaction içinde
+     * yapıldığı için okuyucular ara durumu görmez. Aralık silindikten sonra eşzamanlı bir
+     * applyMealDelta aynı anahtara satır ekleyebildiği için yeniden yazma upsert ile yapılır; o
+     * satır meal_items'tan hesaplanan değerle ezilir. Öğünleri arşivlenmiş günlere dokunulmaz.
+     * Yeniden yazılan gün satırı sayısını döner.
+     */
+    @Transactional
+    public int rebuildSummaries(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Başlangıç tarihi bitiş tarihinden sonra olamaz");
+        }
+        long start = System.currentTimeMillis();
+        LocalDate archivedBefore = mealPartitionService.getArchivedBefore();
+        if (archivedBefore != null && to.isBefore(archivedBefore)) {
+            throw new IllegalArgumentException(archivedBefore + " öncesindeki öğünler arşivlendiği için yeniden hesaplanamaz");
+        }
+        LocalDate dayFrom = min(DateBuckets.weekStart(from), DateBuckets.monthStart(from));
+        if (archivedBefore != null) {
+            dayFrom = max(dayFrom, archivedBefore);
+        }
+        LocalDate dayTo = max(DateBuckets.weekEnd(to), DateBuckets.monthEnd(to));
+        jdbcTemplate.update(REBUILD_DELETE_SQL, Date.valueOf(dayFrom), Date.valueOf(dayTo));
+        int rows = jdbcTemplate.update(REBUILD_INSERT_SQL, Date.valueOf(dayFrom), Date.valueOf(dayTo));
+        
+        rebuildRollups(RollupPeriod.WEEK, DateBuckets.weekStart(from), DateBuckets.weekStart(to), DateBuckets.weekEnd(to));
+        rebuildRollups(RollupPeriod.MONTH, DateBuckets.monthStart(from), DateBuckets.monthStart(to), DateBuckets.monthEnd(to));
+        log.info("Günlük özet ve kovalar {} - {} aralığında {} gün satırıyla {} ms içinde yeniden oluşturuldu",
+                dayFrom, dayTo, rows, System.currentTimeMillis() - start);
+        return rows;
+    }
+    
+    @Scheduled(cron = "${nutrilife.daily-summary.rebuild-cron:0 30 3 * * *}")
+    @Transactional
+    public void rebuildRecentSummaries() {
+        LocalDate today = LocalDate.now();
+        rebuildSummaries(today.minusDays(rebuildLookbackDays), today);
+    }
+    
+    /**
+     * [from, to] aralığının toplamlarını döner. Aralık DateBuckets ile gün, hafta ve ay kovalarına
+     * bölünür ve kovalar tek sorguda birleştirilir; bir yıllık aralık birkaç düzine satır okur.
+     */
+    @Transactional(readOnly = true)
+    public NutritionRangeTotals getRangeTotals(Long userId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Başlangıç tarihi bitiş tarihinden sonra olamaz");
+        }
+        DateBuckets buckets = DateBuckets.plan(from, to);
+        NutritionRangeTotals totals = jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(RANGE_TOTALS_SQL);
+            ps.setLong(1, userId);
+            ps.setArray(2, toDateArray(connection, buckets.getDays()));
+            ps.setLong(3, userId);
+            ps.setArray(4, toDateArray(connection, buckets.getWeeks()));
+            ps.setLong(5, userId);
+            ps.setArray(6, toDateArray(connection, buckets.getMonths()));
+            return ps;
+        }, rs -> {
+            rs.next();
+            return NutritionRangeTotals.builder()
+                    .loggedDays(rs.getInt("logged_days"))
+                    .mealCount(rs.getInt("meal_count"))
+                    .itemCount(rs.getInt("item_count"))
+                    .calories(rs.getDouble("calories"))
+                    .protein(rs.getDouble("protein"))
+                    .carbohydrates(rs.getDouble("carbohydrates"))
+                    .fat(rs.getDouble("fat"))
+                    .fiber(rs.getDouble("fiber"))
+                    .build();
+        });
+        
+        totals.setUserId(userId);
+        totals.setFrom(from);
+        totals.setTo(to);
+        totals.setDays((int) ChronoUnit.DAYS.between(from, to) + 1);
+        if (totals.getLoggedDays() > 0) {
+            totals.setAverageDailyCalories(totals.getCalories() / totals.getLoggedDays());
+        }
+        Integer goal = userProfileRepository.findByUserId(userId)
+                .map(UserProfile::getDailyCalorieGoal)
+                .orElse(null);
+        totals.setDailyCalorieGoal(goal);
+        if (goal != null && goal > 0 && totals.getLoggedDays() > 0) {
+            totals.setGoalAdherence(totals.getAverageDailyCalories() / goal);
+        }
+        return totals;
+    }
+    
+    /**
+     * Yemeği içeren gün satırlarını ve bu günlerin hafta/ay kovalarını güncel yemek ve dönüşüm
+     * değerleriyle meal_items'tan yeniden hesaplar. Yemeğin besin değerlerini ya da dönüşümlerini
+     * değiştiren transaction içinde, değişiklik veritabanına yazıldıktan sonra çağrılmalıdır.
+     * Öğünleri arşivlenmiş günler meal_items'ta olmadığı için seçilmez. Yeniden yazılan gün satırı
+     * sayısını döner.
+     */
+    @Transactional
+    public int rebuildFoodSummaries(Long foodId) {
+        long start = System.currentTimeMillis();
+        int rows = jdbcTemplate.update(REBUILD_FOOD_DAYS_SQL, foodId);
+        if (rows > 0) {
+            for (RollupPeriod period : RollupPeriod.values()) {
+                jdbcTemplate.update(String.format(REBUILD_FOOD_ROLLUPS_SQL, period.name().toLowerCase()), foodId);
+            }
+        }
+        log.debug("Yemek {} için {} gün satırı {} ms içinde yeniden hesaplandı", foodId, rows, System.currentTimeMillis() - start);
+        return rows;
+    }
+    
+    /**
+     * Yemeğin verilen porsiyon birimi için gram karşılığını tanımlar ya da günceller. Yemeği içeren
+     * günlerin toplamları yeni gram karşılığıyla yeniden hesaplanır.
+     */
+    @Transactional
+    public FoodServingConversion setServingConversion(Long foodId, ServingUnit servingUnit, Double grams) {
+        if (grams == null || !(grams > 0)) {
+            throw new IllegalArgumentException("Gram karşılığı pozitif olmalıdır");
+        }
+        Food food = foodRepository.findById(foodId)
+                .orElseThrow(() -> new RuntimeException("Yemek bulunamadı"));
+        FoodServingConversion conversion = servingConversionRepository.findByFoodIdAndServingUnit(foodId, servingUnit)
+                .orElseGet(() -> new FoodServingConversion(null, food, servingUnit, null));
+        if (grams.equals(conversion.getGrams())) {
+            return conversion;
+        }
+        conversion.setGrams(grams);
+        FoodServingConversion saved = servingConversionRepository.saveAndFlush(conversion);
+        rebuildFoodSummaries(foodId);
+        return saved;
+    }
+    
+    private void rebuildRollups(RollupPeriod period, LocalDate firstBucket, LocalDate lastBucket, LocalDate lastDay) {
+        jdbcTemplate.update(REBUILD_ROLLUPS_DELETE_SQL, period.name(), Date.valueOf(firstBucket), Date.valueOf(lastBucket));
+        jdbcTemplate.update(String.format(REBUILD_ROLLUPS_INSERT_SQL, period.name().toLowerCase()),
+                Date.valueOf(firstBucket), Date.valueOf(lastDay));
+    }
+    
+    private static Array toDateArray(Connection connection, List<LocalDate> dates) throws SQLException {
+        return connection.createArrayOf("date", dates.stream().map(Date::valueOf).toArray());
+    }
+    
+    private static String accumulateSql(String table) {
+        return Arrays.stream(TOTAL_COLUMNS)
+                .map(column -> column + " = " + table + "." + column + " + EXCLUDED." + column)
+                .collect(Collectors.joining(", "));
+    }
+    
+    // Yeniden inşada hesaplanan değer mevcut satırı ezer
+    private static String overwriteSql() {
+        return Arrays.stream(TOTAL_COLUMNS)
+                .map(column -> column + " = EXCLUDED." + column)
+                .collect(Collectors.joining(", "));
+    }
+    
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+    
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+    
+    private static DailyNutritionTotals emptyDay(Long userId, LocalDate date) {
+        return DailyNutritionTotals.builder()
+                .userId(userId)
+                .date(date)
+                .build();
+    }
+}
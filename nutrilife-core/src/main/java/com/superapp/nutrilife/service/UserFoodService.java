@@ -0,0 +1,122 @@
+package com.superapp.nutrilife.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.superapp.nutrilife.dto.FoodResponse;
+import com.superapp.nutrilife.dto.FrequentFood;
+import com.superapp.nutrilife.dto.MealItemRequest;
+import com.superapp.nutrilife.index.UserFoodStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Kullanıcının son ve en sık kullandığı yemekler. Her aktif kullanıcı için bellekte bir
+ * UserFoodStats tutulur ve öğün kalemleri commit oldukça güncellenir; okumalar veritabanına
+ * gitmez. Kullanıcı ilk sorgulandığında yapı, tüm geçmiş üzerinde GROUP BY yerine yalnızca son
+ * seed-days gündeki en yeni seed-rows kalemden doldurulur (idx_meals_user_date ile sınırlı tarama).
+ * <p>
+ * Yapılar node'a yereldir ve yalnızca bu node'dan geçen yazmaları görür; diğer node'lardaki
+ * kayıtlar kullanıcı cache'ten düşüp yeniden yüklendiğinde yansır. Öğün silmeleri sayaçlardan
+ * düşülmez.
+ */
+@Service
+@Slf4j
+public class UserFoodService {
+    
+    private static final String SEED_SQL =
+            "SELECT mi.food_id FROM meal_items mi " +
+            "JOIN meals m ON m.id = mi.meal_id AND m.meal_date = mi.meal_date " +
+            "WHERE m.user_id = ? AND m.meal_date >= ? " +
+            "ORDER BY m.meal_date DESC, mi.id DESC LIMIT ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final FoodService foodService;
+    private final Cache<Long, UserFoodStats> stats;
+    
+    @Value("${nutrilife.user-foods.recent-size:50}")
+    private int recentSize;
+    
+    @Value("${nutrilife.user-foods.counter-size:100}")
+    private int counterSize;
+    
+    @Value("${nutrilife.user-foods.seed-days:90}")
+    private int seedDays;
+    
+    @Value("${nutrilife.user-foods.seed-rows:1000}")
+    private int seedRows;
+    
+    public UserFoodService(
+            JdbcTemplate jdbcTemplate,
+            FoodService foodService,
+            @Value("${nutrilife.user-foods.maximum-users:100000}") long maximumUsers,
+            @Value("${nutrilife.user-foods.expire-after-access:6h}") Duration expireAfterAccess) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.foodService = foodService;
+        this.stats = Caffeine.newBuilder()
+                .maximumSize(maximumUsers)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+    
+    /**
+     * Commit edilen öğün kalemlerini işler. Kullanıcı bellekte değilse kayıt düşürülür: o anda süren
+     * bir yükleme bu kalemleri görmeden başlamış olabilir, invalidate onun bitmesini bekleyip sonucu
+     * atar ve yapı bir sonraki sorguda bu kalemleri de içerecek şekilde veritabanından yüklenir.
+     */
+    public void recordUsage(Long userId, List<MealItemRequest> items) {
+        UserFoodStats userStats = stats.getIfPresent(userId);
+        if (userStats != null) {
+            items.forEach(item -> userStats.record(item.getFoodId()));
+        } else {
+            stats.invalidate(userId);
+        }
+    }
+    
+    public List<FoodResponse> getRecentFoods(Long userId, int limit) {
+        return foodService.getFoodsByIds(statsFor(userId).recent(limit));
+    }
+    
+    public List<FrequentFood> getFrequentFoods(Long userId, int limit) {
+        List<UserFoodStats.Counter> counters = statsFor(userId).frequent(limit);
+        long[] ids = counters.stream().mapToLong(UserFoodStats.Counter::foodId).toArray();
+        Map<Long, FoodResponse> foods = foodService.getFoodsByIds(ids).stream()
+                .collect(Collectors.toMap(FoodResponse::getId, Function.identity()));
+        List<FrequentFood> result = new ArrayList<>(counters.size());
+        for (UserFoodStats.Counter counter : counters) {
+            FoodResponse food = foods.get(counter.foodId());
+            if (food != null) {
+                result.add(new FrequentFood(food, counter.count()));
+            }
+        }
+        return result;
+    }
+    
+    private UserFoodStats statsFor(Long userId) {
+        return stats.get(userId, this::load);
+    }
+    
+    private UserFoodStats load(Long userId) {
+        List<Long> foodIds = new ArrayList<>();
+        jdbcTemplate.query(SEED_SQL, (RowCallbackHandler) rs -> foodIds.add(rs.getLong("food_id")),
+                userId, Date.valueOf(LocalDate.now().minusDays(seedDays)), seedRows);
+        UserFoodStats userStats = new UserFoodStats(recentSize, counterSize);
+        // Sorgu en yeniden eskiye döner; LRU sırasının doğru kurulması için eskiden yeniye işlenir
+        for (int i = foodIds.size() - 1; i >= 0; i--) {
+            userStats.record(foodIds.get(i));
+        }
+        log.debug("Kullanıcı yemek istatistikleri {} kalemden yüklendi. Kullanıcı ID: {}", foodIds.size(), userId);
+        return userStats;
+    }
+}
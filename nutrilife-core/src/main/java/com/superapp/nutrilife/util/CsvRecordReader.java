@@ -0,0 +1,112 @@
+package com.superapp.nutrilife.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 uyumlu, akış halinde okuyan küçük CSV okuyucu. Tırnak içindeki virgül,
+ * çift tırnak ("") ve satır sonlarını destekler; her seferinde yalnızca tek kaydı bellekte tutar.
+ * Kapanmamış bir tırnak dosyanın geri kalanını tek kayda çekmesin diye kayıt uzunluğu
+ * maxRecordLength karakterle sınırlıdır. Dosya başındaki UTF-8 BOM atlanır.
+ */
+public class CsvRecordReader {
+    
+    public static final int DEFAULT_MAX_RECORD_LENGTH = 1024 * 1024;
+    
+    private static final char BOM = '\uFEFF';
+    
+    private final Reader reader;
+    private final int maxRecordLength;
+    private long recordNumber;
+    private int pushedBack = -2;
+    private boolean started;
+    
+    public CsvRecordReader(Reader reader) {
+        this(reader, DEFAULT_MAX_RECORD_LENGTH);
+    }
+    
+    public CsvRecordReader(Reader reader, int maxRecordLength) {
+        this.reader = reader;
+        this.maxRecordLength = maxRecordLength;
+    }
+    
+    /**
+     * Sonraki kaydı döner, dosya sonunda null döner. Kayıt maxRecordLength karakteri aşarsa
+     * IOException fırlatır; kaydın nerede bittiği bilinmediği için okuma devam ettirilemez
+     */
+    public List<String> next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        int length = 0;
+        int c;
+        if (!started) {
+            started = true;
+            c = read();
+            if (c != BOM) {
+                unread(c);
+            }
+        }
+        while ((c = read()) != -1) {
+            any = true;
+            if (++length > maxRecordLength) {
+                throw new IOException("CSV kaydı " + (recordNumber + 1) + " en fazla " + maxRecordLength
+                        + " karakter olabilir" + (quoted ? "; tırnak kapanmamış olabilir" : ""));
+            }
+            if (quoted) {
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(following);
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r') {
+                int following = read();
+                if (following != '\n') {
+                    unread(following);
+                }
+                break;
+            } else if (c == '\n') {
+                break;
+            } else {
+                field.append((char) c);
+            }
+        }
+        if (!any) {
+            return null;
+        }
+        fields.add(field.toString());
+        recordNumber++;
+        return fields;
+    }
+    
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+    
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+    
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
@@ -0,0 +1,94 @@
+package com.superapp.nutrilife.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bir tarih aralığını az sayıda gün, hafta ve ay kovasına böler. Aralık soldan taranır;
+ * ay başında ve ay aralığa tamamen sığıyorsa ay, pazartesi ve hafta tamamen sığıyorsa hafta,
+ * aksi halde tek gün alınır. Aralığa sığan bir ayı bölecek haftalar alınmaz. Bir yıllık aralık bu şekilde en fazla birkaç düzine kovadır.
+ */
+public final class DateBuckets {
+    
+    private final List<LocalDate> days;
+    private final List<LocalDate> weeks;
+    private final List<LocalDate> months;
+    
+    private DateBuckets(List<LocalDate> days, List<LocalDate> weeks, List<LocalDate> months) {
+        this.days = days;
+        this.weeks = weeks;
+        this.months = months;
+    }
+    
+    /**
+     * [from, to] aralığını (iki uç dahil) kovalara böler
+     */
+    public static DateBuckets plan(LocalDate from, LocalDate to) {
+        List<LocalDate> days = new ArrayList<>();
+        List<LocalDate> weeks = new ArrayList<>();
+        List<LocalDate> months = new ArrayList<>();
+        LocalDate date = from;
+        while (!date.isAfter(to)) {
+            if (date.getDayOfMonth() == 1 && !monthEnd(date).isAfter(to)) {
+                months.add(date);
+                date = date.plusMonths(1);
+            } else if (date.getDayOfWeek() == DayOfWeek.MONDAY && fitsWeek(date, to)) {
+                weeks.add(date);
+                date = date.plusWeeks(1);
+            } else {
+                days.add(date);
+                date = date.plusDays(1);
+            }
+        }
+        return new DateBuckets(days, weeks, months);
+    }
+    
+    /**
+     * Hafta aralığa sığmalı; ay sınırını geçiyorsa sonraki ay aralığa tamamen sığmamalı,
+     * aksi halde o ay tek kova olarak alınamaz
+     */
+    private static boolean fitsWeek(LocalDate monday, LocalDate to) {
+        LocalDate sunday = monday.plusDays(6);
+        if (sunday.isAfter(to)) {
+            return false;
+        }
+        return sunday.getMonth() == monday.getMonth() || monthEnd(sunday).isAfter(to);
+    }
+    
+    public static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+    
+    public static LocalDate weekEnd(LocalDate date) {
+        return date.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+    }
+    
+    public static LocalDate monthStart(LocalDate date) {
+        return date.withDayOfMonth(1);
+    }
+    
+    public static LocalDate monthEnd(LocalDate date) {
+        return date.with(TemporalAdjusters.lastDayOfMonth());
+    }
+    
+    public List<LocalDate> getDays() {
+        return days;
+    }
+    
+    // Pazartesi başlangıç tarihleri
+    public List<LocalDate> getWeeks() {
+        return weeks;
+    }
+    
+    // Ay başı tarihleri
+    public List<LocalDate> getMonths() {
+        return months;
+    }
+    
+    public int size() {
+        return days.size() + weeks.size() + months.size();
+    }
+}
@@ -0,0 +1,26 @@
+package com.superapp.nutrilife.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+public final class NdjsonUtils {
+    
+    private NdjsonUtils() {
+    }
+    
+    /**
+     * Değeri tek satırlık JSON olarak yazar. Lambda içinden çağrılabilmesi için IOException
+     * UncheckedIOException'a sarılır; çağıran akışın sonunda asıl hatayı yeniden fırlatır.
+     */
+    public static void writeLine(ObjectMapper objectMapper, OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
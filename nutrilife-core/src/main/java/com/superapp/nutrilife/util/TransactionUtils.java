@@ -0,0 +1,27 @@
+package com.superapp.nutrilife.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class TransactionUtils {
+    
+    private TransactionUtils() {
+    }
+    
+    /**
+     * İşlemi aktif transaction commit edildikten sonra çalıştırır; rollback olursa hiç çalışmaz.
+     * Transaction yoksa hemen çalıştırır.
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,81 @@
+package com.superapp.nutrilife.index;
+
+import com.superapp.nutrilife.dto.FoodResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FoodCalorieIndexTest {
+
+    private FoodCalorieIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FoodCalorieIndex();
+        index.put(food(1L, 250.0));
+        index.put(food(2L, 80.0));
+        index.put(food(3L, 150.0));
+        index.put(food(4L, 150.0));
+        index.put(food(5L, 400.0));
+        index.rebuild();
+    }
+
+    @Test
+    void returnsIdsInCalorieOrderWithInclusiveBounds() {
+        assertArrayEquals(new long[]{3L, 4L, 1L}, index.findIds(150.0, 250.0, 10));
+        assertArrayEquals(new long[]{3L, 4L}, index.findIds(100.0, 300.0, 2));
+        assertArrayEquals(new long[0], index.findIds(500.0, 600.0, 10));
+        assertArrayEquals(new long[0], index.findIds(300.0, 100.0, 10));
+    }
+
+    @Test
+    void mergesChangesMadeSinceLastRebuild() {
+        index.put(food(6L, 200.0));
+        index.put(food(1L, 90.0));
+        index.remove(3L);
+
+        assertArrayEquals(new long[]{2L, 1L, 4L, 6L}, index.findIds(0.0, 300.0, 10));
+
+        index.rebuild();
+        assertArrayEquals(new long[]{2L, 1L, 4L, 6L}, index.findIds(0.0, 300.0, 10));
+    }
+
+    @Test
+    void largeChangeSetsAreMergedInCalorieThenIdOrder() {
+        index = new FoodCalorieIndex();
+        Random random = new Random(7);
+        double[] values = new double[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(500);
+            index.put(food((long) i + 10, values[i]));
+        }
+        long[] expected = LongStream.range(0, values.length)
+                .boxed()
+                .sorted(Comparator.<Long>comparingDouble(i -> values[i.intValue()]).thenComparing(i -> i))
+                .filter(i -> values[i.intValue()] >= 100 && values[i.intValue()] <= 300)
+                .mapToLong(i -> i + 10)
+                .toArray();
+
+        // Bekleyen değişiklikler çok olsa da sorgu yeniden inşa etmeden doğru sonucu döner
+        long[] merged = index.findIds(100.0, 300.0, 20_000);
+        index.rebuild();
+        long[] rebuilt = index.findIds(100.0, 300.0, 20_000);
+
+        assertArrayEquals(expected, rebuilt);
+        // Birleştirme yolunda eşit kalorili yemeklerin sırası id'ye bağlı değildir
+        assertArrayEquals(LongStream.of(expected).sorted().toArray(), LongStream.of(merged).sorted().toArray());
+        for (int i = 1; i < merged.length; i++) {
+            assertTrue(values[(int) merged[i - 1] - 10] <= values[(int) merged[i] - 10]);
+        }
+    }
+
+    private static FoodResponse food(Long id, Double calories) {
+        return FoodResponse.builder().id(id).name("Yemek " + id).calories(calories).build();
+    }
+}
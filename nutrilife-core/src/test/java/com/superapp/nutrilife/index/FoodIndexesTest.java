@@ -0,0 +1,73 @@
+package com.superapp.nutrilife.index;
+
+import com.superapp.nutrilife.dto.FoodResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class FoodIndexesTest {
+
+    private FoodMacroIndex macroIndex;
+    private FoodIndexes indexes;
+
+    @BeforeEach
+    void setUp() {
+        macroIndex = new FoodMacroIndex();
+        indexes = new FoodIndexes(List.of(macroIndex));
+    }
+
+    @Test
+    void loadDoesNotResurrectFoodDeletedDuringLoad() {
+        indexes.beginLoad();
+        indexes.remove(1L);
+        indexes.load(food(1L, 10.0));
+        indexes.loadNutrients(1L, 2.0, 50.0);
+        indexes.load(food(2L, 10.0));
+        indexes.endLoad();
+
+        assertArrayEquals(new long[]{2L}, macroIndex.findIds(bounds(Double.NEGATIVE_INFINITY), bounds(Double.POSITIVE_INFINITY), 10));
+    }
+
+    @Test
+    void loadDoesNotOverwriteNewerUpdate() {
+        indexes.beginLoad();
+        indexes.put(food(1L, 30.0), 5.0, 100.0);
+        indexes.load(food(1L, 10.0));
+        indexes.loadNutrients(1L, 0.0, 0.0);
+        indexes.endLoad();
+
+        double[] min = bounds(Double.NEGATIVE_INFINITY);
+        min[0] = 20.0;
+        min[4] = 5.0;
+        assertArrayEquals(new long[]{1L}, macroIndex.findIds(min, bounds(Double.POSITIVE_INFINITY), 10));
+    }
+
+    @Test
+    void liveUpdateWithoutNutrientsKeepsLoadedNutrients() {
+        indexes.beginLoad();
+        indexes.put(food(1L, 30.0));
+        indexes.load(food(1L, 10.0));
+        indexes.loadNutrients(1L, 5.0, 100.0);
+        indexes.endLoad();
+
+        double[] min = bounds(Double.NEGATIVE_INFINITY);
+        min[0] = 20.0;
+        min[4] = 5.0;
+        assertArrayEquals(new long[]{1L}, macroIndex.findIds(min, bounds(Double.POSITIVE_INFINITY), 10));
+    }
+
+    private static double[] bounds(double open) {
+        double[] bounds = new double[FoodMacroIndex.DIMENSIONS];
+        Arrays.fill(bounds, open);
+        return bounds;
+    }
+
+    private static FoodResponse food(Long id, Double protein) {
+        return FoodResponse.builder().id(id).name("Yemek " + id).calories(100.0)
+                .protein(protein).carbohydrates(10.0).fat(1.0).fiber(1.0).build();
+    }
+}
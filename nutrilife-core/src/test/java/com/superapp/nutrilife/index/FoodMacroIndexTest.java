@@ -0,0 +1,116 @@
+package com.superapp.nutrilife.index;
+
+import com.superapp.nutrilife.dto.FoodResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class FoodMacroIndexTest {
+
+    private FoodMacroIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FoodMacroIndex();
+    }
+
+    @Test
+    void matchesAllRangesAndSkipsUnknownValuesOnlyWhenConstrained() {
+        index.put(food(1L, 31.0, 0.5, 3.6, null));
+        index.putNutrients(1L, 0.0, 74.0);
+        index.put(food(2L, 9.0, 14.0, 0.4, 8.0));
+        index.putNutrients(2L, 1.8, 2.0);
+        index.put(food(3L, 25.0, 1.0, 15.0, null));
+        index.rebuild();
+
+        assertArrayEquals(new long[]{1L, 3L}, index.findIds(min(20.0), max(), 10));
+        assertArrayEquals(new long[]{1L}, index.findIds(min(20.0, null, null, null, null, 0.0), max(null, null, 5.0, null, null, 100.0), 10));
+        // Lif değeri bilinmeyen yemekler lif kısıtı verildiğinde elenir
+        assertArrayEquals(new long[]{2L}, index.findIds(min(null, null, null, 0.0), max(), 10));
+    }
+
+    @Test
+    void agreesWithLinearScanIncludingUnrebuiltChanges() {
+        Random random = new Random(42);
+        double[][] values = new double[2000][];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new double[]{random.nextInt(40), random.nextInt(80), random.nextInt(30), random.nextInt(10)};
+            index.put(food((long) i, values[i][0], values[i][1], values[i][2], values[i][3]));
+        }
+        index.rebuild();
+        for (int i = 0; i < 50; i++) {
+            values[i] = new double[]{10, 20, 5, 2};
+            index.put(food((long) i, 10.0, 20.0, 5.0, 2.0));
+        }
+        index.remove(1999L);
+
+        double[] min = min(8.0, 10.0, null, 1.0);
+        double[] max = max(20.0, 40.0, 10.0, null);
+        long[] expected = LongStream.range(0, 1999)
+                .filter(id -> inside(values[(int) id], min, max))
+                .toArray();
+
+        long[] actual = index.findIds(min, max, 10_000);
+        Arrays.sort(expected);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void inclusiveBoundsMatchValuesNotExactlyRepresentableAsFloat() {
+        index.put(food(1L, 0.1, 0.3, 2.7, null));
+        index.put(food(2L, 0.2, 0.3, 2.7, null));
+        index.rebuild();
+        index.put(food(3L, 0.1, 0.3, 2.7, null));
+
+        assertArrayEquals(new long[]{1L, 3L}, index.findIds(min(0.1, 0.3, 2.7), max(0.1, 0.3, 2.7), 10));
+    }
+
+    @Test
+    void returnsLowestIdsWhenLimitIsReached() {
+        for (long id = 500; id > 0; id--) {
+            index.put(food(id, 10.0, 10.0, 1.0, null));
+        }
+        index.rebuild();
+        index.put(food(1000L, 10.0, 10.0, 1.0, null));
+
+        assertArrayEquals(LongStream.rangeClosed(1, 20).toArray(), index.findIds(min(5.0), max(15.0), 20));
+    }
+
+    private static boolean inside(double[] point, double[] min, double[] max) {
+        for (int d = 0; d < point.length; d++) {
+            if (point[d] < min[d] || point[d] > max[d]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double[] min(Double... values) {
+        return bounds(Double.NEGATIVE_INFINITY, values);
+    }
+
+    private static double[] max(Double... values) {
+        return bounds(Double.POSITIVE_INFINITY, values);
+    }
+
+    private static double[] bounds(double open, Double[] values) {
+        double[] result = new double[FoodMacroIndex.DIMENSIONS];
+        Arrays.fill(result, open);
+        for (int d = 0; d < values.length; d++) {
+            if (values[d] != null) {
+                result[d] = values[d];
+            }
+        }
+        return result;
+    }
+
+    private static FoodResponse food(Long id, Double protein, Double carbohydrates, Double fat, Double fiber) {
+        return FoodResponse.builder().id(id).name("Yemek " + id).calories(100.0)
+                .protein(protein).carbohydrates(carbohydrates).fat(fat).fiber(fiber).build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.superapp.nutrilife.index;
+
+import com.superapp.nutrilife.dto.FoodResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FoodSearchIndexTest {
+    
+    private FoodSearchIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        index = new FoodSearchIndex();
+        index.put(food(1L, "Tavuk Şiş", "Izgara tavuk göğsü şiş"));
+        index.put(food(2L, "Pirinç Pilavı", "Tereyağlı pirinç"));
+        index.put(food(3L, "Tavuk Göğsü", "Haşlanmış"));
+        index.put(food(4L, "İSKENDER", "Yoğurtlu döner"));
+    }
+    
+    @Test
+    void foldsTurkishCharactersInQueryAndDocument() {
+        assertEquals(List.of(2L), ids(index.search("pirinc", 10)));
+        assertEquals(List.of(4L), ids(index.search("iskender", 10)));
+        assertEquals(List.of(4L), ids(index.search("ISKENDER", 10)));
+        assertEquals(List.of(1L), ids(index.search("SIS", 10)));
+    }
+    
+    @Test
+    void ranksNameMatchesAboveDescriptionMatches() {
+        List<Long> results = ids(index.search("göğsü", 10));
+        assertEquals(3L, results.get(0));
+        assertTrue(results.contains(1L));
+    }
+    
+    @Test
+    void expandsLastTermAsPrefix() {
+        assertEquals(List.of(1L, 3L), ids(index.search("tav", 10)).stream().sorted().toList());
+    }
+    
+    @Test
+    void updateAndRemoveKeepPostingsConsistent() {
+        index.put(food(2L, "Bulgur Pilavı", "Domatesli"));
+        assertTrue(index.search("pirinç", 10).isEmpty());
+        assertEquals(List.of(2L), ids(index.search("bulgur", 10)));
+        
+        index.remove(2L);
+        assertTrue(index.search("bulgur", 10).isEmpty());
+        assertEquals(3, index.size());
+    }
+    
+    private static List<Long> ids(List<FoodResponse> foods) {
+        return foods.stream().map(FoodResponse::getId).toList();
+    }
+    
+    private static FoodResponse food(Long id, String name, String description) {
+        return FoodResponse.builder().id(id).name(name).description(description).calories(100.0).build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.superapp.nutrilife.index;
+
+import com.superapp.nutrilife.dto.FoodResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FoodSimilarityIndexTest {
+
+    private FoodSimilarityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FoodSimilarityIndex();
+        index.put(food(1L, 165.0, 31.0, 0.0, 3.6, 0.0));
+        index.put(food(2L, 150.0, 29.0, 0.0, 3.0, 0.0));
+        index.put(food(3L, 130.0, 2.7, 28.0, 0.3, 0.4));
+        index.put(food(4L, 112.0, 2.3, 24.0, 0.8, 1.8));
+        index.put(food(5L, 884.0, 0.0, 0.0, 100.0, 0.0));
+    }
+
+    @Test
+    void ordersNeighboursByNormalizedDistance() {
+        assertArrayEquals(new long[]{2L, 3L, 4L}, index.findNearest(1L, 3));
+        assertArrayEquals(new long[]{4L}, index.findNearest(3L, 1));
+        assertNull(index.findNearest(42L, 3));
+    }
+
+    @Test
+    void nutrientsAndRemovalsUpdateRowsInPlace() {
+        index.putNutrients(3L, 0.1, 1.0);
+        index.putNutrients(4L, 0.3, 1.0);
+        index.putNutrients(2L, 0.1, 900.0);
+        index.putNutrients(1L, 0.0, 74.0);
+
+        index.remove(4L);
+        assertEquals(4, index.size());
+        // Silinen satırın yerine taşınan son satır (5) aranmaya devam eder
+        assertArrayEquals(new long[]{2L, 5L, 3L}, index.findNearest(1L, 10));
+        assertArrayEquals(new long[]{2L}, index.findNearest(3L, 1));
+        assertNull(index.findNearest(4L, 1));
+    }
+
+    private static FoodResponse food(Long id, Double calories, Double protein, Double carbohydrates, Double fat, Double fiber) {
+        return FoodResponse.builder().id(id).name("Yemek " + id).calories(calories)
+                .protein(protein).carbohydrates(carbohydrates).fat(fat).fiber(fiber).build();
+    }
+}
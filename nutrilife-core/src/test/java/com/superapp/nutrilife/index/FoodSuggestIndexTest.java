@@ -0,0 +1,62 @@
+package com.superapp.nutrilife.index;
+
+import com.superapp.nutrilife.dto.FoodResponse;
+import com.superapp.nutrilife.dto.FoodSuggestion;
+import com.superapp.nutrilife.repository.FoodRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class FoodSuggestIndexTest {
+
+    private FoodSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FoodSuggestIndex(mock(FoodRepository.class));
+        index.put(food(1L, "Tavuk Şiş"));
+        index.put(food(2L, "Tavuk Göğsü"));
+        index.put(food(3L, "Tarhana Çorbası"));
+        index.put(food(4L, "Şehriye Çorbası"));
+        index.put(food(5L, "Tavuk Döner"));
+        index.rebuild();
+    }
+
+    @Test
+    void returnsMostPopularEntriesUnderPrefix() {
+        index.recordUsage(5L);
+        index.recordUsage(5L);
+        index.recordUsage(2L);
+        index.rebuild();
+
+        assertEquals(List.of(5L, 2L, 1L), ids(index.suggest("tav", 10)));
+        assertEquals(List.of(5L, 2L), ids(index.suggest("TAV", 2)));
+        // Eşit ağırlıkta alfabetik sıra belirleyici olur
+        assertEquals(List.of(5L, 2L, 3L, 1L), ids(index.suggest("ta", 10)));
+    }
+
+    @Test
+    void matchesFoldedTurkishPrefix() {
+        assertEquals(List.of(4L), ids(index.suggest("seh", 10)));
+        assertTrue(index.suggest("x", 10).isEmpty());
+    }
+
+    @Test
+    void hidesRemovedFoodsBeforeNextRebuild() {
+        index.remove(1L);
+        assertEquals(List.of(5L, 2L), ids(index.suggest("tavuk", 10)));
+    }
+
+    private static List<Long> ids(List<FoodSuggestion> suggestions) {
+        return suggestions.stream().map(FoodSuggestion::getId).toList();
+    }
+
+    private static FoodResponse food(Long id, String name) {
+        return FoodResponse.builder().id(id).name(name).calories(100.0).build();
+    }
+}
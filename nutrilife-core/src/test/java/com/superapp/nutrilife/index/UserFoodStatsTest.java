@@ -0,0 +1,58 @@
+package com.superapp.nutrilife.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserFoodStatsTest {
+
+    @Test
+    void recentKeepsMostRecentFirstWithoutDuplicates() {
+        UserFoodStats stats = new UserFoodStats(3, 10);
+        for (long foodId : new long[]{1, 2, 3, 1, 4}) {
+            stats.record(foodId);
+        }
+
+        assertArrayEquals(new long[]{4, 1, 3}, stats.recent(10));
+        assertArrayEquals(new long[]{4, 1}, stats.recent(2));
+    }
+
+    @Test
+    void nonPositiveLimitReturnsNothing() {
+        UserFoodStats stats = new UserFoodStats(3, 10);
+        stats.record(1);
+
+        assertArrayEquals(new long[0], stats.recent(0));
+        assertArrayEquals(new long[0], stats.recent(-1));
+        assertEquals(List.of(), stats.frequent(0));
+        assertEquals(List.of(), stats.frequent(-1));
+    }
+
+    @Test
+    void frequentCountsExactlyWhileCountersFit() {
+        UserFoodStats stats = new UserFoodStats(10, 10);
+        for (long foodId : new long[]{5, 7, 5, 9, 5, 7}) {
+            stats.record(foodId);
+        }
+
+        List<UserFoodStats.Counter> top = stats.frequent(2);
+        assertEquals(List.of(new UserFoodStats.Counter(5, 3, 0), new UserFoodStats.Counter(7, 2, 0)), top);
+    }
+
+    @Test
+    void heavyHitterSurvivesManyRareFoods() {
+        UserFoodStats stats = new UserFoodStats(10, 4);
+        for (int i = 0; i < 1000; i++) {
+            stats.record(i % 3 == 0 ? 42 : 1000 + i);
+        }
+
+        UserFoodStats.Counter first = stats.frequent(1).get(0);
+        assertEquals(42, first.foodId());
+        // Tahmin gerçek sayımın (334) altına düşmez, hata payı düşüldüğünde üstüne çıkmaz
+        assertTrue(first.count() >= 334 && first.count() - first.error() <= 334);
+    }
+}
@@ -0,0 +1,137 @@
+package com.superapp.nutrilife.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyServiceTest {
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    void replaysFirstResultForSameKeyAndBody() {
+        IdempotencyService service = service(100);
+
+        IdempotencyService.Outcome<Integer> first = service.execute("meals:1", "k", Map.of("name", "Elma"), this::write);
+        IdempotencyService.Outcome<Integer> second = service.execute("meals:1", "k", Map.of("name", "Elma"), this::write);
+
+        assertFalse(first.replayed());
+        assertTrue(second.replayed());
+        assertEquals(first.value(), second.value());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void rejectsDifferentBodyEvenWhenHashCodesCollide() {
+        IdempotencyService service = service(100);
+        // "Aa" ve "BB" aynı hashCode'a sahiptir; parmak izi gövdenin özeti olduğu için yine de ayrışırlar
+        Map<String, String> first = Map.of("name", "Aa");
+        Map<String, String> second = Map.of("name", "BB");
+        assertEquals(first.hashCode(), second.hashCode());
+
+        service.execute("meals:1", "k", first, this::write);
+
+        assertThrows(IllegalStateException.class, () -> service.execute("meals:1", "k", second, this::write));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void scopesKeysAndSkipsBlankKeys() {
+        IdempotencyService service = service(100);
+
+        service.execute("meals:1", "k", "body", this::write);
+        IdempotencyService.Outcome<Integer> otherScope = service.execute("meals:2", "k", "body", this::write);
+        service.execute("meals:1", " ", "body", this::write);
+        service.execute("meals:1", null, "body", this::write);
+
+        assertFalse(otherScope.replayed());
+        assertEquals(4, executions.get());
+    }
+
+    @Test
+    void failedWriteReleasesKeyForRetry() {
+        IdempotencyService service = service(100);
+
+        assertThrows(IllegalArgumentException.class, () -> service.execute("meals:1", "k", "body", () -> {
+            throw new IllegalArgumentException("Geçersiz");
+        }));
+        IdempotencyService.Outcome<Integer> retry = service.execute("meals:1", "k", "body", this::write);
+
+        assertFalse(retry.replayed());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void concurrentDuplicateWaitsForFirstWrite() throws Exception {
+        IdempotencyService service = service(100);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<IdempotencyService.Outcome<Integer>> first = CompletableFuture.supplyAsync(() ->
+                service.execute("meals:1", "k", "body", () -> blockingWrite(started, release)));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<IdempotencyService.Outcome<Integer>> duplicate = CompletableFuture.supplyAsync(() ->
+                service.execute("meals:1", "k", "body", this::write));
+        Thread.sleep(100);
+        assertFalse(duplicate.isDone());
+
+        release.countDown();
+
+        assertFalse(first.get(5, TimeUnit.SECONDS).replayed());
+        assertTrue(duplicate.get(5, TimeUnit.SECONDS).replayed());
+        assertEquals(first.get().value(), duplicate.get().value());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void sizeLimitDoesNotEvictPendingWrites() throws Exception {
+        IdempotencyService service = service(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<IdempotencyService.Outcome<Integer>> pending = CompletableFuture.supplyAsync(() ->
+                service.execute("meals:1", "pending", "body", () -> blockingWrite(started, release)));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        // Sınırı aşan tamamlanmış kayıtlar tahliyeyi tetikler
+        service.execute("meals:1", "a", "body", this::write);
+        service.execute("meals:1", "b", "body", this::write);
+        service.cleanUp();
+
+        CompletableFuture<IdempotencyService.Outcome<Integer>> duplicate = CompletableFuture.supplyAsync(() ->
+                service.execute("meals:1", "pending", "body", this::write));
+        release.countDown();
+
+        assertTrue(duplicate.get(5, TimeUnit.SECONDS).replayed());
+        assertEquals(pending.get(5, TimeUnit.SECONDS).value(), duplicate.get().value());
+        assertEquals(3, executions.get());
+    }
+
+    private IdempotencyService service(long maximumSize) {
+        return new IdempotencyService(new ObjectMapper(), maximumSize, Duration.ofHours(1));
+    }
+
+    private Integer write() {
+        return executions.incrementAndGet();
+    }
+
+    private Integer blockingWrite(CountDownLatch started, CountDownLatch release) {
+        started.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return write();
+    }
+}
@@ -0,0 +1,192 @@
+package com.superapp.nutrilife.service;
+
+import com.superapp.nutrilife.dto.MealItemRequest;
+import com.superapp.nutrilife.dto.MealItemResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MealItemWriteBufferTest {
+
+    private static final long USER_ID = 7L;
+
+    private final MealService mealService = mock(MealService.class);
+    private final List<Long> written = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch firstBatchStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+    private final Map<FutureTask<?>, Thread> threads = new HashMap<>();
+    private MealItemWriteBuffer buffer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        releaseFirstBatch.countDown();
+        if (buffer != null) {
+            buffer.stop();
+        }
+    }
+
+    @Test
+    void waitsForRoomInsteadOfWritingAroundFullQueue() throws Exception {
+        buffer = blockedBuffer(5_000);
+
+        FutureTask<List<MealItemResponse>> first = submit(1L);
+        assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        FutureTask<List<MealItemResponse>> second = submit(2L);
+        awaitState(second, Thread.State.WAITING);
+        // Kuyruk ikinci kayıtla dolu; üçüncü yer açılana kadar bekler
+        FutureTask<List<MealItemResponse>> third = submit(3L);
+        awaitState(third, Thread.State.TIMED_WAITING);
+
+        releaseFirstBatch.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        third.get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(1L, 2L, 3L), written);
+        verify(mealService, never()).addMealItems(anyLong(), anyList());
+    }
+
+    @Test
+    void rejectsWhenQueueStaysFull() throws Exception {
+        buffer = blockedBuffer(50);
+
+        FutureTask<List<MealItemResponse>> first = submit(1L);
+        assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        FutureTask<List<MealItemResponse>> second = submit(2L);
+        awaitState(second, Thread.State.WAITING);
+
+        assertThrows(RejectedExecutionException.class, () -> buffer.addMealItems(3L, items()));
+
+        releaseFirstBatch.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(1L, 2L), written);
+        verify(mealService, never()).addMealItems(anyLong(), anyList());
+    }
+
+    @Test
+    void stopFlushesQueuedItemsAndRejectsLaterOnes() throws Exception {
+        buffer = blockedBuffer(5_000);
+
+        FutureTask<List<MealItemResponse>> first = submit(1L);
+        assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        FutureTask<List<MealItemResponse>> second = submit(2L);
+        awaitState(second, Thread.State.WAITING);
+        FutureTask<Void> stop = start(() -> {
+            buffer.stop();
+            return null;
+        });
+
+        releaseFirstBatch.countDown();
+        stop.get(5, TimeUnit.SECONDS);
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(1L, 2L), written);
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(RejectedExecutionException.class, () -> buffer.addMealItems(3L, items())));
+    }
+
+    @Test
+    void failsPendingRequestsAndRejectsLaterOnesWhenWriterDies() throws Exception {
+        when(mealService.getMealOwner(any())).thenReturn(USER_ID);
+        when(mealService.addMealItemsBatch(anyList(), anyList())).thenThrow(new OutOfMemoryError("test"));
+        buffer = new MealItemWriteBuffer(mealService, true, 1, 10, 1, 5, 50);
+        buffer.start();
+
+        FutureTask<List<MealItemResponse>> first = submit(1L);
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(OutOfMemoryError.class, failure.getCause().getCause());
+
+        // Yazıcı düştükten sonra parça kayıt kabul etmez; arada kuyruğa giren kayıt da reddedilir
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(RejectedExecutionException.class, () -> buffer.addMealItems(2L, items())));
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(RejectedExecutionException.class, () -> buffer.addMealItems(3L, items())));
+    }
+
+    @Test
+    void writesDirectlyWhenDisabled() {
+        buffer = new MealItemWriteBuffer(mealService, false, 1, 1, 1, 5, 50);
+        buffer.start();
+        when(mealService.addMealItems(any(), anyList())).thenReturn(List.of());
+
+        buffer.addMealItems(1L, items());
+
+        verify(mealService).addMealItems(any(), anyList());
+        verify(mealService, never()).addMealItemsBatch(anyList(), anyList());
+    }
+
+    /**
+     * Tek parçalı, tek kayıtlık kuyruklu bir tampon kurar; yazıcı ilk grubu releaseFirstBatch açılana kadar bekletir
+     */
+    private MealItemWriteBuffer blockedBuffer(long enqueueTimeoutMs) {
+        when(mealService.getMealOwner(any())).thenReturn(USER_ID);
+        when(mealService.addMealItemsBatch(anyList(), anyList())).thenAnswer(invocation -> {
+            List<Long> mealIds = invocation.getArgument(0);
+            if (firstBatchStarted.getCount() > 0) {
+                firstBatchStarted.countDown();
+                releaseFirstBatch.await();
+            }
+            written.addAll(mealIds);
+            List<List<MealItemResponse>> responses = new ArrayList<>();
+            mealIds.forEach(id -> responses.add(List.of()));
+            return responses;
+        });
+        MealItemWriteBuffer buffer = new MealItemWriteBuffer(mealService, true, 1, 1, 1, 5, enqueueTimeoutMs);
+        buffer.start();
+        return buffer;
+    }
+
+    private FutureTask<List<MealItemResponse>> submit(long mealId) {
+        return start(() -> buffer.addMealItems(mealId, items()));
+    }
+
+    private <T> FutureTask<T> start(Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task);
+        Thread thread = new Thread(future);
+        threads.put(future, thread);
+        thread.start();
+        return future;
+    }
+
+    private void awaitState(FutureTask<?> future, Thread.State state) throws InterruptedException {
+        Thread thread = threads.get(future);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != state) {
+            assertTrue(System.nanoTime() < deadline, "Thread " + state + " durumuna geçmedi");
+            assertFalse(future.isDone(), "İstek beklenmeden tamamlandı");
+            Thread.sleep(5);
+        }
+    }
+
+    private static List<MealItemRequest> items() {
+        return List.of(new MealItemRequest());
+    }
+}
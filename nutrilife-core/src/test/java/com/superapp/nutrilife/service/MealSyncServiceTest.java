@@ -0,0 +1,216 @@
+package com.superapp.nutrilife.service;
+
+import com.superapp.nutrilife.dto.MealRequest;
+import com.superapp.nutrilife.dto.MealResponse;
+import com.superapp.nutrilife.dto.MealSyncPage;
+import com.superapp.nutrilife.dto.MealSyncResult;
+import com.superapp.nutrilife.dto.MealSyncUpload;
+import com.superapp.nutrilife.dto.MealTombstone;
+import com.superapp.nutrilife.model.Meal;
+import com.superapp.nutrilife.repository.MealRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MealSyncServiceTest {
+
+    private static final long USER_ID = 7L;
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 14);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private MealRepository mealRepository;
+    @Mock
+    private MealService mealService;
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    private MealSyncService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new MealSyncService(jdbcTemplate, mealRepository, mealService, idempotencyService);
+        ReflectionTestUtils.setField(service, "tombstoneRetentionDays", 90);
+    }
+
+    @Test
+    void returnsChangesInSeqOrderWithTombstonesAndCursor() throws SQLException {
+        givenPurgedSeq(1L);
+        givenChanges(2L, 10, row(3L, 12L, false), row(5L, 11L, true), row(8L, 10L, false));
+        // Depo id'leri değişiklik sırasından farklı döndürse de cevap seq sırasını korur
+        when(mealRepository.findWithItemsByIdIn(List.of(12L, 10L))).thenReturn(List.of(meal(10L), meal(12L)));
+
+        MealSyncPage page = service.getChanges(USER_ID, 2L, 10);
+
+        assertEquals(List.of(12L, 10L), page.getMeals().stream().map(MealResponse::getId).toList());
+        assertEquals(List.of(11L), page.getDeleted().stream().map(MealTombstone::getMealId).toList());
+        assertEquals(8L, page.getNextCursor());
+        assertFalse(page.isHasMore());
+        assertFalse(page.isResetRequired());
+    }
+
+    @Test
+    void fetchesOneExtraRowToDetectMorePages() throws SQLException {
+        givenChanges(0L, 2, row(3L, 12L, false), row(5L, 11L, true), row(8L, 10L, false));
+        when(mealRepository.findWithItemsByIdIn(List.of(12L))).thenReturn(List.of(meal(12L)));
+
+        MealSyncPage page = service.getChanges(USER_ID, 0L, 2);
+
+        assertEquals(List.of(12L), page.getMeals().stream().map(MealResponse::getId).toList());
+        assertEquals(List.of(11L), page.getDeleted().stream().map(MealTombstone::getMealId).toList());
+        assertEquals(5L, page.getNextCursor());
+        assertTrue(page.isHasMore());
+        // İlk senkronizasyonda temizlenen mezar taşlarının kontrolüne gerek yok
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(Long.class), any());
+    }
+
+    @Test
+    void requiresResetWhenCursorPredatesPurgedTombstone() {
+        givenPurgedSeq(6L);
+
+        MealSyncPage page = service.getChanges(USER_ID, 5L, 10);
+
+        assertTrue(page.isResetRequired());
+        assertEquals(0L, page.getNextCursor());
+        assertTrue(page.getMeals().isEmpty());
+        verify(jdbcTemplate, never()).query(startsWith("SELECT seq"), any(RowMapper.class), any(), any(), any());
+    }
+
+    @Test
+    void cursorAtPurgedSeqIsStillValid() throws SQLException {
+        givenPurgedSeq(6L);
+        givenChanges(6L, 10);
+
+        MealSyncPage page = service.getChanges(USER_ID, 6L, 10);
+
+        assertFalse(page.isResetRequired());
+        assertEquals(6L, page.getNextCursor());
+        assertTrue(page.getMeals().isEmpty());
+        assertTrue(page.getDeleted().isEmpty());
+    }
+
+    @Test
+    void uploadProcessesEachEntrySeparately() {
+        MealRequest own = mealRequest(USER_ID);
+        MealRequest foreign = mealRequest(USER_ID + 1);
+        MealResponse created = MealResponse.builder().id(20L).userId(USER_ID).build();
+        when(idempotencyService.execute(eq("meals:" + USER_ID), any(), eq(own), any())).thenAnswer(invocation -> {
+            Supplier<?> action = invocation.getArgument(3);
+            return new IdempotencyService.Outcome<>(action.get(), false);
+        });
+        when(mealService.logMeal(own)).thenReturn(created);
+        // Katı stub eşleşmeyen silme çağrısını da hataya çevireceği için lenient
+        lenient().doThrow(new EntityNotFoundException("Öğün bulunamadı")).when(mealService).deleteMeal(USER_ID, 31L);
+
+        MealSyncUpload upload = new MealSyncUpload();
+        upload.setMeals(List.of(foreign, own));
+        upload.setDeletedMealIds(List.of(30L, 31L));
+        MealSyncResult result = service.upload(USER_ID, upload);
+
+        assertEquals(List.of(created), result.getCreated());
+        assertEquals(1, result.getRejected().size());
+        assertEquals(0, result.getRejected().get(0).getIndex());
+        assertEquals(List.of(30L), result.getDeleted());
+        assertEquals(List.of(31L), result.getNotFound());
+        verify(mealService).deleteMeal(USER_ID, 30L);
+    }
+
+    @Test
+    void uploadDoesNotReportFailedDeletionAsNotFound() {
+        doThrow(new QueryTimeoutException("Zaman aşımı")).when(mealService).deleteMeal(USER_ID, 30L);
+
+        MealSyncUpload upload = new MealSyncUpload();
+        upload.setDeletedMealIds(List.of(30L));
+
+        assertThrows(QueryTimeoutException.class, () -> service.upload(USER_ID, upload));
+    }
+
+    @Test
+    void purgeDeletesTombstonesOlderThanRetention() {
+        service.purgeTombstones();
+
+        ArgumentCaptor<Object> cutoff = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate).update(startsWith("WITH purged"), cutoff.capture());
+        LocalDateTime expected = LocalDateTime.now().minusDays(90);
+        LocalDateTime actual = ((Timestamp) cutoff.getValue()).toLocalDateTime();
+        assertTrue(!actual.isAfter(expected) && actual.isAfter(expected.minusMinutes(1)));
+    }
+
+    private void givenPurgedSeq(long purgedSeq) {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(USER_ID))).thenReturn(List.of(purgedSeq));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenChanges(long since, int limit, ResultSet... rows) throws SQLException {
+        when(jdbcTemplate.query(startsWith("SELECT seq"), any(RowMapper.class), eq(USER_ID), eq(since), eq(limit + 1)))
+                .thenAnswer(invocation -> {
+                    RowMapper<Object> mapper = invocation.getArgument(1);
+                    List<Object> result = new ArrayList<>();
+                    for (int i = 0; i < rows.length && i < limit + 1; i++) {
+                        result.add(mapper.mapRow(rows[i], i));
+                    }
+                    return result;
+                });
+    }
+
+    private static ResultSet row(long seq, long mealId, boolean deleted) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("seq")).thenReturn(seq);
+        when(rs.getLong("meal_id")).thenReturn(mealId);
+        when(rs.getBoolean("deleted")).thenReturn(deleted);
+        when(rs.getDate("meal_date")).thenReturn(Date.valueOf(DAY));
+        when(rs.getTimestamp("changed_at")).thenReturn(Timestamp.valueOf(DAY.atStartOfDay()));
+        return rs;
+    }
+
+    private static Meal meal(Long id) {
+        Meal meal = new Meal();
+        meal.setId(id);
+        meal.setUserId(USER_ID);
+        meal.setMealDate(DAY);
+        meal.setMealItems(List.of());
+        return meal;
+    }
+
+    private static MealRequest mealRequest(Long userId) {
+        MealRequest request = new MealRequest();
+        request.setUserId(userId);
+        request.setMealDate(DAY);
+        return request;
+    }
+}
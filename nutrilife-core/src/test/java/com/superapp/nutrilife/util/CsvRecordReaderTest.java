@@ -0,0 +1,53 @@
+package com.superapp.nutrilife.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void readsQuotedFieldsWithCommasQuotesAndLineBreaks() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(
+                "name,description,calories\r\n" +
+                "\"Menemen, bol biberli\",\"\"\"Ev\"\" usulü\",154\n" +
+                "Mercimek Çorbası,\"iki\nsatır\",56"));
+
+        assertEquals(List.of("name", "description", "calories"), reader.next());
+        assertEquals(List.of("Menemen, bol biberli", "\"Ev\" usulü", "154"), reader.next());
+        assertEquals(List.of("Mercimek Çorbası", "iki\nsatır", "56"), reader.next());
+        assertEquals(3, reader.getRecordNumber());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void keepsEmptyFields() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("Ayran,,38,\n"));
+
+        assertEquals(List.of("Ayran", "", "38", ""), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void skipsLeadingByteOrderMark() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("\uFEFFname,calories\nAyran,38\n"));
+
+        assertEquals(List.of("name", "calories"), reader.next());
+        assertEquals(List.of("Ayran", "38"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void rejectsRecordLongerThanLimit() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("Ayran,38\n\"kapanmayan,tırnak\nAyran,38\n"), 16);
+
+        assertEquals(List.of("Ayran", "38"), reader.next());
+        assertThrows(IOException.class, reader::next);
+    }
+}
@@ -0,0 +1,76 @@
+package com.superapp.nutrilife.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DateBucketsTest {
+
+    @Test
+    void shortRangeInsideOneWeekUsesDays() {
+        // 2024-05-07 salı
+        DateBuckets buckets = DateBuckets.plan(LocalDate.of(2024, 5, 7), LocalDate.of(2024, 5, 9));
+
+        assertEquals(List.of(LocalDate.of(2024, 5, 7), LocalDate.of(2024, 5, 8), LocalDate.of(2024, 5, 9)), buckets.getDays());
+        assertTrue(buckets.getWeeks().isEmpty());
+        assertTrue(buckets.getMonths().isEmpty());
+    }
+
+    @Test
+    void weekDoesNotSplitAMonthThatFits() {
+        // 2024-01-29 pazartesi; 29 Ocak haftası Şubat'a taştığı için günlere bölünür
+        DateBuckets buckets = DateBuckets.plan(LocalDate.of(2024, 1, 27), LocalDate.of(2024, 4, 3));
+
+        assertEquals(List.of(LocalDate.of(2024, 1, 27), LocalDate.of(2024, 1, 28), LocalDate.of(2024, 1, 29),
+                LocalDate.of(2024, 1, 30), LocalDate.of(2024, 1, 31),
+                LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 2), LocalDate.of(2024, 4, 3)), buckets.getDays());
+        assertTrue(buckets.getWeeks().isEmpty());
+        assertEquals(List.of(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 1)), buckets.getMonths());
+        assertCoversEachDayOnce(buckets, LocalDate.of(2024, 1, 27), LocalDate.of(2024, 4, 3));
+    }
+
+    @Test
+    void weekMayCrossMonthBoundaryWhenNextMonthDoesNotFit() {
+        // 2024-04-29 pazartesi
+        DateBuckets buckets = DateBuckets.plan(LocalDate.of(2024, 4, 22), LocalDate.of(2024, 5, 12));
+
+        assertTrue(buckets.getDays().isEmpty());
+        assertEquals(List.of(LocalDate.of(2024, 4, 22), LocalDate.of(2024, 4, 29), LocalDate.of(2024, 5, 6)), buckets.getWeeks());
+        assertCoversEachDayOnce(buckets, LocalDate.of(2024, 4, 22), LocalDate.of(2024, 5, 12));
+    }
+
+    @Test
+    void yearRangeNeedsOnlyAFewDozenBuckets() {
+        LocalDate to = LocalDate.of(2024, 10, 18);
+        LocalDate from = to.minusDays(364);
+        DateBuckets buckets = DateBuckets.plan(from, to);
+
+        assertTrue(buckets.size() <= 40, "kova sayısı: " + buckets.size());
+        assertCoversEachDayOnce(buckets, from, to);
+    }
+
+    private static void assertCoversEachDayOnce(DateBuckets buckets, LocalDate from, LocalDate to) {
+        List<LocalDate> covered = new ArrayList<>(buckets.getDays());
+        for (LocalDate week : buckets.getWeeks()) {
+            for (int i = 0; i < 7; i++) {
+                covered.add(week.plusDays(i));
+            }
+        }
+        for (LocalDate month : buckets.getMonths()) {
+            for (LocalDate day = month; day.getMonth() == month.getMonth(); day = day.plusDays(1)) {
+                covered.add(day);
+            }
+        }
+        covered.sort(null);
+        List<LocalDate> expected = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            expected.add(day);
+        }
+        assertEquals(expected, covered);
+    }
+}
@@ -1,7 +1,12 @@
 package com.superapp.nutrilife.profile.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.superapp.nutrilife.profile.dto.CohortQuery;
+import com.superapp.nutrilife.profile.dto.CursorPage;
 import com.superapp.nutrilife.profile.dto.ProfileRequest;
 import com.superapp.nutrilife.profile.dto.ProfileResponse;
+import com.superapp.nutrilife.profile.dto.ProfileSearchCriteria;
+import com.superapp.nutrilife.profile.index.ProfileTagIndex;
 import com.superapp.nutrilife.profile.model.UserProfile;
 import com.superapp.nutrilife.profile.service.UserProfileService;
 import com.superapp.nutrilife.profile.util.JwtUtil;
@@ -15,11 +20,18 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.function.BiFunction;
 
 @RestController
 @RequestMapping("/api/profiles")
@@ -29,8 +41,11 @@ import java.util.List;
 @SecurityRequirement(name = "bearerAuth")
 public class UserProfileController {
     
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    
     private final UserProfileService userProfileService;
     private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
     
     @PostMapping
     @Operation(summary = "Yeni profil oluştur", description = "Kullanıcı için yeni bir profil oluşturur")
@@ -144,14 +159,17 @@ public class UserProfileController {
     }
     
     @GetMapping("/all")
-    @Operation(summary = "Tüm profilleri getir", description = "Sistemdeki tüm profilleri getirir (Admin)")
+    @Operation(summary = "Tüm profilleri getir", description = "Sistemdeki tüm profilleri id sırasıyla cursor tabanlı sayfalar halinde getirir; Accept: application/x-ndjson ile tüm sonuçları akış olarak döner (Admin)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Profiller başarıyla getirildi"),
             @ApiResponse(responseCode = "401", description = "Yetkilendirme hatası"),
             @ApiResponse(responseCode = "403", description = "Yetki yetersiz"),
             @ApiResponse(responseCode = "500", description = "Sunucu hatası")
     })
-    public ResponseEntity<List<ProfileResponse>> getAllProfiles(HttpServletRequest httpRequest) {
+    public ResponseEntity<?> getAllProfiles(
+            @Parameter(description = "Önceki sayfanın nextCursor değeri") @RequestParam(required = false) Long cursor,
+            @Parameter(description = "Sayfa boyutu (en fazla 500)") @RequestParam(defaultValue = "50") int size,
+            HttpServletRequest httpRequest) {
         String token = httpRequest.getHeader("Authorization");
         Long userId = jwtUtil.getUserIdFromToken(token);
         String role = jwtUtil.getRoleFromToken(token);
@@ -166,19 +184,58 @@ public class UserProfileController {
         }
         
         log.info("Tüm profilleri getirme isteği alındı. Kullanıcı ID: {}", userId);
-        List<ProfileResponse> responses = userProfileService.getAllProfiles();
-        return ResponseEntity.ok(responses);
+        return respond(httpRequest, cursor, size, userProfileService::getAllProfiles);
+    }
+    
+    @GetMapping("/search")
+    @Operation(summary = "Çok kriterli profil ara", description = "Hedef, aktivite seviyesi, cinsiyet, yaş ve BMI filtrelerinin herhangi bir kombinasyonuyla tek sorguda arar; sonuçlar cursor tabanlı sayfalıdır, Accept: application/x-ndjson ile akış olarak alınabilir (Admin)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arama tamamlandı"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz aralık"),
+            @ApiResponse(responseCode = "401", description = "Yetkilendirme hatası"),
+            @ApiResponse(responseCode = "403", description = "Yetki yetersiz"),
+            @ApiResponse(responseCode = "500", description = "Sunucu hatası")
+    })
+    public ResponseEntity<?> searchProfiles(
+            @ParameterObject ProfileSearchCriteria criteria,
+            @Parameter(description = "Önceki sayfanın nextCursor değeri") @RequestParam(required = false) Long cursor,
+            @Parameter(description = "Sayfa boyutu (en fazla 500)") @RequestParam(defaultValue = "50") int size,
+            HttpServletRequest httpRequest) {
+        
+        String token = httpRequest.getHeader("Authorization");
+        Long userId = jwtUtil.getUserIdFromToken(token);
+        String role = jwtUtil.getRoleFromToken(token);
+        
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        
+        // Admin kontrolü
+        if (role == null || !role.equals("ADMIN")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        
+        log.info("Çok kriterli profil arama isteği alındı. Kriterler: {}, Kullanıcı ID: {}", criteria, userId);
+        try {
+            // Aralık hataları akış başlamadan yakalansın
+            criteria.validate();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        return respond(httpRequest, cursor, size, (after, limit) -> userProfileService.searchProfiles(criteria, after, limit));
     }
     
     @GetMapping("/search/name")
-    @Operation(summary = "İsme göre profil ara", description = "Ad veya soyada göre profil arar")
+    @Operation(summary = "İsme göre profil ara", description = "Ad veya soyada göre profil arar; sonuçlar cursor tabanlı sayfalıdır, Accept: application/x-ndjson ile akış olarak alınabilir")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Arama tamamlandı"),
             @ApiResponse(responseCode = "401", description = "Yetkilendirme hatası"),
             @ApiResponse(responseCode = "500", description = "Sunucu hatası")
     })
-    public ResponseEntity<List<ProfileResponse>> searchProfilesByName(
+    public ResponseEntity<?> searchProfilesByName(
             @Parameter(description = "Aranacak isim") @RequestParam String name,
+            @Parameter(description = "Önceki sayfanın nextCursor değeri") @RequestParam(required = false) Long cursor,
+            @Parameter(description = "Sayfa boyutu (en fazla 500)") @RequestParam(defaultValue = "50") int size,
             HttpServletRequest httpRequest) {
         
         String token = httpRequest.getHeader("Authorization");
@@ -189,19 +246,20 @@ public class UserProfileController {
         }
         
         log.info("İsme göre profil arama isteği alındı. Arama terimi: {}, Kullanıcı ID: {}", name, userId);
-        List<ProfileResponse> responses = userProfileService.searchProfilesByName(name);
-        return ResponseEntity.ok(responses);
+        return respond(httpRequest, cursor, size, (after, limit) -> userProfileService.searchProfilesByName(name, after, limit));
     }
     
     @GetMapping("/search/goal")
-    @Operation(summary = "Hedefe göre profil ara", description = "Hedef türüne göre profilleri getirir")
+    @Operation(summary = "Hedefe göre profil ara", description = "Hedef türüne göre profilleri getirir; sonuçlar cursor tabanlı sayfalıdır, Accept: application/x-ndjson ile akış olarak alınabilir")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Arama tamamlandı"),
             @ApiResponse(responseCode = "401", description = "Yetkilendirme hatası"),
             @ApiResponse(responseCode = "500", description = "Sunucu hatası")
     })
-    public ResponseEntity<List<ProfileResponse>> getProfilesByGoal(
+    public ResponseEntity<?> getProfilesByGoal(
             @Parameter(description = "Hedef türü") @RequestParam UserProfile.Goal goal,
+            @Parameter(description = "Önceki sayfanın nextCursor değeri") @RequestParam(required = false) Long cursor,
+            @Parameter(description = "Sayfa boyutu (en fazla 500)") @RequestParam(defaultValue = "50") int size,
             HttpServletRequest httpRequest) {
         
         String token = httpRequest.getHeader("Authorization");
@@ -212,19 +270,20 @@ public class UserProfileController {
         }
         
         log.info("Hedefe göre profil arama isteği alındı. Hedef: {}, Kullanıcı ID: {}", goal, userId);
-        List<ProfileResponse> responses = userProfileService.getProfilesByGoal(goal);
-        return ResponseEntity.ok(responses);
+        return respond(httpRequest, cursor, size, (after, limit) -> userProfileService.getProfilesByGoal(goal, after, limit));
     }
     
     @GetMapping("/search/activity")
-    @Operation(summary = "Aktivite seviyesine göre profil ara", description = "Aktivite seviyesine göre profilleri getirir")
+    @Operation(summary = "Aktivite seviyesine göre profil ara", description = "Aktivite seviyesine göre profilleri getirir; sonuçlar cursor tabanlı sayfalıdır, Accept: application/x-ndjson ile akış olarak alınabilir")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Arama tamamlandı"),
             @ApiResponse(responseCode = "401", description = "Yetkilendirme hatası"),
             @ApiResponse(responseCode = "500", description = "Sunucu hatası")
     })
-    public ResponseEntity<List<ProfileResponse>> getProfilesByActivityLevel(
+    public ResponseEntity<?> getProfilesByActivityLevel(
             @Parameter(description = "Aktivite seviyesi") @RequestParam UserProfile.ActivityLevel activityLevel,
+            @Parameter(description = "Önceki sayfanın nextCursor değeri") @RequestParam(required = false) Long cursor,
+            @Parameter(description = "Sayfa boyutu (en fazla 500)") @RequestParam(defaultValue = "50") int size,
             HttpServletRequest httpRequest) {
         
         String token = httpRequest.getHeader("Authorization");
@@ -235,19 +294,20 @@ public class UserProfileController {
         }
         
         log.info("Aktivite seviyesine göre profil arama isteği alındı. Seviye: {}, Kullanıcı ID: {}", activityLevel, userId);
-        List<ProfileResponse> responses = userProfileService.getProfilesByActivityLevel(activityLevel);
-        return ResponseEntity.ok(responses);
+        return respond(httpRequest, cursor, size, (after, limit) -> userProfileService.getProfilesByActivityLevel(activityLevel, after, limit));
     }
     
     @GetMapping("/search/gender")
-    @Operation(summary = "Cinsiyete göre profil ara", description = "Cinsiyete göre profilleri getirir")
+    @Operation(summary = "Cinsiyete göre profil ara", description = "Cinsiyete göre profilleri getirir; sonuçlar cursor tabanlı sayfalıdır, Accept: application/x-ndjson ile akış olarak alınabilir")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Arama tamamlandı"),
             @ApiResponse(responseCode = "401", description = "Yetkilendirme hatası"),
             @ApiResponse(responseCode = "500", description = "Sunucu hatası")
     })
-    public ResponseEntity<List<ProfileResponse>> getProfilesByGender(
+    public ResponseEntity<?> getProfilesByGender(
             @Parameter(description = "Cinsiyet") @RequestParam UserProfile.Gender gender,
+            @Parameter(description = "Önceki sayfanın nextCursor değeri") @RequestParam(required = false) Long cursor,
+            @Parameter(description = "Sayfa boyutu (en fazla 500)") @RequestParam(defaultValue = "50") int size,
             HttpServletRequest httpRequest) {
         
         String token = httpRequest.getHeader("Authorization");
@@ -258,20 +318,21 @@ public class UserProfileController {
         }
         
         log.info("Cinsiyete göre profil arama isteği alındı. Cinsiyet: {}, Kullanıcı ID: {}", gender, userId);
-        List<ProfileResponse> responses = userProfileService.getProfilesByGender(gender);
-        return ResponseEntity.ok(responses);
+        return respond(httpRequest, cursor, size, (after, limit) -> userProfileService.getProfilesByGender(gender, after, limit));
     }
     
     @GetMapping("/search/age")
-    @Operation(summary = "Yaş aralığına göre profil ara", description = "Belirtilen yaş aralığındaki profilleri getirir")
+    @Operation(summary = "Yaş aralığına göre profil ara", description = "Belirtilen yaş aralığındaki profilleri getirir; sonuçlar cursor tabanlı sayfalıdır, Accept: application/x-ndjson ile akış olarak alınabilir")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Arama tamamlandı"),
             @ApiResponse(responseCode = "401", description = "Yetkilendirme hatası"),
             @ApiResponse(responseCode = "500", description = "Sunucu hatası")
     })
-    public ResponseEntity<List<ProfileResponse>> getProfilesByAgeRange(
+    public ResponseEntity<?> getProfilesByAgeRange(
             @Parameter(description = "Minimum yaş") @RequestParam int minAge,
             @Parameter(description = "Maksimum yaş") @RequestParam int maxAge,
+            @Parameter(description = "Önceki sayfanın nextCursor değeri") @RequestParam(required = false) Long cursor,
+            @Parameter(description = "Sayfa boyutu (en fazla 500)") @RequestParam(defaultValue = "50") int size,
             HttpServletRequest httpRequest) {
         
         String token = httpRequest.getHeader("Authorization");
@@ -282,20 +343,21 @@ public class UserProfileController {
         }
         
         log.info("Yaş aralığına göre profil arama isteği alındı. Aralık: {} - {}, Kullanıcı ID: {}", minAge, maxAge, userId);
-        List<ProfileResponse> responses = userProfileService.getProfilesByAgeRange(minAge, maxAge);
-        return ResponseEntity.ok(responses);
+        return respond(httpRequest, cursor, size, (after, limit) -> userProfileService.getProfilesByAgeRange(minAge, maxAge, after, limit));
     }
     
     @GetMapping("/search/bmi")
-    @Operation(summary = "BMI aralığına göre profil ara", description = "Belirtilen BMI aralığındaki profilleri getirir")
+    @Operation(summary = "BMI aralığına göre profil ara", description = "Belirtilen BMI aralığındaki profilleri getirir; sonuçlar cursor tabanlı sayfalıdır, Accept: application/x-ndjson ile akış olarak alınabilir")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Arama tamamlandı"),
             @ApiResponse(responseCode = "401", description = "Yetkilendirme hatası"),
             @ApiResponse(responseCode = "500", description = "Sunucu hatası")
     })
-    public ResponseEntity<List<ProfileResponse>> getProfilesByBmiRange(
+    public ResponseEntity<?> getProfilesByBmiRange(
             @Parameter(description = "Minimum BMI") @RequestParam double minBmi,
             @Parameter(description = "Maksimum BMI") @RequestParam double maxBmi,
+            @Parameter(description = "Önceki sayfanın nextCursor değeri") @RequestParam(required = false) Long cursor,
+            @Parameter(description = "Sayfa boyutu (en fazla 500)") @RequestParam(defaultValue = "50") int size,
             HttpServletRequest httpRequest) {
         
         String token = httpRequest.getHeader("Authorization");
@@ -306,20 +368,21 @@ public class UserProfileController {
         }
         
         log.info("BMI aralığına göre profil arama isteği alındı. Aralık: {} - {}, Kullanıcı ID: {}", minBmi, maxBmi, userId);
-        List<ProfileResponse> responses = userProfileService.getProfilesByBmiRange(minBmi, maxBmi);
-        return ResponseEntity.ok(responses);
+        return respond(httpRequest, cursor, size, (after, limit) -> userProfileService.getProfilesByBmiRange(minBmi, maxBmi, after, limit));
     }
     
     @GetMapping("/search/calories")
-    @Operation(summary = "Kalori hedefine göre profil ara", description = "Belirtilen kalori hedefi aralığındaki profilleri getirir")
+    @Operation(summary = "Kalori hedefine göre profil ara", description = "Belirtilen kalori hedefi aralığındaki profilleri getirir; sonuçlar cursor tabanlı sayfalıdır, Accept: application/x-ndjson ile akış olarak alınabilir")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Arama tamamlandı"),
             @ApiResponse(responseCode = "401", description = "Yetkilendirme hatası"),
             @ApiResponse(responseCode = "500", description = "Sunucu hatası")
     })
-    public ResponseEntity<List<ProfileResponse>> getProfilesByCalorieGoalRange(
+    public ResponseEntity<?> getProfilesByCalorieGoalRange(
             @Parameter(description = "Minimum kalori") @RequestParam int minCalories,
             @Parameter(description = "Maksimum kalori") @RequestParam int maxCalories,
+            @Parameter(description = "Önceki sayfanın nextCursor değeri") @RequestParam(required = false) Long cursor,
+            @Parameter(description = "Sayfa boyutu (en fazla 500)") @RequestParam(defaultValue = "50") int size,
             HttpServletRequest httpRequest) {
         
         String token = httpRequest.getHeader("Authorization");
@@ -330,19 +393,21 @@ public class UserProfileController {
         }
         
         log.info("Kalori hedefine göre profil arama isteği alındı. Aralık: {} - {}, Kullanıcı ID: {}", minCalories, maxCalories, userId);
-        List<ProfileResponse> responses = userProfileService.getProfilesByCalorieGoalRange(minCalories, maxCalories);
-        return ResponseEntity.ok(responses);
+        return respond(httpRequest, cursor, size, (after, limit) -> userProfileService.getProfilesByCalorieGoalRange(minCalories, maxCalories, after, limit));
     }
     
     @GetMapping("/search/allergy")
-    @Operation(summary = "Alerjiye göre profil ara", description = "Belirtilen alerjiyi içeren profilleri getirir")
+    @Operation(summary = "Alerjiye göre profil ara", description = "Belirtilen alerji etiketlerinden herhangi birine ya da hepsine sahip profilleri tam eşleşmeyle getirir; sonuçlar cursor tabanlı sayfalıdır, Accept: application/x-ndjson ile akış olarak alınabilir")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Arama tamamlandı"),
             @ApiResponse(responseCode = "401", description = "Yetkilendirme hatası"),
             @ApiResponse(responseCode = "500", description = "Sunucu hatası")
     })
-    public ResponseEntity<List<ProfileResponse>> getProfilesByAllergy(
-            @Parameter(description = "Alerji türü") @RequestParam String allergy,
+    public ResponseEntity<?> getProfilesByAllergy(
+            @Parameter(description = "Alerji türü; virgülle birden fazla verilebilir") @RequestParam String allergy,
+            @Parameter(description = "ANY: etiketlerden herhangi biri, ALL: hepsi") @RequestParam(defaultValue = "ANY") ProfileTagIndex.Match match,
+            @Parameter(description = "Önceki sayfanın nextCursor değeri") @RequestParam(required = false) Long cursor,
+            @Parameter(description = "Sayfa boyutu (en fazla 500)") @RequestParam(defaultValue = "50") int size,
             HttpServletRequest httpRequest) {
         
         String token = httpRequest.getHeader("Authorization");
@@ -353,19 +418,21 @@ public class UserProfileController {
         }
         
         log.info("Alerjiye göre profil arama isteği alındı. Alerji: {}, Kullanıcı ID: {}", allergy, userId);
-        List<ProfileResponse> responses = userProfileService.getProfilesByAllergy(allergy);
-        return ResponseEntity.ok(responses);
+        return respond(httpRequest, cursor, size, (after, limit) -> userProfileService.getProfilesByAllergy(allergy, match, after, limit));
     }
     
     @GetMapping("/search/dietary")
-    @Operation(summary = "Diyet tercihine göre profil ara", description = "Belirtilen diyet tercihini içeren profilleri getirir")
+    @Operation(summary = "Diyet tercihine göre profil ara", description = "Belirtilen diyet tercihi etiketlerinden herhangi birine ya da hepsine sahip profilleri tam eşleşmeyle getirir; sonuçlar cursor tabanlı sayfalıdır, Accept: application/x-ndjson ile akış olarak alınabilir")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Arama tamamlandı"),
             @ApiResponse(responseCode = "401", description = "Yetkilendirme hatası"),
             @ApiResponse(responseCode = "500", description = "Sunucu hatası")
     })
-    public ResponseEntity<List<ProfileResponse>> getProfilesByDietaryPreference(
-            @Parameter(description = "Diyet tercihi") @RequestParam String preference,
+    public ResponseEntity<?> getProfilesByDietaryPreference(
+            @Parameter(description = "Diyet tercihi; virgülle birden fazla verilebilir") @RequestParam String preference,
+            @Parameter(description = "ANY: etiketlerden herhangi biri, ALL: hepsi") @RequestParam(defaultValue = "ANY") ProfileTagIndex.Match match,
+            @Parameter(description = "Önceki sayfanın nextCursor değeri") @RequestParam(required = false) Long cursor,
+            @Parameter(description = "Sayfa boyutu (en fazla 500)") @RequestParam(defaultValue = "50") int size,
             HttpServletRequest httpRequest) {
         
         String token = httpRequest.getHeader("Authorization");
@@ -376,7 +443,101 @@ public class UserProfileController {
         }
         
         log.info("Diyet tercihine göre profil arama isteği alındı. Tercih: {}, Kullanıcı ID: {}", preference, userId);
-        List<ProfileResponse> responses = userProfileService.getProfilesByDietaryPreference(preference);
-        return ResponseEntity.ok(responses);
+        return respond(httpRequest, cursor, size, (after, limit) -> userProfileService.getProfilesByDietaryPreference(preference, match, after, limit));
+    }
+    
+    @PostMapping("/cohorts/count")
+    @Operation(summary = "Kohort say", description = "Cinsiyet, aktivite seviyesi, hedef, BMI, yaş ve kalori hedefi filtrelerinin and/or/not ile kurulmuş herhangi bir kombinasyonuna uyan profil sayısını bellek içi bitmap indeksinden döner (Admin)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sayım tamamlandı"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz sorgu"),
+            @ApiResponse(responseCode = "401", description = "Yetkilendirme hatası"),
+            @ApiResponse(responseCode = "403", description = "Yetki yetersiz")
+    })
+    public ResponseEntity<?> countCohort(
+            @RequestBody CohortQuery query,
+            HttpServletRequest httpRequest) {
+        
+        String token = httpRequest.getHeader("Authorization");
+        Long userId = jwtUtil.getUserIdFromToken(token);
+        String role = jwtUtil.getRoleFromToken(token);
+        
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        
+        // Admin kontrolü
+        if (role == null || !role.equals("ADMIN")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        
+        try {
+            return ResponseEntity.ok(Map.of("count", userProfileService.countCohort(query)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/cohorts/ids")
+    @Operation(summary = "Kohort profil id'leri", description = "Kohort sorgusuna uyan profil id'lerini artan sırada, cursor tabanlı sayfalar halinde döner (Admin)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Id'ler listelendi"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz sorgu"),
+            @ApiResponse(responseCode = "401", description = "Yetkilendirme hatası"),
+            @ApiResponse(responseCode = "403", description = "Yetki yetersiz")
+    })
+    public ResponseEntity<?> getCohortProfileIds(
+            @RequestBody CohortQuery query,
+            @Parameter(description = "Önceki sayfanın nextCursor değeri") @RequestParam(required = false) Long cursor,
+            @Parameter(description = "Sayfa boyutu (en fazla 500)") @RequestParam(defaultValue = "500") int size,
+            HttpServletRequest httpRequest) {
+        
+        String token = httpRequest.getHeader("Authorization");
+        Long userId = jwtUtil.getUserIdFromToken(token);
+        String role = jwtUtil.getRoleFromToken(token);
+        
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        
+        // Admin kontrolü
+        if (role == null || !role.equals("ADMIN")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        
+        try {
+            return ResponseEntity.ok(userProfileService.getCohortProfileIds(query, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Accept application/x-ndjson ise sorgunun tüm sonuçları satır başına bir JSON olarak akıtılır.
+     * Sonuçlar en büyük sayfa boyutuyla sayfa sayfa okunur; her sayfa kendi kısa transaction'ında
+     * çekildiği için bellekte aynı anda tek sayfa tutulur ve yavaş istemci veritabanı bağlantısını
+     * bekletmez. Aksi halde cursor'dan başlayan tek bir sayfa döner.
+     */
+    private ResponseEntity<?> respond(HttpServletRequest httpRequest, Long cursor, int size,
+                                      BiFunction<Long, Integer, CursorPage<ProfileResponse>> pages) {
+        String accept = httpRequest.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || !accept.contains(APPLICATION_NDJSON_VALUE)) {
+            return ResponseEntity.ok(pages.apply(cursor, size));
+        }
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            Long after = cursor;
+            CursorPage<ProfileResponse> page;
+            do {
+                page = pages.apply(after, UserProfileService.MAX_PAGE_SIZE);
+                for (ProfileResponse profile : page.getItems()) {
+                    out.write(objectMapper.writeValueAsBytes(profile));
+                    out.write('\n');
+                }
+                out.flush();
+                after = page.getNextCursor();
+            } while (page.isHasMore());
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE)).body(body);
     }
 }
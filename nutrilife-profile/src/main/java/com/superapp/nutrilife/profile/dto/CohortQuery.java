@@ -0,0 +1,96 @@
+package com.superapp.nutrilife.profile.dto;
+
+import com.superapp.nutrilife.profile.model.UserProfile;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * /api/profiles/cohorts sorgu ağacı. Her düğümde tam olarak bir alan dolu olmalıdır: and, or ve not
+ * alt düğümleri birleştirir, diğerleri yaprak filtredir. Örnek:
+ * {"and": [{"gender": "FEMALE"}, {"activityLevel": "VERY_ACTIVE"}, {"bmi": {"min": 25, "max": 30}}]}
+ * <p>
+ * Aralıkların verilmeyen sınırı açık kabul edilir. BMI ve kalori aralıkları [min, max) yarı açık,
+ * yaş aralığı [min, max] kapalıdır. not, değeri bilinmeyen profilleri de kapsar.
+ */
+@Data
+public class CohortQuery {
+    
+    public static final int CALORIE_BUCKET = 100;
+    // İndeks sorguyu özyinelemeli değerlendirir; sınırsız iç içe geçme yığını taşırır
+    public static final int MAX_DEPTH = 32;
+    
+    private List<CohortQuery> and;
+    private List<CohortQuery> or;
+    private CohortQuery not;
+    private UserProfile.Gender gender;
+    private UserProfile.ActivityLevel activityLevel;
+    private UserProfile.Goal goal;
+    private Range bmi;
+    private Range age;
+    private Range calories;
+    
+    @Data
+    public static class Range {
+        private Integer min;
+        private Integer max;
+    }
+    
+    /**
+     * Boş ya da birden fazla alanı dolu düğümler, ters aralıklar, kova sınırına oturmayan kalori
+     * değerleri ve MAX_DEPTH'ten derin ağaçlar için IllegalArgumentException fırlatır
+     */
+    public void validate() {
+        validate(1);
+    }
+    
+    private void validate(int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Kohort sorgusu en fazla " + MAX_DEPTH + " seviye iç içe olabilir");
+        }
+        int operators = count(and) + count(or) + count(not) + count(gender) + count(activityLevel)
+                + count(goal) + count(bmi) + count(age) + count(calories);
+        if (operators != 1) {
+            throw new IllegalArgumentException("Her kohort düğümünde tam olarak bir filtre ya da işlem olmalıdır");
+        }
+        if (and != null) {
+            validateAll(and, depth);
+        } else if (or != null) {
+            validateAll(or, depth);
+        } else if (not != null) {
+            not.validate(depth + 1);
+        } else if (bmi != null) {
+            validateRange(bmi, "BMI");
+        } else if (age != null) {
+            validateRange(age, "Yaş");
+        } else if (calories != null) {
+            validateRange(calories, "Kalori");
+            if ((calories.min != null && calories.min % CALORIE_BUCKET != 0)
+                    || (calories.max != null && calories.max % CALORIE_BUCKET != 0)) {
+                throw new IllegalArgumentException("Kalori sınırları " + CALORIE_BUCKET + "'ün katı olmalıdır");
+            }
+        }
+    }
+    
+    private static void validateAll(List<CohortQuery> children, int depth) {
+        if (children.isEmpty()) {
+            throw new IllegalArgumentException("and ve or en az bir alt sorgu içermelidir");
+        }
+        for (CohortQuery child : children) {
+            if (child == null) {
+                throw new IllegalArgumentException("Alt sorgu boş olamaz");
+            }
+            child.validate(depth + 1);
+        }
+    }
+    
+    private static void validateRange(Range range, String name) {
+        if (range.min != null && range.max != null && range.min > range.max) {
+            throw new IllegalArgumentException(name + " aralığının alt sınırı üst sınırından büyük olamaz");
+        }
+    }
+    
+    private static int count(Object value) {
+        return value != null ? 1 : 0;
+    }
+}
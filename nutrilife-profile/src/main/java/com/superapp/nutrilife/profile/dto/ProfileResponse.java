@@ -66,20 +66,13 @@ public class ProfileResponse {
                 .createdAt(profile.getCreatedAt())
                 .updatedAt(profile.getUpdatedAt());
         
-        // Yaş hesaplama
-        if (profile.getBirthDate() != null) {
-            LocalDate now = LocalDate.now();
-            int age = now.getYear() - profile.getBirthDate().getYear();
-            if (now.getDayOfYear() < profile.getBirthDate().getDayOfYear()) {
-                age--;
-            }
-            builder.age(age);
-        }
+        // Türetilmiş metrikler profil satırında saklanır; burada yalnızca okunur
+        builder.age(profile.getAgeOn(LocalDate.now()))
+                .bmr(profile.getBmr())
+                .tdee(profile.getTdee());
         
-        // BMI hesaplama
-        if (profile.getHeight() != null && profile.getWeight() != null) {
-            double heightInMeters = profile.getHeight() / 100.0;
-            double bmi = profile.getWeight() / (heightInMeters * heightInMeters);
+        if (profile.getBmi() != null) {
+            double bmi = profile.getBmi();
             builder.bmi(Math.round(bmi * 10.0) / 10.0);
             
             // BMI kategorisi
@@ -96,27 +89,6 @@ public class ProfileResponse {
             builder.bmiCategory(bmiCategory);
         }
         
-        // BMR hesaplama (Mifflin-St Jeor formülü)
-        if (profile.getHeight() != null && profile.getWeight() != null && profile.getGender() != null) {
-            double heightInCm = profile.getHeight();
-            double weightInKg = profile.getWeight();
-            int age = builder.build().getAge() != null ? builder.build().getAge() : 30;
-            
-            double bmr;
-            if (profile.getGender() == UserProfile.Gender.MALE) {
-                bmr = (10 * weightInKg) + (6.25 * heightInCm) - (5 * age) + 5;
-            } else {
-                bmr = (10 * weightInKg) + (6.25 * heightInCm) - (5 * age) - 161;
-            }
-            builder.bmr((int) Math.round(bmr));
-            
-            // TDEE hesaplama
-            if (profile.getActivityLevel() != null) {
-                double tdee = bmr * profile.getActivityLevel().getMultiplier();
-                builder.tdee((int) Math.round(tdee));
-            }
-        }
-        
         return builder.build();
     }
 }
@@ -0,0 +1,31 @@
+package com.superapp.nutrilife.profile.dto;
+
+import com.superapp.nutrilife.profile.model.UserProfile;
+import lombok.Data;
+
+/**
+ * /api/profiles/search filtreleri. Verilmeyen filtre uygulanmaz, verilenler VE ile birleşir;
+ * aralıkların verilmeyen sınırı açık kabul edilir.
+ */
+@Data
+public class ProfileSearchCriteria {
+    private UserProfile.Goal goal;
+    private UserProfile.ActivityLevel activityLevel;
+    private UserProfile.Gender gender;
+    private Integer minAge;
+    private Integer maxAge;
+    private Double minBmi;
+    private Double maxBmi;
+    
+    /**
+     * Alt sınırı üst sınırından büyük aralıklar için IllegalArgumentException fırlatır
+     */
+    public void validate() {
+        if (minAge != null && maxAge != null && minAge > maxAge) {
+            throw new IllegalArgumentException("Minimum yaş maksimum yaştan büyük olamaz");
+        }
+        if (minBmi != null && maxBmi != null && minBmi > maxBmi) {
+            throw new IllegalArgumentException("Minimum BMI maksimum BMI'dan büyük olamaz");
+        }
+    }
+}
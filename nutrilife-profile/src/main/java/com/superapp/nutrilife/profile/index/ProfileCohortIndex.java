@@ -0,0 +1,349 @@
+package com.superapp.nutrilife.profile.index;
+
+import com.superapp.nutrilife.profile.dto.CohortQuery;
+import com.superapp.nutrilife.profile.model.UserProfile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Admin kohort sayımları için bellek içi roaring bitmap indeksi. Cinsiyet, aktivite seviyesi ve
+ * hedefin her değeri için bir bitmap, BMI (1 birim), yaş (1 yıl) ve kalori hedefi (100 kcal)
+ * kovalarının her biri için bir bitmap tutulur; bit konumu profil id'sidir. Sorgu ağacı bitmap'ler
+ * üzerinde AND/OR/ANDNOT işlemlerine çevrilir, sayım ve id listesi profil satırlarına dokunmadan
+ * hesaplanır. Profil id'lerinin int aralığında olduğu varsayılır.
+ * <p>
+ * İndeks açılışta user_profiles tablosundan yüklenir ve yazmalar commit sonrası uygulanır. Başka
+ * node'lardaki yazmalar ve gün dönümünde değişen yaşlar periyodik yeniden yüklemeyle yansır.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProfileCohortIndex {
+    
+    private static final String LOAD_SQL = "SELECT id, gender, activity_level, goal, bmi, birth_date, daily_calorie_goal FROM user_profiles";
+    private static final int FETCH_SIZE = 1000;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    
+    // Bitmap'ler yerinde güncellendiği için sorgular okuma, yazmalar yazma kilidi altında çalışır
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Bitmaps bitmaps = new Bitmaps();
+    // Yeniden yükleme sürerken değişen profiller; yükleme bitince canlı üyelikleri korunur
+    private Set<Integer> touched;
+    
+    /**
+     * Profilin tüm kova üyeliklerini yeniler
+     */
+    public synchronized void put(UserProfile profile) {
+        int id = Math.toIntExact(profile.getId());
+        LocalDate today = LocalDate.now();
+        lock.writeLock().lock();
+        try {
+            bitmaps.remove(id);
+            bitmaps.add(id, profile.getGender(), profile.getActivityLevel(), profile.getGoal(),
+                    profile.getBmi(), profile.getAgeOn(today), profile.getDailyCalorieGoal());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (touched != null) {
+            touched.add(id);
+        }
+    }
+    
+    public synchronized void remove(Long profileId) {
+        int id = Math.toIntExact(profileId);
+        lock.writeLock().lock();
+        try {
+            bitmaps.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (touched != null) {
+            touched.add(id);
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${nutrilife.profile-cohorts.reload-interval-ms:600000}", initialDelayString = "${nutrilife.profile-cohorts.reload-interval-ms:600000}")
+    public void reload() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            touched = new HashSet<>();
+        }
+        LocalDate today = LocalDate.now();
+        Bitmaps loaded = new Bitmaps();
+        // PostgreSQL fetch size'ı yalnızca autocommit kapalıyken uygular; transaction dışında tablo tek seferde belleğe alınır
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(LOAD_SQL);
+            ps.setFetchSize(FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            Date birthDate = rs.getDate("birth_date");
+            Integer age = birthDate != null ? Period.between(birthDate.toLocalDate(), today).getYears() : null;
+            loaded.add(Math.toIntExact(rs.getLong("id")),
+                    enumValue(UserProfile.Gender.class, rs.getString("gender")),
+                    enumValue(UserProfile.ActivityLevel.class, rs.getString("activity_level")),
+                    enumValue(UserProfile.Goal.class, rs.getString("goal")),
+                    rs.getObject("bmi", Double.class),
+                    age,
+                    rs.getObject("daily_calorie_goal", Integer.class));
+        }));
+        loaded.optimize();
+        int profiles = loaded.all.getCardinality();
+        synchronized (this) {
+            lock.writeLock().lock();
+            try {
+                Bitmaps live = bitmaps;
+                for (int id : touched) {
+                    loaded.copyMembership(id, live);
+                }
+                bitmaps = loaded;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            touched = null;
+        }
+        log.debug("Profil kohort indeksi {} profille {} ms içinde yüklendi", profiles, System.currentTimeMillis() - start);
+    }
+    
+    /**
+     * Sorguya uyan profil sayısı
+     */
+    public int count(CohortQuery query) {
+        lock.readLock().lock();
+        try {
+            return bitmaps.evaluate(query).getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Sorguya uyan profillerin id'lerini, cursor'dan büyük olanlardan başlayarak artan sırada en fazla
+     * limit kadar döner
+     */
+    public long[] findIds(CohortQuery query, long cursor, int limit) {
+        if (limit <= 0 || cursor >= Integer.MAX_VALUE) {
+            return new long[0];
+        }
+        long[] result = new long[limit];
+        int count = 0;
+        lock.readLock().lock();
+        try {
+            PeekableIntIterator ids = bitmaps.evaluate(query).getIntIterator();
+            ids.advanceIfNeeded((int) Math.max(0L, cursor + 1));
+            while (count < limit && ids.hasNext()) {
+                result[count++] = ids.next();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return count == limit ? result : Arrays.copyOf(result, count);
+    }
+    
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String name) {
+        return name != null ? Enum.valueOf(type, name) : null;
+    }
+    
+    private static final class Bitmaps {
+        
+        private final RoaringBitmap all = new RoaringBitmap();
+        private final Map<UserProfile.Gender, RoaringBitmap> genders = new EnumMap<>(UserProfile.Gender.class);
+        private final Map<UserProfile.ActivityLevel, RoaringBitmap> activityLevels = new EnumMap<>(UserProfile.ActivityLevel.class);
+        private final Map<UserProfile.Goal, RoaringBitmap> goals = new EnumMap<>(UserProfile.Goal.class);
+        // Anahtar kovanın alt sınırıdır: BMI ve yaş için tam sayı kısmı, kalori için 100'ün katı
+        private final NavigableMap<Integer, RoaringBitmap> bmis = new TreeMap<>();
+        private final NavigableMap<Integer, RoaringBitmap> ages = new TreeMap<>();
+        private final NavigableMap<Integer, RoaringBitmap> calories = new TreeMap<>();
+        
+        private void add(int id, UserProfile.Gender gender, UserProfile.ActivityLevel activityLevel, UserProfile.Goal goal,
+                         Double bmi, Integer age, Integer dailyCalorieGoal) {
+            all.add(id);
+            if (gender != null) {
+                genders.computeIfAbsent(gender, key -> new RoaringBitmap()).add(id);
+            }
+            if (activityLevel != null) {
+                activityLevels.computeIfAbsent(activityLevel, key -> new RoaringBitmap()).add(id);
+            }
+            if (goal != null) {
+                goals.computeIfAbsent(goal, key -> new RoaringBitmap()).add(id);
+            }
+            if (bmi != null && !bmi.isNaN() && !bmi.isInfinite()) {
+                bmis.computeIfAbsent((int) Math.floor(bmi), key -> new RoaringBitmap()).add(id);
+            }
+            if (age != null) {
+                ages.computeIfAbsent(age, key -> new RoaringBitmap()).add(id);
+            }
+            if (dailyCalorieGoal != null) {
+                int bucket = Math.floorDiv(dailyCalorieGoal, CohortQuery.CALORIE_BUCKET) * CohortQuery.CALORIE_BUCKET;
+                calories.computeIfAbsent(bucket, key -> new RoaringBitmap()).add(id);
+            }
+        }
+        
+        private void remove(int id) {
+            if (!all.checkedRemove(id)) {
+                return;
+            }
+            for (RoaringBitmap bitmap : bitmaps()) {
+                bitmap.remove(id);
+            }
+        }
+        
+        /**
+         * Profilin diğer indeksteki üyeliklerini bu indekse aynen taşır
+         */
+        private void copyMembership(int id, Bitmaps source) {
+            remove(id);
+            if (!source.all.contains(id)) {
+                return;
+            }
+            all.add(id);
+            copy(id, source.genders, genders);
+            copy(id, source.activityLevels, activityLevels);
+            copy(id, source.goals, goals);
+            copy(id, source.bmis, bmis);
+            copy(id, source.ages, ages);
+            copy(id, source.calories, calories);
+        }
+        
+        private static <K> void copy(int id, Map<K, RoaringBitmap> from, Map<K, RoaringBitmap> to) {
+            for (Map.Entry<K, RoaringBitmap> entry : from.entrySet()) {
+                if (entry.getValue().contains(id)) {
+                    to.computeIfAbsent(entry.getKey(), key -> new RoaringBitmap()).add(id);
+                    return;
+                }
+            }
+        }
+        
+        private void optimize() {
+            all.runOptimize();
+            for (RoaringBitmap bitmap : bitmaps()) {
+                bitmap.runOptimize();
+            }
+        }
+        
+        private List<RoaringBitmap> bitmaps() {
+            List<RoaringBitmap> result = new ArrayList<>();
+            result.addAll(genders.values());
+            result.addAll(activityLevels.values());
+            result.addAll(goals.values());
+            result.addAll(bmis.values());
+            result.addAll(ages.values());
+            result.addAll(calories.values());
+            return result;
+        }
+        
+        /**
+         * Sorgu ağacını değerlendirir. Dönen bitmap indeksin kendi bitmap'i olabilir, değiştirilmemelidir.
+         */
+        private RoaringBitmap evaluate(CohortQuery query) {
+            if (query.getAnd() != null) {
+                return and(query.getAnd());
+            }
+            if (query.getOr() != null) {
+                List<RoaringBitmap> children = new ArrayList<>(query.getOr().size());
+                for (CohortQuery child : query.getOr()) {
+                    children.add(evaluate(child));
+                }
+                return FastAggregation.or(children.iterator());
+            }
+            if (query.getNot() != null) {
+                return RoaringBitmap.andNot(all, evaluate(query.getNot()));
+            }
+            if (query.getGender() != null) {
+                return genders.getOrDefault(query.getGender(), new RoaringBitmap());
+            }
+            if (query.getActivityLevel() != null) {
+                return activityLevels.getOrDefault(query.getActivityLevel(), new RoaringBitmap());
+            }
+            if (query.getGoal() != null) {
+                return goals.getOrDefault(query.getGoal(), new RoaringBitmap());
+            }
+            if (query.getBmi() != null) {
+                return range(bmis, query.getBmi().getMin(), query.getBmi().getMax(), false);
+            }
+            if (query.getAge() != null) {
+                return range(ages, query.getAge().getMin(), query.getAge().getMax(), true);
+            }
+            if (query.getCalories() != null) {
+                return range(calories, query.getCalories().getMin(), query.getCalories().getMax(), false);
+            }
+            throw new IllegalArgumentException("Boş kohort sorgusu");
+        }
+        
+        /**
+         * not alt sorguları tümleyen üretmek yerine diğer sonuçlardan çıkarılır
+         */
+        private RoaringBitmap and(List<CohortQuery> children) {
+            List<RoaringBitmap> included = new ArrayList<>();
+            List<RoaringBitmap> excluded = new ArrayList<>();
+            for (CohortQuery child : children) {
+                if (child.getNot() != null) {
+                    excluded.add(evaluate(child.getNot()));
+                } else {
+                    included.add(evaluate(child));
+                }
+            }
+            RoaringBitmap result;
+            if (included.isEmpty()) {
+                result = all;
+            } else if (included.size() == 1) {
+                result = included.get(0);
+            } else {
+                result = FastAggregation.and(included.iterator());
+            }
+            for (RoaringBitmap bitmap : excluded) {
+                result = RoaringBitmap.andNot(result, bitmap);
+            }
+            return result;
+        }
+        
+        private static RoaringBitmap range(NavigableMap<Integer, RoaringBitmap> buckets, Integer min, Integer max, boolean maxInclusive) {
+            Collection<RoaringBitmap> selected;
+            if (min == null && max == null) {
+                selected = buckets.values();
+            } else if (min == null) {
+                selected = buckets.headMap(max, maxInclusive).values();
+            } else if (max == null) {
+                selected = buckets.tailMap(min, true).values();
+            } else {
+                selected = buckets.subMap(min, true, max, maxInclusive).values();
+            }
+            if (selected.isEmpty()) {
+                return new RoaringBitmap();
+            }
+            return FastAggregation.or(selected.iterator());
+        }
+    }
+}
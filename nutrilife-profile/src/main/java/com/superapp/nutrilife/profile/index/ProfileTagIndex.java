@@ -0,0 +1,213 @@
+package com.superapp.nutrilife.profile.index;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Profil etiketleri için bellek içi üyelik indeksi. Her profilin etiketleri sıkı bir long[] bit
+ * kümesi olarak tutulur. Bit konumu etiket id'si değil, etikete indekste ilk görüldüğünde verilen
+ * sıra numarasıdır; böylece veritabanı id'lerindeki boşluklar bit kümelerini büyütmez. Sorgu
+ * etiketleri de aynı şekilde bir maskeye çevrilir; "herhangi biri" ve "hepsi" kontrolleri profil
+ * başına birkaç kelimelik AND işlemidir.
+ * Profiller id sırasıyla tutulduğu için tarama keyset cursor'dan başlar ve sayfa dolunca durur.
+ * <p>
+ * İndeks açılışta user_profile_tags tablosundan yüklenir ve yazmalar commit sonrası uygulanır.
+ * Başka node'lardaki yazmalar periyodik yeniden yüklemeyle yansır.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProfileTagIndex {
+    
+    private static final String LOAD_SQL = "SELECT profile_id, tag_id FROM user_profile_tags ORDER BY profile_id";
+    private static final int FETCH_SIZE = 1000;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    
+    private volatile NavigableMap<Long, long[]> profiles = new ConcurrentSkipListMap<>();
+    // Etiket id'si -> bit konumu; etiketler silinmediği için numaralar hiç değişmez ve yeniden kullanılmaz
+    private final Map<Integer, Integer> ordinals = new ConcurrentHashMap<>();
+    // Yeniden yükleme sürerken değişen profiller; yükleme bitince canlı değerleri korunur
+    private Set<Long> touched;
+    
+    public enum Match {
+        ANY,
+        ALL
+    }
+    
+    /**
+     * Profilin etiketlerini tamamen değiştirir; etiketi olmayan profil indeksten çıkar
+     */
+    public synchronized void put(Long profileId, Collection<Integer> tagIds) {
+        if (tagIds.isEmpty()) {
+            profiles.remove(profileId);
+        } else {
+            profiles.put(profileId, toBits(tagIds));
+        }
+        if (touched != null) {
+            touched.add(profileId);
+        }
+    }
+    
+    public void remove(Long profileId) {
+        put(profileId, Set.of());
+    }
+    
+    @Scheduled(fixedDelayString = "${nutrilife.profile-tags.reload-interval-ms:600000}", initialDelayString = "${nutrilife.profile-tags.reload-interval-ms:600000}")
+    public void reload() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            touched = new HashSet<>();
+        }
+        // Satırlar profile göre sıralı geldiği için her profilin etiketleri ardışıktır; aynı anda tek profil biriktirilir
+        NavigableMap<Long, long[]> loaded = new ConcurrentSkipListMap<>();
+        List<Integer> tagIds = new ArrayList<>();
+        long[] current = {-1L};
+        // PostgreSQL fetch size'ı yalnızca autocommit kapalıyken uygular; transaction dışında tablo tek seferde belleğe alınır
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(LOAD_SQL);
+            ps.setFetchSize(FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            long profileId = rs.getLong("profile_id");
+            if (profileId != current[0] && !tagIds.isEmpty()) {
+                loaded.put(current[0], toBits(tagIds));
+                tagIds.clear();
+            }
+            current[0] = profileId;
+            tagIds.add(rs.getInt("tag_id"));
+        }));
+        if (!tagIds.isEmpty()) {
+            loaded.put(current[0], toBits(tagIds));
+        }
+        synchronized (this) {
+            NavigableMap<Long, long[]> live = profiles;
+            for (Long profileId : touched) {
+                long[] bits = live.get(profileId);
+                if (bits != null) {
+                    loaded.put(profileId, bits);
+                } else {
+                    loaded.remove(profileId);
+                }
+            }
+            profiles = loaded;
+            touched = null;
+        }
+        log.debug("Profil etiket indeksi {} profille {} ms içinde yüklendi", loaded.size(), System.currentTimeMillis() - start);
+    }
+    
+    /**
+     * Etiketlerden herhangi birine (ANY) ya da hepsine (ALL) sahip profillerin id'lerini, cursor'dan
+     * büyük olanlardan başlayarak artan sırada en fazla limit kadar döner
+     */
+    public long[] find(Collection<Integer> tagIds, Match match, long cursor, int limit) {
+        if (tagIds.isEmpty() || limit <= 0) {
+            return new long[0];
+        }
+        long[] mask = toMask(tagIds, match);
+        if (mask.length == 0) {
+            return new long[0];
+        }
+        long[] result = new long[limit];
+        int count = 0;
+        for (Map.Entry<Long, long[]> entry : profiles.tailMap(cursor, false).entrySet()) {
+            if (match == Match.ALL ? containsAll(entry.getValue(), mask) : intersects(entry.getValue(), mask)) {
+                result[count++] = entry.getKey();
+                if (count == limit) {
+                    break;
+                }
+            }
+        }
+        return count == limit ? result : Arrays.copyOf(result, count);
+    }
+    
+    private long[] toBits(Collection<Integer> tagIds) {
+        int[] positions = new int[tagIds.size()];
+        int i = 0;
+        for (int tagId : tagIds) {
+            positions[i++] = ordinal(tagId);
+        }
+        return bits(positions, positions.length);
+    }
+    
+    /**
+     * Sorgu maskesi. İndekste hiç görülmemiş bir etiketi taşıyan profil yoktur: ANY'de atlanır,
+     * ALL'da sonuç boştur; bu durumda boş maske döner
+     */
+    private long[] toMask(Collection<Integer> tagIds, Match match) {
+        int[] positions = new int[tagIds.size()];
+        int count = 0;
+        for (int tagId : tagIds) {
+            Integer position = ordinals.get(tagId);
+            if (position != null) {
+                positions[count++] = position;
+            } else if (match == Match.ALL) {
+                return new long[0];
+            }
+        }
+        return count == 0 ? new long[0] : bits(positions, count);
+    }
+    
+    private int ordinal(int tagId) {
+        Integer position = ordinals.get(tagId);
+        if (position != null) {
+            return position;
+        }
+        synchronized (ordinals) {
+            return ordinals.computeIfAbsent(tagId, id -> ordinals.size());
+        }
+    }
+    
+    private static long[] bits(int[] positions, int count) {
+        int max = 0;
+        for (int i = 0; i < count; i++) {
+            max = Math.max(max, positions[i]);
+        }
+        long[] bits = new long[(max >>> 6) + 1];
+        for (int i = 0; i < count; i++) {
+            bits[positions[i] >>> 6] |= 1L << positions[i];
+        }
+        return bits;
+    }
+    
+    private static boolean intersects(long[] bits, long[] mask) {
+        int words = Math.min(bits.length, mask.length);
+        for (int i = 0; i < words; i++) {
+            if ((bits[i] & mask[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static boolean containsAll(long[] bits, long[] mask) {
+        for (int i = 0; i < mask.length; i++) {
+            long word = i < bits.length ? bits[i] : 0L;
+            if ((word & mask[i]) != mask[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,49 @@
+package com.superapp.nutrilife.profile.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Alerji, tıbbi durum ve diyet tercihi sözlüğü. Her farklı etiket bir kez saklanır; profiller
+ * etiketlere user_profile_tags tablosu üzerinden bağlanır. Bellek içi indeks id'leri kendi sıkı
+ * sıra numaralarına çevirip bit konumu olarak kullanır.
+ */
+@Entity
+@Table(name = "profile_tags", uniqueConstraints = @UniqueConstraint(name = "uk_profile_tags_type_name", columnNames = {"type", "name"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileTag {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private Type type;
+    
+    // Küçük harfe çevrilmiş ve kırpılmış ad (bkz. ProfileTagService.normalize)
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+    
+    public enum Type {
+        ALLERGY("Alerji"),
+        MEDICAL_CONDITION("Tıbbi Durum"),
+        DIETARY_PREFERENCE("Diyet Tercihi");
+        
+        private final String displayName;
+        
+        Type(String displayName) {
+            this.displayName = displayName;
+        }
+        
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+}
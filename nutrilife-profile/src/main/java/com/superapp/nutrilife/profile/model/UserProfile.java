@@ -5,13 +5,29 @@ import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
-@Table(name = "user_profiles")
+// /api/profiles/search kombinasyonları için: eşitlik filtreleri önde, doğum tarihi aralığı sonda.
+// Hedef verilirse ilk, verilmeyip aktivite verilirse ikinci, yalnızca cinsiyet ya da yaş verilirse son ikisi kullanılır.
+@Table(name = "user_profiles", indexes = {
+        @Index(name = "idx_user_profiles_goal_activity_gender_birth", columnList = "goal, activity_level, gender, birth_date"),
+        @Index(name = "idx_user_profiles_activity_gender_birth", columnList = "activity_level, gender, birth_date"),
+        @Index(name = "idx_user_profiles_gender_birth", columnList = "gender, birth_date"),
+        @Index(name = "idx_user_profiles_birth_date", columnList = "birth_date"),
+        @Index(name = "idx_user_profiles_bmi", columnList = "bmi"),
+        @Index(name = "idx_user_profiles_metrics_refresh_on", columnList = "metrics_refresh_on")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -83,6 +99,17 @@ public class UserProfile {
     @Column(name = "dietary_preferences", columnDefinition = "TEXT")
     private String dietaryPreferences; // Virgülle ayrılmış diyet tercihleri
     
+    // allergies, medicalConditions ve dietaryPreferences metinlerinin sözlük etiketleri; aramalar bunları kullanır
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "user_profile_tags",
+            joinColumns = @JoinColumn(name = "profile_id"),
+            inverseJoinColumns = @JoinColumn(name = "tag_id"),
+            indexes = @Index(name = "idx_user_profile_tags_tag", columnList = "tag_id"))
+    @Builder.Default
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Set<ProfileTag> tags = new HashSet<>();
+    
     @Column(name = "profile_picture_url")
     private String profilePictureUrl;
     
@@ -90,6 +117,23 @@ public class UserProfile {
     @Size(max = 500, message = "Biyografi en fazla 500 karakter olabilir")
     private String bio;
     
+    // Boy ve kilodan veritabanında hesaplanır; BMI aralık aramaları bu sütunun indeksini kullanır
+    @Column(name = "bmi", insertable = false, updatable = false,
+            columnDefinition = "double precision GENERATED ALWAYS AS (weight * 10000 / (height * height)) STORED")
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    private Double bmi;
+    
+    // Yaşa bağlı oldukları için generated column olamazlar; her yazmada ve yaş değiştiğinde yeniden hesaplanır
+    @Column(name = "bmr")
+    private Integer bmr; // Bazal Metabolizma Hızı
+    
+    @Column(name = "tdee")
+    private Integer tdee; // Toplam Günlük Enerji Harcaması
+    
+    // BMR hesabında kullanılan yaşın değişeceği gün (bir sonraki doğum günü)
+    @Column(name = "metrics_refresh_on")
+    private LocalDate metricsRefreshOn;
+    
     @Column(name = "created_at")
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
@@ -102,11 +146,44 @@ public class UserProfile {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        refreshMetrics(LocalDate.now());
     }
     
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        refreshMetrics(LocalDate.now());
+    }
+    
+    /**
+     * Verilen gündeki tam yaş; doğum tarihi yoksa null
+     */
+    public Integer getAgeOn(LocalDate date) {
+        return birthDate != null ? Period.between(birthDate, date).getYears() : null;
+    }
+    
+    /**
+     * BMR (Mifflin-St Jeor) ve TDEE değerlerini verilen güne göre yeniden hesaplar.
+     * Doğum tarihi bilinmiyorsa yaş 30 kabul edilir.
+     */
+    public void refreshMetrics(LocalDate today) {
+        bmr = null;
+        tdee = null;
+        metricsRefreshOn = null;
+        if (height == null || weight == null || gender == null) {
+            return;
+        }
+        Integer age = getAgeOn(today);
+        double value = (10 * weight) + (6.25 * height) - (5 * (age != null ? age : 30)) + (gender == Gender.MALE ? 5 : -161);
+        bmr = (int) Math.round(value);
+        if (activityLevel != null) {
+            tdee = (int) Math.round(value * activityLevel.getMultiplier());
+        }
+        if (age != null) {
+            // 29 Şubat doğumlularda plusYears 28 Şubat'a yuvarlar, Period ise yaşı 1 Mart'ta artırır
+            LocalDate nextBirthday = birthDate.plusYears(age + 1L);
+            metricsRefreshOn = nextBirthday.isAfter(today) ? nextBirthday : today.plusDays(1);
+        }
     }
     
     // Enum tanımları
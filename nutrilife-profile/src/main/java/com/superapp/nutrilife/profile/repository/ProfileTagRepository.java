@@ -0,0 +1,17 @@
+package com.superapp.nutrilife.profile.repository;
+
+import com.superapp.nutrilife.profile.model.ProfileTag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProfileTagRepository extends JpaRepository<ProfileTag, Integer> {
+    
+    /**
+     * Verilen türdeki adlardan sözlükte bulunanları getirir
+     */
+    List<ProfileTag> findByTypeAndNameIn(ProfileTag.Type type, Collection<String> names);
+}
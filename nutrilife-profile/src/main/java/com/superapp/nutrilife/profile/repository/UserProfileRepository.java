@@ -1,16 +1,20 @@
 package com.superapp.nutrilife.profile.repository;
 
 import com.superapp.nutrilife.profile.model.UserProfile;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserProfileRepository extends JpaRepository<UserProfile, Long> {
+public interface UserProfileRepository extends JpaRepository<UserProfile, Long>, JpaSpecificationExecutor<UserProfile> {
     
     /**
      * Kullanıcı ID'sine göre profil bulur
@@ -22,62 +26,80 @@ public interface UserProfileRepository extends JpaRepository<UserProfile, Long>
      */
     boolean existsByUserId(Long userId);
     
+    // Aşağıdaki aramaların hepsi keyset sayfalıdır: id > cursor, id sırasıyla, OFFSET yok
+    
+    /**
+     * Tüm profilleri id sırasıyla getirir
+     */
+    List<UserProfile> findByIdGreaterThanOrderByIdAsc(Long cursor, Pageable pageable);
+    
     /**
      * Ad veya soyada göre profil arar
      */
     @Query("SELECT p FROM UserProfile p WHERE " +
-           "LOWER(p.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
-           "LOWER(p.lastName) LIKE LOWER(CONCAT('%', :name, '%'))")
-    List<UserProfile> findByNameContainingIgnoreCase(@Param("name") String name);
+           "(LOWER(p.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
+           "LOWER(p.lastName) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
+           "p.id > :cursor ORDER BY p.id")
+    List<UserProfile> findByNameContainingIgnoreCase(@Param("name") String name, @Param("cursor") Long cursor, Pageable pageable);
     
     /**
      * Hedef türüne göre profilleri getirir
      */
-    List<UserProfile> findByGoal(UserProfile.Goal goal);
+    List<UserProfile> findByGoalAndIdGreaterThanOrderByIdAsc(UserProfile.Goal goal, Long cursor, Pageable pageable);
     
     /**
      * Aktivite seviyesine göre profilleri getirir
      */
-    List<UserProfile> findByActivityLevel(UserProfile.ActivityLevel activityLevel);
+    List<UserProfile> findByActivityLevelAndIdGreaterThanOrderByIdAsc(UserProfile.ActivityLevel activityLevel, Long cursor, Pageable pageable);
     
     /**
      * Cinsiyete göre profilleri getirir
      */
-    List<UserProfile> findByGender(UserProfile.Gender gender);
+    List<UserProfile> findByGenderAndIdGreaterThanOrderByIdAsc(UserProfile.Gender gender, Long cursor, Pageable pageable);
     
     /**
-     * Yaş aralığına göre profilleri getirir
+     * Doğum tarihi aralığına göre profilleri getirir (yaş aralığı servis tarafında bu aralığa çevrilir)
      */
     @Query("SELECT p FROM UserProfile p WHERE " +
-           "YEAR(CURRENT_DATE) - YEAR(p.birthDate) BETWEEN :minAge AND :maxAge")
-    List<UserProfile> findByAgeRange(@Param("minAge") int minAge, @Param("maxAge") int maxAge);
+           "p.birthDate > :bornAfter AND p.birthDate <= :bornOnOrBefore AND " +
+           "p.id > :cursor ORDER BY p.id")
+    List<UserProfile> findByBirthDateRange(@Param("bornAfter") LocalDate bornAfter, @Param("bornOnOrBefore") LocalDate bornOnOrBefore, @Param("cursor") Long cursor, Pageable pageable);
     
     /**
      * BMI aralığına göre profilleri getirir
      */
     @Query("SELECT p FROM UserProfile p WHERE " +
-           "p.height IS NOT NULL AND p.weight IS NOT NULL AND " +
-           "(p.weight / POWER(p.height / 100.0, 2)) BETWEEN :minBmi AND :maxBmi")
-    List<UserProfile> findByBmiRange(@Param("minBmi") double minBmi, @Param("maxBmi") double maxBmi);
+           "p.bmi BETWEEN :minBmi AND :maxBmi AND " +
+           "p.id > :cursor ORDER BY p.id")
+    List<UserProfile> findByBmiRange(@Param("minBmi") double minBmi, @Param("maxBmi") double maxBmi, @Param("cursor") Long cursor, Pageable pageable);
     
     /**
      * Günlük kalori hedefine göre profilleri getirir
      */
     @Query("SELECT p FROM UserProfile p WHERE " +
-           "p.dailyCalorieGoal BETWEEN :minCalories AND :maxCalories")
-    List<UserProfile> findByCalorieGoalRange(@Param("minCalories") int minCalories, @Param("maxCalories") int maxCalories);
+           "p.dailyCalorieGoal BETWEEN :minCalories AND :maxCalories AND " +
+           "p.id > :cursor ORDER BY p.id")
+    List<UserProfile> findByCalorieGoalRange(@Param("minCalories") int minCalories, @Param("maxCalories") int maxCalories, @Param("cursor") Long cursor, Pageable pageable);
     
     /**
-     * Alerji içeren profilleri getirir
+     * Verilen id'lerdeki profilleri id sırasıyla getirir
      */
-    @Query("SELECT p FROM UserProfile p WHERE " +
-           "LOWER(p.allergies) LIKE LOWER(CONCAT('%', :allergy, '%'))")
-    List<UserProfile> findByAllergyContaining(@Param("allergy") String allergy);
+    List<UserProfile> findByIdInOrderByIdAsc(Collection<Long> ids);
     
     /**
-     * Diyet tercihi içeren profilleri getirir
+     * Etiket metni olup henüz sözlük etiketlerine bağlanmamış profiller (etiket tablosundan önce yazılanlar)
      */
-    @Query("SELECT p FROM UserProfile p WHERE " +
-           "LOWER(p.dietaryPreferences) LIKE LOWER(CONCAT('%', :preference, '%'))")
-    List<UserProfile> findByDietaryPreferenceContaining(@Param("preference") String preference);
+    @Query("SELECT p FROM UserProfile p WHERE p.id > :cursor AND p.tags IS EMPTY AND " +
+           "(p.allergies IS NOT NULL OR p.medicalConditions IS NOT NULL OR p.dietaryPreferences IS NOT NULL) " +
+           "ORDER BY p.id")
+    List<UserProfile> findTagBackfillCandidates(@Param("cursor") Long cursor, Pageable pageable);
+    
+    /**
+     * BMR/TDEE değerleri yenilenmesi gereken profiller: yaşı değişenler ve metrikleri hiç
+     * hesaplanmamış olanlar
+     */
+    @Query("SELECT p FROM UserProfile p WHERE p.metricsRefreshOn <= :today OR " +
+           "(p.bmr IS NULL AND p.height IS NOT NULL AND p.weight IS NOT NULL AND p.gender IS NOT NULL) " +
+           "ORDER BY p.id")
+    List<UserProfile> findMetricsDue(@Param("today") LocalDate today, Pageable pageable);
 }
@@ -0,0 +1,84 @@
+package com.superapp.nutrilife.profile.repository;
+
+import com.superapp.nutrilife.profile.dto.ProfileSearchCriteria;
+import com.superapp.nutrilife.profile.model.UserProfile;
+import jakarta.persistence.criteria.Expression;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+/**
+ * Çok kriterli profil araması için dinamik sorgu parçaları. Yalnızca verilen filtreler sorguya
+ * eklenir; böylece planlayıcı her kombinasyon için UserProfile üzerindeki bileşik indekslerden
+ * uygun olanı seçebilir.
+ */
+public final class UserProfileSpecifications {
+    
+    private UserProfileSpecifications() {
+    }
+    
+    public static Specification<UserProfile> matching(ProfileSearchCriteria criteria, LocalDate today) {
+        Specification<UserProfile> spec = Specification.where(null);
+        if (criteria.getGoal() != null) {
+            spec = spec.and(hasGoal(criteria.getGoal()));
+        }
+        if (criteria.getActivityLevel() != null) {
+            spec = spec.and(hasActivityLevel(criteria.getActivityLevel()));
+        }
+        if (criteria.getGender() != null) {
+            spec = spec.and(hasGender(criteria.getGender()));
+        }
+        if (criteria.getMinAge() != null || criteria.getMaxAge() != null) {
+            spec = spec.and(ageBetween(criteria.getMinAge(), criteria.getMaxAge(), today));
+        }
+        if (criteria.getMinBmi() != null || criteria.getMaxBmi() != null) {
+            spec = spec.and(bmiBetween(criteria.getMinBmi(), criteria.getMaxBmi()));
+        }
+        return spec;
+    }
+    
+    public static Specification<UserProfile> idGreaterThan(Long cursor) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), cursor);
+    }
+    
+    public static Specification<UserProfile> hasGoal(UserProfile.Goal goal) {
+        return (root, query, cb) -> cb.equal(root.get("goal"), goal);
+    }
+    
+    public static Specification<UserProfile> hasActivityLevel(UserProfile.ActivityLevel activityLevel) {
+        return (root, query, cb) -> cb.equal(root.get("activityLevel"), activityLevel);
+    }
+    
+    public static Specification<UserProfile> hasGender(UserProfile.Gender gender) {
+        return (root, query, cb) -> cb.equal(root.get("gender"), gender);
+    }
+    
+    /**
+     * Yaş sınırları doğum tarihi aralığına çevrilir; birth_date sütununa fonksiyon uygulanmadığı
+     * için koşul indeks üzerinden aralık taraması olarak çalışır.
+     */
+    public static Specification<UserProfile> ageBetween(Integer minAge, Integer maxAge, LocalDate today) {
+        return (root, query, cb) -> {
+            Expression<LocalDate> birthDate = root.get("birthDate");
+            if (minAge != null && maxAge != null) {
+                // maxAge yaşındaki biri en erken today - (maxAge + 1) yıl + 1 gün doğmuştur
+                return cb.and(
+                        cb.lessThanOrEqualTo(birthDate, today.minusYears(minAge)),
+                        cb.greaterThan(birthDate, today.minusYears(maxAge + 1L)));
+            }
+            return minAge != null
+                    ? cb.lessThanOrEqualTo(birthDate, today.minusYears(minAge))
+                    : cb.greaterThan(birthDate, today.minusYears(maxAge + 1L));
+        };
+    }
+    
+    public static Specification<UserProfile> bmiBetween(Double minBmi, Double maxBmi) {
+        return (root, query, cb) -> {
+            Expression<Double> bmi = root.get("bmi");
+            if (minBmi != null && maxBmi != null) {
+                return cb.between(bmi, minBmi, maxBmi);
+            }
+            return minBmi != null ? cb.greaterThanOrEqualTo(bmi, minBmi) : cb.lessThanOrEqualTo(bmi, maxBmi);
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package com.superapp.nutrilife.profile.service;
+
+import com.superapp.nutrilife.profile.model.ProfileTag;
+import com.superapp.nutrilife.profile.repository.ProfileTagRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Virgülle ayrılmış alerji, tıbbi durum ve diyet tercihi metinlerini sözlük etiketlerine çevirir
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ProfileTagService {
+    
+    private static final Locale TURKISH = Locale.forLanguageTag("tr");
+    private static final int MAX_NAME_LENGTH = 100;
+    
+    // Eşzamanlı iki profil aynı yeni etiketi eklerse biri sessizce mevcut satırı kullanır. Çakışan
+    // satır da IDENTITY değeri tüketir; bu yüzden yalnızca sözlükte bulunmayan adlar eklenir
+    private static final String INSERT_TAG_SQL =
+            "INSERT INTO profile_tags (type, name) VALUES (?, ?) ON CONFLICT (type, name) DO NOTHING";
+    
+    private final ProfileTagRepository profileTagRepository;
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Metindeki etiketleri döner; sözlükte olmayanlar eklenir
+     */
+    public Set<ProfileTag> resolveTags(ProfileTag.Type type, String text) {
+        Set<String> names = normalize(text);
+        if (names.isEmpty()) {
+            return new HashSet<>();
+        }
+        Set<ProfileTag> tags = new HashSet<>(profileTagRepository.findByTypeAndNameIn(type, names));
+        if (tags.size() == names.size()) {
+            return tags;
+        }
+        Set<String> missing = new LinkedHashSet<>(names);
+        tags.forEach(tag -> missing.remove(tag.getName()));
+        List<Object[]> rows = new ArrayList<>(missing.size());
+        for (String name : missing) {
+            rows.add(new Object[]{type.name(), name});
+        }
+        jdbcTemplate.batchUpdate(INSERT_TAG_SQL, rows);
+        tags.addAll(profileTagRepository.findByTypeAndNameIn(type, missing));
+        return tags;
+    }
+    
+    /**
+     * Metindeki etiketlerden sözlükte bulunanların id'lerini döner; bilinmeyen etiketler atlanır
+     */
+    @Transactional(readOnly = true)
+    public List<Integer> findTagIds(ProfileTag.Type type, Set<String> names) {
+        if (names.isEmpty()) {
+            return List.of();
+        }
+        return profileTagRepository.findByTypeAndNameIn(type, names).stream()
+                .map(ProfileTag::getId)
+                .toList();
+    }
+    
+    /**
+     * Virgülle ayrılmış metni kırpılmış, küçük harfli ve tekrarsız etiket adlarına ayırır
+     */
+    public static Set<String> normalize(String text) {
+        Set<String> names = new LinkedHashSet<>();
+        if (text == null) {
+            return names;
+        }
+        for (String part : text.split(",")) {
+            String name = part.trim().replaceAll("\\s+", " ").toLowerCase(TURKISH);
+            if (!name.isEmpty()) {
+                names.add(name.length() > MAX_NAME_LENGTH ? name.substring(0, MAX_NAME_LENGTH) : name);
+            }
+        }
+        return names;
+    }
+}
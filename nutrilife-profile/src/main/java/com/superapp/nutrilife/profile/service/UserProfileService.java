@@ -1,24 +1,53 @@
 package com.superapp.nutrilife.profile.service;
 
+import com.superapp.nutrilife.profile.dto.CohortQuery;
+import com.superapp.nutrilife.profile.dto.CursorPage;
 import com.superapp.nutrilife.profile.dto.ProfileRequest;
 import com.superapp.nutrilife.profile.dto.ProfileResponse;
+import com.superapp.nutrilife.profile.dto.ProfileSearchCriteria;
+import com.superapp.nutrilife.profile.index.ProfileCohortIndex;
+import com.superapp.nutrilife.profile.index.ProfileTagIndex;
+import com.superapp.nutrilife.profile.model.ProfileTag;
 import com.superapp.nutrilife.profile.model.UserProfile;
 import com.superapp.nutrilife.profile.repository.UserProfileRepository;
+import com.superapp.nutrilife.profile.repository.UserProfileSpecifications;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
+import static com.superapp.nutrilife.profile.util.TransactionUtils.afterCommit;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
 public class UserProfileService {
     
+    public static final int MAX_PAGE_SIZE = 500;
+    
     private final UserProfileRepository userProfileRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ProfileTagService profileTagService;
+    private final ProfileTagIndex profileTagIndex;
+    private final ProfileCohortIndex profileCohortIndex;
     
     /**
      * Yeni profil oluşturur
@@ -50,8 +79,11 @@ public class UserProfileService {
                 .profilePictureUrl(request.getProfilePictureUrl())
                 .bio(request.getBio())
                 .build();
+        profile.setTags(resolveTags(request));
         
         UserProfile savedProfile = userProfileRepository.save(profile);
+        indexTags(savedProfile);
+        afterCommit(() -> profileCohortIndex.put(savedProfile));
         log.info("Profil başarıyla oluşturuldu. Profil ID: {}", savedProfile.getId());
         
         return ProfileResponse.fromUserProfile(savedProfile);
@@ -83,8 +115,12 @@ public class UserProfileService {
         existingProfile.setDietaryPreferences(request.getDietaryPreferences());
         existingProfile.setProfilePictureUrl(request.getProfilePictureUrl());
         existingProfile.setBio(request.getBio());
+        existingProfile.setTags(resolveTags(request));
         
-        UserProfile updatedProfile = userProfileRepository.save(existingProfile);
+        // @PreUpdate ve generated BMI flush'ta çalışır; flush edilmezse yanıt eski BMI/BMR/TDEE'yi taşır
+        UserProfile updatedProfile = userProfileRepository.saveAndFlush(existingProfile);
+        indexTags(updatedProfile);
+        afterCommit(() -> profileCohortIndex.put(updatedProfile));
         log.info("Profil başarıyla güncellendi. Profil ID: {}", updatedProfile.getId());
         
         return ProfileResponse.fromUserProfile(updatedProfile);
@@ -121,6 +157,10 @@ public class UserProfileService {
                 .orElseThrow(() -> new IllegalArgumentException("Kullanıcı profili bulunamadı"));
         
         userProfileRepository.delete(profile);
+        afterCommit(() -> {
+            profileTagIndex.remove(profile.getId());
+            profileCohortIndex.remove(profile.getId());
+        });
         log.info("Profil başarıyla silindi. Profil ID: {}", profile.getId());
     }
     
@@ -128,119 +168,263 @@ public class UserProfileService {
      * Tüm profilleri getirir (admin için)
      */
     @Transactional(readOnly = true)
-    public List<ProfileResponse> getAllProfiles() {
-        log.info("Tüm profiller getiriliyor");
+    public CursorPage<ProfileResponse> getAllProfiles(Long cursor, int size) {
+        log.info("Tüm profiller getiriliyor. Cursor: {}", cursor);
         
-        return userProfileRepository.findAll().stream()
-                .map(ProfileResponse::fromUserProfile)
-                .collect(Collectors.toList());
+        return page(cursor, size, userProfileRepository::findByIdGreaterThanOrderByIdAsc);
+    }
+    
+    /**
+     * Hedef, aktivite seviyesi, cinsiyet, yaş ve BMI filtrelerinin herhangi bir kombinasyonuyla
+     * profil arar; tüm filtreler tek sorguda uygulanır
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ProfileResponse> searchProfiles(ProfileSearchCriteria criteria, Long cursor, int size) {
+        log.info("Çok kriterli profil araması: {}, cursor: {}", criteria, cursor);
+        
+        criteria.validate();
+        Specification<UserProfile> filters = UserProfileSpecifications.matching(criteria, LocalDate.now());
+        return page(cursor, size, (after, pageable) -> userProfileRepository.findBy(
+                filters.and(UserProfileSpecifications.idGreaterThan(after)),
+                query -> query.sortBy(Sort.by("id")).limit(pageable.getPageSize()).all()));
     }
     
     /**
      * İsme göre profil arar
      */
     @Transactional(readOnly = true)
-    public List<ProfileResponse> searchProfilesByName(String name) {
-        log.info("İsim ile profil aranıyor: {}", name);
+    public CursorPage<ProfileResponse> searchProfilesByName(String name, Long cursor, int size) {
+        log.info("İsim ile profil aranıyor: {}, cursor: {}", name, cursor);
         
-        return userProfileRepository.findByNameContainingIgnoreCase(name).stream()
-                .map(ProfileResponse::fromUserProfile)
-                .collect(Collectors.toList());
+        return page(cursor, size, (after, pageable) -> userProfileRepository.findByNameContainingIgnoreCase(name, after, pageable));
     }
     
     /**
      * Hedef türüne göre profilleri getirir
      */
     @Transactional(readOnly = true)
-    public List<ProfileResponse> getProfilesByGoal(UserProfile.Goal goal) {
-        log.info("Hedef türüne göre profiller getiriliyor: {}", goal);
+    public CursorPage<ProfileResponse> getProfilesByGoal(UserProfile.Goal goal, Long cursor, int size) {
+        log.info("Hedef türüne göre profiller getiriliyor: {}, cursor: {}", goal, cursor);
         
-        return userProfileRepository.findByGoal(goal).stream()
-                .map(ProfileResponse::fromUserProfile)
-                .collect(Collectors.toList());
+        return page(cursor, size, (after, pageable) -> userProfileRepository.findByGoalAndIdGreaterThanOrderByIdAsc(goal, after, pageable));
     }
     
     /**
      * Aktivite seviyesine göre profilleri getirir
      */
     @Transactional(readOnly = true)
-    public List<ProfileResponse> getProfilesByActivityLevel(UserProfile.ActivityLevel activityLevel) {
-        log.info("Aktivite seviyesine göre profiller getiriliyor: {}", activityLevel);
+    public CursorPage<ProfileResponse> getProfilesByActivityLevel(UserProfile.ActivityLevel activityLevel, Long cursor, int size) {
+        log.info("Aktivite seviyesine göre profiller getiriliyor: {}, cursor: {}", activityLevel, cursor);
         
-        return userProfileRepository.findByActivityLevel(activityLevel).stream()
-                .map(ProfileResponse::fromUserProfile)
-                .collect(Collectors.toList());
+        return page(cursor, size, (after, pageable) -> userProfileRepository.findByActivityLevelAndIdGreaterThanOrderByIdAsc(activityLevel, after, pageable));
     }
     
     /**
      * Cinsiyete göre profilleri getirir
      */
     @Transactional(readOnly = true)
-    public List<ProfileResponse> getProfilesByGender(UserProfile.Gender gender) {
-        log.info("Cinsiyete göre profiller getiriliyor: {}", gender);
+    public CursorPage<ProfileResponse> getProfilesByGender(UserProfile.Gender gender, Long cursor, int size) {
+        log.info("Cinsiyete göre profiller getiriliyor: {}, cursor: {}", gender, cursor);
         
-        return userProfileRepository.findByGender(gender).stream()
-                .map(ProfileResponse::fromUserProfile)
-                .collect(Collectors.toList());
+        return page(cursor, size, (after, pageable) -> userProfileRepository.findByGenderAndIdGreaterThanOrderByIdAsc(gender, after, pageable));
     }
     
     /**
      * Yaş aralığına göre profilleri getirir
      */
     @Transactional(readOnly = true)
-    public List<ProfileResponse> getProfilesByAgeRange(int minAge, int maxAge) {
-        log.info("Yaş aralığına göre profiller getiriliyor: {} - {}", minAge, maxAge);
+    public CursorPage<ProfileResponse> getProfilesByAgeRange(int minAge, int maxAge, Long cursor, int size) {
+        log.info("Yaş aralığına göre profiller getiriliyor: {} - {}, cursor: {}", minAge, maxAge, cursor);
         
-        return userProfileRepository.findByAgeRange(minAge, maxAge).stream()
-                .map(ProfileResponse::fromUserProfile)
-                .collect(Collectors.toList());
+        // Yaş koşulu doğum tarihi aralığına çevrilir ki birth_date indeksi kullanılabilsin
+        LocalDate today = LocalDate.now();
+        LocalDate bornAfter = today.minusYears(maxAge + 1L);
+        LocalDate bornOnOrBefore = today.minusYears(minAge);
+        return page(cursor, size, (after, pageable) -> userProfileRepository.findByBirthDateRange(bornAfter, bornOnOrBefore, after, pageable));
     }
     
     /**
      * BMI aralığına göre profilleri getirir
      */
     @Transactional(readOnly = true)
-    public List<ProfileResponse> getProfilesByBmiRange(double minBmi, double maxBmi) {
-        log.info("BMI aralığına göre profiller getiriliyor: {} - {}", minBmi, maxBmi);
+    public CursorPage<ProfileResponse> getProfilesByBmiRange(double minBmi, double maxBmi, Long cursor, int size) {
+        log.info("BMI aralığına göre profiller getiriliyor: {} - {}, cursor: {}", minBmi, maxBmi, cursor);
         
-        return userProfileRepository.findByBmiRange(minBmi, maxBmi).stream()
-                .map(ProfileResponse::fromUserProfile)
-                .collect(Collectors.toList());
+        return page(cursor, size, (after, pageable) -> userProfileRepository.findByBmiRange(minBmi, maxBmi, after, pageable));
     }
     
     /**
      * Kalori hedefine göre profilleri getirir
      */
     @Transactional(readOnly = true)
-    public List<ProfileResponse> getProfilesByCalorieGoalRange(int minCalories, int maxCalories) {
-        log.info("Kalori hedefine göre profiller getiriliyor: {} - {}", minCalories, maxCalories);
+    public CursorPage<ProfileResponse> getProfilesByCalorieGoalRange(int minCalories, int maxCalories, Long cursor, int size) {
+        log.info("Kalori hedefine göre profiller getiriliyor: {} - {}, cursor: {}", minCalories, maxCalories, cursor);
         
-        return userProfileRepository.findByCalorieGoalRange(minCalories, maxCalories).stream()
-                .map(ProfileResponse::fromUserProfile)
-                .collect(Collectors.toList());
+        return page(cursor, size, (after, pageable) -> userProfileRepository.findByCalorieGoalRange(minCalories, maxCalories, after, pageable));
     }
     
     /**
-     * Alerji içeren profilleri getirir
+     * Alerji etiketlerinden herhangi birine (ANY) ya da hepsine (ALL) sahip profilleri getirir
      */
     @Transactional(readOnly = true)
-    public List<ProfileResponse> getProfilesByAllergy(String allergy) {
-        log.info("Alerji ile profil aranıyor: {}", allergy);
+    public CursorPage<ProfileResponse> getProfilesByAllergy(String allergy, ProfileTagIndex.Match match, Long cursor, int size) {
+        log.info("Alerji ile profil aranıyor: {} ({}), cursor: {}", allergy, match, cursor);
         
-        return userProfileRepository.findByAllergyContaining(allergy).stream()
-                .map(ProfileResponse::fromUserProfile)
-                .collect(Collectors.toList());
+        return findByTags(ProfileTag.Type.ALLERGY, allergy, match, cursor, size);
     }
     
     /**
-     * Diyet tercihi içeren profilleri getirir
+     * Diyet tercihi etiketlerinden herhangi birine (ANY) ya da hepsine (ALL) sahip profilleri getirir
      */
     @Transactional(readOnly = true)
-    public List<ProfileResponse> getProfilesByDietaryPreference(String preference) {
-        log.info("Diyet tercihine göre profil aranıyor: {}", preference);
+    public CursorPage<ProfileResponse> getProfilesByDietaryPreference(String preference, ProfileTagIndex.Match match, Long cursor, int size) {
+        log.info("Diyet tercihine göre profil aranıyor: {} ({}), cursor: {}", preference, match, cursor);
         
-        return userProfileRepository.findByDietaryPreferenceContaining(preference).stream()
+        return findByTags(ProfileTag.Type.DIETARY_PREFERENCE, preference, match, cursor, size);
+    }
+    
+    /**
+     * Kohort sorgusuna uyan profil sayısını bellek içi bitmap indeksinden döner; veritabanına gidilmediği
+     * için transaction açılmaz
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int countCohort(CohortQuery query) {
+        query.validate();
+        return profileCohortIndex.count(query);
+    }
+    
+    /**
+     * Kohort sorgusuna uyan profil id'lerini cursor tabanlı sayfalar halinde döner
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CursorPage<Long> getCohortProfileIds(CohortQuery query, Long cursor, int size) {
+        query.validate();
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        
+        long[] ids = profileCohortIndex.findIds(query, cursor != null ? cursor : 0L, pageSize + 1);
+        boolean hasMore = ids.length > pageSize;
+        List<Long> items = Arrays.stream(ids).limit(pageSize).boxed().toList();
+        
+        return CursorPage.<Long>builder()
+                .items(items)
+                .nextCursor(hasMore ? items.get(items.size() - 1) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+    
+    /**
+     * Etiket metni olup etiket tablosuna bağlanmamış eski profilleri bağlar, ardından etiket
+     * indeksini yükler. Her sayfa kendi transaction'ında yazılır.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void initializeTags() {
+        long cursor = 0L;
+        int linked = 0;
+        List<UserProfile> candidates;
+        do {
+            long after = cursor;
+            candidates = transactionTemplate.execute(tx -> {
+                List<UserProfile> page = userProfileRepository.findTagBackfillCandidates(after, PageRequest.of(0, MAX_PAGE_SIZE));
+                page.forEach(profile -> profile.setTags(
+                        resolveTags(profile.getAllergies(), profile.getMedicalConditions(), profile.getDietaryPreferences())));
+                return page;
+            });
+            if (!candidates.isEmpty()) {
+                cursor = candidates.get(candidates.size() - 1).getId();
+            }
+            linked += candidates.size();
+        } while (candidates.size() == MAX_PAGE_SIZE);
+        log.info("{} profil etiketlere bağlandı", linked);
+        profileTagIndex.reload();
+    }
+    
+    /**
+     * Yaşı değişen profillerin BMR/TDEE değerlerini yeniler; açılışta, hiç hesaplanmamış eski
+     * kayıtları da doldurur. Her sayfa kendi transaction'ında yazılır; satır kilitleri ve
+     * persistence context tüm tarama boyunca değil yalnızca bir sayfa süresince tutulur.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${nutrilife.profile-metrics.refresh-cron:0 5 0 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void refreshDueMetrics() {
+        LocalDate today = LocalDate.now();
+        int refreshed = 0;
+        int pageSize;
+        do {
+            // Yenilenen kayıtlar koşuldan çıktığı için her seferinde ilk sayfa okunur
+            pageSize = transactionTemplate.execute(tx -> {
+                List<UserProfile> due = userProfileRepository.findMetricsDue(today, PageRequest.of(0, MAX_PAGE_SIZE));
+                due.forEach(profile -> profile.refreshMetrics(today));
+                return due.size();
+            });
+            refreshed += pageSize;
+        } while (pageSize == MAX_PAGE_SIZE);
+        log.info("{} profilin türetilmiş metrikleri yenilendi", refreshed);
+    }
+    
+    private CursorPage<ProfileResponse> findByTags(ProfileTag.Type type, String text, ProfileTagIndex.Match match, Long cursor, int size) {
+        Set<String> names = ProfileTagService.normalize(text);
+        List<Integer> tagIds = profileTagService.findTagIds(type, names);
+        // Sözlükte olmayan bir etiketi taşıyan profil olamaz; ALL aramasında sonuç boştur
+        if (match == ProfileTagIndex.Match.ALL && tagIds.size() < names.size()) {
+            tagIds = List.of();
+        }
+        List<Integer> searchTags = tagIds;
+        return page(cursor, size, (after, pageable) -> {
+            // İndeks commit sonrası güncellendiği için silinmiş profillerin id'leri kısa süre kalabilir;
+            // sayfa, bulunamayan id'lerin yerine indeksten yenileri okunarak gerçekten dönen satırlarla doldurulur
+            int limit = pageable.getPageSize();
+            List<UserProfile> profiles = new ArrayList<>(limit);
+            long from = after;
+            long[] ids;
+            do {
+                ids = profileTagIndex.find(searchTags, match, from, limit - profiles.size());
+                if (ids.length == 0) {
+                    break;
+                }
+                profiles.addAll(userProfileRepository.findByIdInOrderByIdAsc(Arrays.stream(ids).boxed().toList()));
+                from = ids[ids.length - 1];
+            } while (profiles.size() < limit);
+            return profiles;
+        });
+    }
+    
+    private Set<ProfileTag> resolveTags(ProfileRequest request) {
+        return resolveTags(request.getAllergies(), request.getMedicalConditions(), request.getDietaryPreferences());
+    }
+    
+    private Set<ProfileTag> resolveTags(String allergies, String medicalConditions, String dietaryPreferences) {
+        Set<ProfileTag> tags = profileTagService.resolveTags(ProfileTag.Type.ALLERGY, allergies);
+        tags.addAll(profileTagService.resolveTags(ProfileTag.Type.MEDICAL_CONDITION, medicalConditions));
+        tags.addAll(profileTagService.resolveTags(ProfileTag.Type.DIETARY_PREFERENCE, dietaryPreferences));
+        return tags;
+    }
+    
+    private void indexTags(UserProfile profile) {
+        Long profileId = profile.getId();
+        List<Integer> tagIds = profile.getTags().stream().map(ProfileTag::getId).toList();
+        afterCommit(() -> profileTagIndex.put(profileId, tagIds));
+    }
+    
+    /**
+     * Sorgunun cursor'dan sonraki en fazla size profilini döner
+     */
+    private CursorPage<ProfileResponse> page(Long cursor, int size, BiFunction<Long, Pageable, List<UserProfile>> query) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        
+        // Bir fazla satır çekerek sonraki sayfanın varlığını COUNT sorgusu olmadan anlıyoruz
+        List<UserProfile> profiles = query.apply(cursor != null ? cursor : 0L, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = profiles.size() > pageSize;
+        List<ProfileResponse> items = profiles.stream()
+                .limit(pageSize)
                 .map(ProfileResponse::fromUserProfile)
                 .collect(Collectors.toList());
+        
+        return CursorPage.<ProfileResponse>builder()
+                .items(items)
+                .nextCursor(hasMore ? items.get(items.size() - 1).getId() : null)
+                .hasMore(hasMore)
+                .build();
     }
 }
@@ -0,0 +1,32 @@
+package com.superapp.nutrilife.profile.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * nutrilife-core'daki com.superapp.nutrilife.util.TransactionUtils ile aynıdır. Servisler ayrı
+ * derlenip dağıtılır ve aralarında ortak bir kütüphane modülü yoktur; tek bir yardımcı için core'a
+ * bağımlılık eklemek yerine kopya tutulur. Birinde yapılan değişiklik diğerine de uygulanmalıdır.
+ */
+public final class TransactionUtils {
+    
+    private TransactionUtils() {
+    }
+    
+    /**
+     * İşlemi aktif transaction commit edildikten sonra çalıştırır; rollback olursa hiç çalışmaz.
+     * Transaction yoksa hemen çalıştırır.
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,109 @@
+package com.superapp.nutrilife.profile.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.superapp.nutrilife.profile.dto.CursorPage;
+import com.superapp.nutrilife.profile.dto.ProfileResponse;
+import com.superapp.nutrilife.profile.service.UserProfileService;
+import com.superapp.nutrilife.profile.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserProfileControllerTest {
+
+    private static final String TOKEN = "Bearer admin";
+
+    private final UserProfileService service = mock(UserProfileService.class);
+    private final JwtUtil jwtUtil = mock(JwtUtil.class);
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final UserProfileController controller = new UserProfileController(service, jwtUtil, objectMapper);
+
+    @BeforeEach
+    void setUp() {
+        when(jwtUtil.getUserIdFromToken(TOKEN)).thenReturn(1L);
+        when(jwtUtil.getRoleFromToken(TOKEN)).thenReturn("ADMIN");
+    }
+
+    @Test
+    void returnsSinglePageWithoutNdjsonAccept() {
+        CursorPage<ProfileResponse> page = page(true, 1L, 2L);
+        when(service.getAllProfiles(10L, 2)).thenReturn(page);
+
+        ResponseEntity<?> response = controller.getAllProfiles(10L, 2, request(null));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(page, response.getBody());
+    }
+
+    @Test
+    void streamsEveryPageAsNdjsonFollowingCursor() throws Exception {
+        when(service.getAllProfiles(null, UserProfileService.MAX_PAGE_SIZE)).thenReturn(page(true, 1L, 2L));
+        when(service.getAllProfiles(2L, UserProfileService.MAX_PAGE_SIZE)).thenReturn(page(false, 3L));
+
+        ResponseEntity<?> response = controller.getAllProfiles(null, 50, request("application/x-ndjson"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingResponseBody) response.getBody()).writeTo(out);
+
+        assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("\n"));
+        List<Long> ids = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            JsonNode node = objectMapper.readTree(line);
+            ids.add(node.get("id").asLong());
+        }
+        assertEquals(List.of(1L, 2L, 3L), ids);
+    }
+
+    @Test
+    void rejectsNonAdminBeforeQuerying() {
+        when(jwtUtil.getRoleFromToken(TOKEN)).thenReturn("USER");
+
+        ResponseEntity<?> response = controller.getAllProfiles(null, 50, request("application/x-ndjson"));
+
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        verify(service, never()).getAllProfiles(any(), anyInt());
+    }
+
+    private static MockHttpServletRequest request(String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", TOKEN);
+        if (accept != null) {
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+        }
+        return request;
+    }
+
+    private static CursorPage<ProfileResponse> page(boolean hasMore, Long... ids) {
+        List<ProfileResponse> items = new ArrayList<>();
+        for (Long id : ids) {
+            items.add(ProfileResponse.builder().id(id).firstName("Ad " + id).build());
+        }
+        return CursorPage.<ProfileResponse>builder()
+                .items(items)
+                .nextCursor(hasMore ? ids[ids.length - 1] : null)
+                .hasMore(hasMore)
+                .build();
+    }
+}
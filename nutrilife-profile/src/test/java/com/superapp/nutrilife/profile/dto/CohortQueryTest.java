@@ -0,0 +1,58 @@
+package com.superapp.nutrilife.profile.dto;
+
+import com.superapp.nutrilife.profile.model.UserProfile;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CohortQueryTest {
+
+    @Test
+    void acceptsNestingUpToMaxDepth() {
+        assertDoesNotThrow(() -> nested(CohortQuery.MAX_DEPTH).validate());
+    }
+
+    @Test
+    void rejectsDeeperNesting() {
+        assertThrows(IllegalArgumentException.class, () -> nested(CohortQuery.MAX_DEPTH + 1).validate());
+        // Yığın taşması yerine doğrulama hatası
+        assertThrows(IllegalArgumentException.class, () -> nested(100_000).validate());
+    }
+
+    @Test
+    void rejectsInvalidNodes() {
+        CohortQuery empty = new CohortQuery();
+        assertThrows(IllegalArgumentException.class, empty::validate);
+
+        CohortQuery emptyAnd = new CohortQuery();
+        emptyAnd.setAnd(List.of());
+        assertThrows(IllegalArgumentException.class, emptyAnd::validate);
+
+        CohortQuery.Range calories = new CohortQuery.Range();
+        calories.setMin(1950);
+        CohortQuery offBucket = new CohortQuery();
+        offBucket.setCalories(calories);
+        assertThrows(IllegalArgumentException.class, offBucket::validate);
+    }
+
+    /**
+     * En içte bir cinsiyet yaprağı olan, and ve not düğümleri dönüşümlü toplam depth seviyelik ağaç
+     */
+    private static CohortQuery nested(int depth) {
+        CohortQuery query = new CohortQuery();
+        query.setGender(UserProfile.Gender.FEMALE);
+        for (int level = 2; level <= depth; level++) {
+            CohortQuery parent = new CohortQuery();
+            if (level % 2 == 0) {
+                parent.setNot(query);
+            } else {
+                parent.setAnd(List.of(query));
+            }
+            query = parent;
+        }
+        return query;
+    }
+}
@@ -0,0 +1,183 @@
+package com.superapp.nutrilife.profile.index;
+
+import com.superapp.nutrilife.profile.dto.CohortQuery;
+import com.superapp.nutrilife.profile.model.UserProfile;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProfileCohortIndexTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ProfileCohortIndex index = new ProfileCohortIndex(jdbcTemplate, transactionManager);
+
+    @Test
+    void bmiRangeIsHalfOpen() {
+        index.put(profile(1L).bmi(24.9).build());
+        index.put(profile(2L).bmi(25.0).build());
+        index.put(profile(3L).bmi(29.99).build());
+        index.put(profile(4L).bmi(30.0).build());
+
+        assertArrayEquals(new long[]{2, 3}, index.findIds(bmi(25, 30), 0L, 10));
+        assertArrayEquals(new long[]{1}, index.findIds(bmi(null, 25), 0L, 10));
+        assertArrayEquals(new long[]{4}, index.findIds(bmi(30, null), 0L, 10));
+    }
+
+    @Test
+    void calorieRangeIsHalfOpenOnBuckets() {
+        index.put(profile(1L).dailyCalorieGoal(1999).build());
+        index.put(profile(2L).dailyCalorieGoal(2000).build());
+        index.put(profile(3L).dailyCalorieGoal(2099).build());
+        index.put(profile(4L).dailyCalorieGoal(2100).build());
+
+        CohortQuery query = new CohortQuery();
+        query.setCalories(range(2000, 2100));
+        assertArrayEquals(new long[]{2, 3}, index.findIds(query, 0L, 10));
+    }
+
+    @Test
+    void ageRangeIsClosed() {
+        LocalDate today = LocalDate.now();
+        index.put(profile(1L).birthDate(today.minusYears(29)).build());
+        index.put(profile(2L).birthDate(today.minusYears(30)).build());
+        // Yarın 41 olacak: bugün hâlâ 40
+        index.put(profile(3L).birthDate(today.minusYears(41).plusDays(1)).build());
+        index.put(profile(4L).birthDate(today.minusYears(41)).build());
+
+        CohortQuery query = new CohortQuery();
+        query.setAge(range(30, 40));
+        assertArrayEquals(new long[]{2, 3}, index.findIds(query, 0L, 10));
+    }
+
+    @Test
+    void notInsideAndSubtractsAndOutsideComplementsIncludingUnknown() {
+        index.put(profile(1L).gender(UserProfile.Gender.FEMALE).goal(UserProfile.Goal.WEIGHT_LOSS).build());
+        index.put(profile(2L).gender(UserProfile.Gender.FEMALE).goal(UserProfile.Goal.MUSCLE_GAIN).build());
+        index.put(profile(3L).gender(UserProfile.Gender.FEMALE).build());
+        index.put(profile(4L).gender(UserProfile.Gender.MALE).goal(UserProfile.Goal.MUSCLE_GAIN).build());
+
+        CohortQuery notWeightLoss = not(goal(UserProfile.Goal.WEIGHT_LOSS));
+        assertArrayEquals(new long[]{2, 3}, index.findIds(and(gender(UserProfile.Gender.FEMALE), notWeightLoss), 0L, 10));
+        assertArrayEquals(new long[]{2, 3, 4}, index.findIds(notWeightLoss, 0L, 10));
+        // Yalnızca not içeren and tüm profillerden çıkarır
+        assertEquals(3, index.count(and(notWeightLoss)));
+        assertEquals(1, index.count(and(not(gender(UserProfile.Gender.FEMALE)), notWeightLoss)));
+    }
+
+    @Test
+    void findIdsPagesFromCursor() {
+        for (long id = 1; id <= 5; id++) {
+            index.put(profile(id).gender(UserProfile.Gender.FEMALE).build());
+        }
+        CohortQuery query = gender(UserProfile.Gender.FEMALE);
+
+        assertArrayEquals(new long[]{1, 2}, index.findIds(query, 0L, 2));
+        assertArrayEquals(new long[]{3, 4}, index.findIds(query, 2L, 2));
+        assertArrayEquals(new long[]{5}, index.findIds(query, 4L, 2));
+        assertArrayEquals(new long[0], index.findIds(query, 5L, 2));
+        assertArrayEquals(new long[0], index.findIds(query, Integer.MAX_VALUE, 2));
+    }
+
+    @Test
+    void reloadKeepsWritesMadeWhileLoading() throws Exception {
+        index.put(profile(3L).gender(UserProfile.Gender.FEMALE).build());
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        doAnswer(invocation -> {
+            // Cursor ile okunması için sorgu fetch size ile hazırlanır
+            PreparedStatementCreator creator = invocation.getArgument(0);
+            creator.createPreparedStatement(connection);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            // Yükleme sürerken 1 güncellenir ve 3 silinir; tablo okuması ikisini de eski haliyle görür
+            index.put(profile(1L).gender(UserProfile.Gender.MALE).bmi(22.0).build());
+            index.remove(3L);
+            handler.processRow(row(1L, "FEMALE", 31.0));
+            handler.processRow(row(2L, "FEMALE", 22.5));
+            handler.processRow(row(3L, "FEMALE", null));
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        index.reload();
+
+        verify(transactionManager).getTransaction(argThat(definition -> definition.isReadOnly()));
+        verify(statement).setFetchSize(1000);
+
+        assertArrayEquals(new long[]{2}, index.findIds(gender(UserProfile.Gender.FEMALE), 0L, 10));
+        assertArrayEquals(new long[]{1}, index.findIds(gender(UserProfile.Gender.MALE), 0L, 10));
+        assertArrayEquals(new long[]{1, 2}, index.findIds(bmi(22, 23), 0L, 10));
+        assertEquals(2, index.count(not(goal(UserProfile.Goal.WEIGHT_LOSS))));
+    }
+
+    private static UserProfile.UserProfileBuilder profile(long id) {
+        return UserProfile.builder().id(id);
+    }
+
+    private static ResultSet row(long id, String gender, Double bmi) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(id);
+        when(rs.getString("gender")).thenReturn(gender);
+        when(rs.getObject("bmi", Double.class)).thenReturn(bmi);
+        when(rs.getDate("birth_date")).thenReturn(Date.valueOf(LocalDate.of(1990, 1, 1)));
+        return rs;
+    }
+
+    private static CohortQuery.Range range(Integer min, Integer max) {
+        CohortQuery.Range range = new CohortQuery.Range();
+        range.setMin(min);
+        range.setMax(max);
+        return range;
+    }
+
+    private static CohortQuery bmi(Integer min, Integer max) {
+        CohortQuery query = new CohortQuery();
+        query.setBmi(range(min, max));
+        return query;
+    }
+
+    private static CohortQuery gender(UserProfile.Gender gender) {
+        CohortQuery query = new CohortQuery();
+        query.setGender(gender);
+        return query;
+    }
+
+    private static CohortQuery goal(UserProfile.Goal goal) {
+        CohortQuery query = new CohortQuery();
+        query.setGoal(goal);
+        return query;
+    }
+
+    private static CohortQuery not(CohortQuery child) {
+        CohortQuery query = new CohortQuery();
+        query.setNot(child);
+        return query;
+    }
+
+    private static CohortQuery and(CohortQuery... children) {
+        CohortQuery query = new CohortQuery();
+        query.setAnd(List.of(children));
+        return query;
+    }
+}
@@ -0,0 +1,124 @@
+package com.superapp.nutrilife.profile.index;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProfileTagIndexTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ProfileTagIndex index = new ProfileTagIndex(jdbcTemplate, transactionManager);
+
+    @Test
+    void matchesAnyAndAllTags() {
+        index.put(1L, List.of(10, 20));
+        index.put(2L, List.of(20));
+        index.put(3L, List.of(30));
+
+        assertArrayEquals(new long[]{1, 2}, index.find(List.of(20), ProfileTagIndex.Match.ANY, 0L, 10));
+        assertArrayEquals(new long[]{1, 3}, index.find(List.of(10, 30), ProfileTagIndex.Match.ANY, 0L, 10));
+        assertArrayEquals(new long[]{1}, index.find(List.of(10, 20), ProfileTagIndex.Match.ALL, 0L, 10));
+        assertArrayEquals(new long[0], index.find(List.of(10, 30), ProfileTagIndex.Match.ALL, 0L, 10));
+    }
+
+    @Test
+    void sparseTagIdsAcrossWordBoundaries() {
+        // Büyük ve aralıklı veritabanı id'leri sıra numarasına çevrilir; 64'ten fazla etiket birden çok kelimeye yayılır
+        for (int i = 0; i < 100; i++) {
+            index.put((long) i + 1, List.of(1_000_000 + i * 7919));
+        }
+        index.put(500L, List.of(1_000_000, 1_000_000 + 99 * 7919));
+
+        assertArrayEquals(new long[]{100, 500}, index.find(List.of(1_000_000 + 99 * 7919), ProfileTagIndex.Match.ANY, 0L, 10));
+        assertArrayEquals(new long[]{500}, index.find(List.of(1_000_000, 1_000_000 + 99 * 7919), ProfileTagIndex.Match.ALL, 0L, 10));
+    }
+
+    @Test
+    void unknownTagsAreSkippedForAnyAndEmptyForAll() {
+        index.put(1L, List.of(10));
+
+        assertArrayEquals(new long[]{1}, index.find(List.of(10, 99), ProfileTagIndex.Match.ANY, 0L, 10));
+        assertArrayEquals(new long[0], index.find(List.of(10, 99), ProfileTagIndex.Match.ALL, 0L, 10));
+        assertArrayEquals(new long[0], index.find(List.of(99), ProfileTagIndex.Match.ANY, 0L, 10));
+    }
+
+    @Test
+    void pagesFromCursorInIdOrder() {
+        for (long id = 1; id <= 5; id++) {
+            index.put(id, List.of(10));
+        }
+
+        assertArrayEquals(new long[]{1, 2}, index.find(List.of(10), ProfileTagIndex.Match.ANY, 0L, 2));
+        assertArrayEquals(new long[]{3, 4}, index.find(List.of(10), ProfileTagIndex.Match.ANY, 2L, 2));
+        assertArrayEquals(new long[]{5}, index.find(List.of(10), ProfileTagIndex.Match.ANY, 4L, 2));
+    }
+
+    @Test
+    void putReplacesAndRemoveDropsProfile() {
+        index.put(1L, List.of(10));
+        index.put(2L, List.of(10));
+
+        index.put(1L, List.of(20));
+        index.remove(2L);
+
+        assertArrayEquals(new long[0], index.find(List.of(10), ProfileTagIndex.Match.ANY, 0L, 10));
+        assertArrayEquals(new long[]{1}, index.find(List.of(20), ProfileTagIndex.Match.ANY, 0L, 10));
+    }
+
+    @Test
+    void reloadKeepsWritesMadeWhileLoading() throws Exception {
+        index.put(3L, List.of(10));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        doAnswer(invocation -> {
+            // Cursor ile okunması için sorgu fetch size ile hazırlanır
+            PreparedStatementCreator creator = invocation.getArgument(0);
+            creator.createPreparedStatement(connection);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            // Yükleme sürerken 1 güncellenir ve 3 silinir; tablo okuması ikisini de eski haliyle görür
+            index.put(1L, List.of(20));
+            index.remove(3L);
+            handler.processRow(row(1L, 10));
+            handler.processRow(row(2L, 10));
+            handler.processRow(row(2L, 20));
+            handler.processRow(row(3L, 10));
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        index.reload();
+
+        verify(transactionManager).getTransaction(argThat(definition -> definition.isReadOnly()));
+        verify(statement).setFetchSize(1000);
+
+        assertArrayEquals(new long[]{2}, index.find(List.of(10), ProfileTagIndex.Match.ANY, 0L, 10));
+        assertArrayEquals(new long[]{1, 2}, index.find(Set.of(20), ProfileTagIndex.Match.ANY, 0L, 10));
+    }
+
+    private static ResultSet row(long profileId, int tagId) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("profile_id")).thenReturn(profileId);
+        when(rs.getInt("tag_id")).thenReturn(tagId);
+        return rs;
+    }
+}
@@ -0,0 +1,83 @@
+package com.superapp.nutrilife.profile.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class UserProfileTest {
+
+    @Test
+    void refreshComputesMetricsAndSchedulesNextBirthday() {
+        UserProfile profile = profile(LocalDate.of(1996, 3, 15));
+
+        profile.refreshMetrics(LocalDate.of(2026, 6, 1));
+
+        // 10*80 + 6.25*180 - 5*30 + 5
+        assertEquals(1780, profile.getBmr());
+        assertEquals(2759, profile.getTdee());
+        assertEquals(LocalDate.of(2027, 3, 15), profile.getMetricsRefreshOn());
+    }
+
+    @Test
+    void refreshOnBirthdaySchedulesFollowingYear() {
+        UserProfile profile = profile(LocalDate.of(1996, 6, 1));
+
+        profile.refreshMetrics(LocalDate.of(2026, 6, 1));
+
+        assertEquals(1780, profile.getBmr());
+        assertEquals(LocalDate.of(2027, 6, 1), profile.getMetricsRefreshOn());
+    }
+
+    @Test
+    void leapDayBirthdayIsDueAgainUntilAgeChanges() {
+        UserProfile profile = profile(LocalDate.of(2000, 2, 29));
+
+        profile.refreshMetrics(LocalDate.of(2026, 6, 1));
+        assertEquals(LocalDate.of(2027, 2, 28), profile.getMetricsRefreshOn());
+
+        // Yaş 28 Şubat'ta henüz artmaz; kayıt ertesi gün yeniden yenilenir
+        profile.refreshMetrics(LocalDate.of(2027, 2, 28));
+        assertEquals(26, profile.getAgeOn(LocalDate.of(2027, 2, 28)));
+        assertEquals(LocalDate.of(2027, 3, 1), profile.getMetricsRefreshOn());
+
+        profile.refreshMetrics(LocalDate.of(2027, 3, 1));
+        assertEquals(27, profile.getAgeOn(LocalDate.of(2027, 3, 1)));
+        assertEquals(LocalDate.of(2028, 2, 29), profile.getMetricsRefreshOn());
+    }
+
+    @Test
+    void missingBirthDateAssumesThirtyAndNeverFallsDue() {
+        UserProfile profile = profile(null);
+
+        profile.refreshMetrics(LocalDate.of(2026, 6, 1));
+
+        assertEquals(1780, profile.getBmr());
+        assertNull(profile.getMetricsRefreshOn());
+    }
+
+    @Test
+    void missingBodyDataClearsMetrics() {
+        UserProfile profile = profile(LocalDate.of(1996, 3, 15));
+        profile.refreshMetrics(LocalDate.of(2026, 6, 1));
+        profile.setHeight(null);
+
+        profile.refreshMetrics(LocalDate.of(2026, 6, 2));
+
+        assertNull(profile.getBmr());
+        assertNull(profile.getTdee());
+        assertNull(profile.getMetricsRefreshOn());
+    }
+
+    private static UserProfile profile(LocalDate birthDate) {
+        return UserProfile.builder()
+                .birthDate(birthDate)
+                .gender(UserProfile.Gender.MALE)
+                .height(180.0)
+                .weight(80.0)
+                .activityLevel(UserProfile.ActivityLevel.MODERATELY_ACTIVE)
+                .build();
+    }
+}
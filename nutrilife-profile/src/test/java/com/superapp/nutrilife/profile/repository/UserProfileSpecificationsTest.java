@@ -0,0 +1,145 @@
+package com.superapp.nutrilife.profile.repository;
+
+import com.superapp.nutrilife.profile.dto.ProfileSearchCriteria;
+import com.superapp.nutrilife.profile.model.UserProfile;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+class UserProfileSpecificationsTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 6, 15);
+
+    private final Root<UserProfile> root = mock(Root.class);
+    private final CriteriaQuery<?> query = mock(CriteriaQuery.class);
+    private final CriteriaBuilder cb = mock(CriteriaBuilder.class);
+    private final Path<Object> goal = mock(Path.class);
+    private final Path<Object> activityLevel = mock(Path.class);
+    private final Path<Object> gender = mock(Path.class);
+    private final Path<LocalDate> birthDate = mock(Path.class);
+    private final Path<Double> bmi = mock(Path.class);
+
+    @BeforeEach
+    void setUp() {
+        doReturn(goal).when(root).get("goal");
+        doReturn(activityLevel).when(root).get("activityLevel");
+        doReturn(gender).when(root).get("gender");
+        doReturn(birthDate).when(root).get("birthDate");
+        doReturn(bmi).when(root).get("bmi");
+    }
+
+    @Test
+    void emptyCriteriaAddsNoCondition() {
+        assertNull(UserProfileSpecifications.matching(new ProfileSearchCriteria(), TODAY).toPredicate(root, query, cb));
+        verify(root, never()).get(anyString());
+    }
+
+    @Test
+    void onlyGivenFiltersAreCombinedWithAnd() {
+        Predicate goalPredicate = mock(Predicate.class);
+        Predicate genderPredicate = mock(Predicate.class);
+        Predicate goalAndGender = mock(Predicate.class);
+        when(cb.equal(goal, UserProfile.Goal.WEIGHT_LOSS)).thenReturn(goalPredicate);
+        when(cb.equal(gender, UserProfile.Gender.FEMALE)).thenReturn(genderPredicate);
+        when(cb.and(goalPredicate, genderPredicate)).thenReturn(goalAndGender);
+        ProfileSearchCriteria criteria = new ProfileSearchCriteria();
+        criteria.setGoal(UserProfile.Goal.WEIGHT_LOSS);
+        criteria.setGender(UserProfile.Gender.FEMALE);
+
+        assertSame(goalAndGender, UserProfileSpecifications.matching(criteria, TODAY).toPredicate(root, query, cb));
+        verify(root, never()).get("activityLevel");
+        verify(root, never()).get("birthDate");
+        verify(root, never()).get("bmi");
+    }
+
+    @Test
+    void ageRangeBecomesBirthDateRange() {
+        Predicate bornOnOrBefore = mock(Predicate.class);
+        Predicate bornAfter = mock(Predicate.class);
+        Predicate both = mock(Predicate.class);
+        // En az 30 yaş için en geç 1996-06-15'te, en fazla 40 yaş için 1985-06-15'ten sonra doğmuş olmalı
+        when(cb.lessThanOrEqualTo(birthDate, LocalDate.of(1996, 6, 15))).thenReturn(bornOnOrBefore);
+        when(cb.greaterThan(birthDate, LocalDate.of(1985, 6, 15))).thenReturn(bornAfter);
+        when(cb.and(bornOnOrBefore, bornAfter)).thenReturn(both);
+
+        assertSame(both, UserProfileSpecifications.ageBetween(30, 40, TODAY).toPredicate(root, query, cb));
+        assertSame(bornOnOrBefore, UserProfileSpecifications.ageBetween(30, null, TODAY).toPredicate(root, query, cb));
+        assertSame(bornAfter, UserProfileSpecifications.ageBetween(null, 40, TODAY).toPredicate(root, query, cb));
+    }
+
+    @Test
+    void bmiRangeIsInclusiveAndOpenEnded() {
+        Predicate between = mock(Predicate.class);
+        Predicate atLeast = mock(Predicate.class);
+        Predicate atMost = mock(Predicate.class);
+        when(cb.between(bmi, 18.5, 25.0)).thenReturn(between);
+        when(cb.greaterThanOrEqualTo(bmi, 18.5)).thenReturn(atLeast);
+        when(cb.lessThanOrEqualTo(bmi, 25.0)).thenReturn(atMost);
+
+        assertSame(between, UserProfileSpecifications.bmiBetween(18.5, 25.0).toPredicate(root, query, cb));
+        assertSame(atLeast, UserProfileSpecifications.bmiBetween(18.5, null).toPredicate(root, query, cb));
+        assertSame(atMost, UserProfileSpecifications.bmiBetween(null, 25.0).toPredicate(root, query, cb));
+    }
+
+    @Test
+    void allFiltersTogetherWithCursor() {
+        Predicate goalPredicate = mock(Predicate.class);
+        Predicate activityPredicate = mock(Predicate.class);
+        Predicate genderPredicate = mock(Predicate.class);
+        Predicate minAge = mock(Predicate.class);
+        Predicate maxAge = mock(Predicate.class);
+        Predicate age = mock(Predicate.class);
+        Predicate bmiPredicate = mock(Predicate.class);
+        Predicate cursor = mock(Predicate.class);
+        Predicate[] combined = new Predicate[5];
+        for (int i = 0; i < combined.length; i++) {
+            combined[i] = mock(Predicate.class);
+        }
+        Path<Long> id = mock(Path.class);
+        doReturn(id).when(root).get("id");
+        when(cb.equal(goal, UserProfile.Goal.MUSCLE_GAIN)).thenReturn(goalPredicate);
+        when(cb.equal(activityLevel, UserProfile.ActivityLevel.VERY_ACTIVE)).thenReturn(activityPredicate);
+        when(cb.equal(gender, UserProfile.Gender.MALE)).thenReturn(genderPredicate);
+        when(cb.lessThanOrEqualTo(birthDate, LocalDate.of(2008, 6, 15))).thenReturn(minAge);
+        when(cb.greaterThan(birthDate, LocalDate.of(1995, 6, 15))).thenReturn(maxAge);
+        when(cb.and(minAge, maxAge)).thenReturn(age);
+        when(cb.between(bmi, 20.0, 27.5)).thenReturn(bmiPredicate);
+        when(cb.greaterThan(id, 100L)).thenReturn(cursor);
+        // Koşullar verildiği sırayla soldan sağa birleşir
+        when(cb.and(goalPredicate, activityPredicate)).thenReturn(combined[0]);
+        when(cb.and(combined[0], genderPredicate)).thenReturn(combined[1]);
+        when(cb.and(combined[1], age)).thenReturn(combined[2]);
+        when(cb.and(combined[2], bmiPredicate)).thenReturn(combined[3]);
+        when(cb.and(combined[3], cursor)).thenReturn(combined[4]);
+        ProfileSearchCriteria criteria = new ProfileSearchCriteria();
+        criteria.setGoal(UserProfile.Goal.MUSCLE_GAIN);
+        criteria.setActivityLevel(UserProfile.ActivityLevel.VERY_ACTIVE);
+        criteria.setGender(UserProfile.Gender.MALE);
+        criteria.setMinAge(18);
+        criteria.setMaxAge(30);
+        criteria.setMinBmi(20.0);
+        criteria.setMaxBmi(27.5);
+
+        Specification<UserProfile> spec = UserProfileSpecifications.matching(criteria, TODAY)
+                .and(UserProfileSpecifications.idGreaterThan(100L));
+
+        assertSame(combined[4], spec.toPredicate(root, query, cb));
+    }
+}
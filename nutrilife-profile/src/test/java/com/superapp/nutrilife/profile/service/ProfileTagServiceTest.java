@@ -0,0 +1,61 @@
+package com.superapp.nutrilife.profile.service;
+
+import com.superapp.nutrilife.profile.model.ProfileTag;
+import com.superapp.nutrilife.profile.repository.ProfileTagRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProfileTagServiceTest {
+
+    private final ProfileTagRepository repository = mock(ProfileTagRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ProfileTagService service = new ProfileTagService(repository, jdbcTemplate);
+
+    @Test
+    void existingTagsAreNotInsertedAgain() {
+        when(repository.findByTypeAndNameIn(ProfileTag.Type.ALLERGY, Set.of("gluten", "laktoz")))
+                .thenReturn(List.of(tag(1, "gluten"), tag(2, "laktoz")));
+
+        Set<ProfileTag> tags = service.resolveTags(ProfileTag.Type.ALLERGY, " Gluten, laktoz,gluten");
+
+        assertEquals(Set.of(tag(1, "gluten"), tag(2, "laktoz")), tags);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void onlyMissingTagsAreInserted() {
+        when(repository.findByTypeAndNameIn(ProfileTag.Type.ALLERGY, Set.of("gluten", "fıstık")))
+                .thenReturn(List.of(tag(1, "gluten")));
+        when(repository.findByTypeAndNameIn(ProfileTag.Type.ALLERGY, Set.of("fıstık")))
+                .thenReturn(List.of(tag(7, "fıstık")));
+
+        Set<ProfileTag> tags = service.resolveTags(ProfileTag.Type.ALLERGY, "gluten, FISTIK");
+
+        assertEquals(Set.of(tag(1, "gluten"), tag(7, "fıstık")), tags);
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<Object[]> rows) ->
+                rows.size() == 1 && rows.get(0)[0].equals("ALLERGY") && rows.get(0)[1].equals("fıstık")));
+    }
+
+    @Test
+    void blankTextResolvesToNoTags() {
+        assertEquals(Set.of(), service.resolveTags(ProfileTag.Type.ALLERGY, " , "));
+        verify(repository, never()).findByTypeAndNameIn(any(), any());
+    }
+
+    private static ProfileTag tag(int id, String name) {
+        return ProfileTag.builder().id(id).type(ProfileTag.Type.ALLERGY).name(name).build();
+    }
+}
@@ -0,0 +1,172 @@
+package com.superapp.nutrilife.profile.service;
+
+import com.superapp.nutrilife.profile.dto.CursorPage;
+import com.superapp.nutrilife.profile.dto.ProfileRequest;
+import com.superapp.nutrilife.profile.dto.ProfileResponse;
+import com.superapp.nutrilife.profile.index.ProfileCohortIndex;
+import com.superapp.nutrilife.profile.index.ProfileTagIndex;
+import com.superapp.nutrilife.profile.model.ProfileTag;
+import com.superapp.nutrilife.profile.model.UserProfile;
+import com.superapp.nutrilife.profile.repository.UserProfileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserProfileServiceTest {
+
+    private final UserProfileRepository repository = mock(UserProfileRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ProfileTagService profileTagService = mock(ProfileTagService.class);
+    private final ProfileTagIndex profileTagIndex = mock(ProfileTagIndex.class);
+    private UserProfileService service;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        service = new UserProfileService(repository, new TransactionTemplate(transactionManager),
+                profileTagService, profileTagIndex, mock(ProfileCohortIndex.class));
+    }
+
+    @Test
+    void refreshDueMetricsCommitsEachPageSeparately() {
+        List<UserProfile> fullPage = profiles(1, UserProfileService.MAX_PAGE_SIZE);
+        List<UserProfile> lastPage = profiles(UserProfileService.MAX_PAGE_SIZE + 1, 3);
+        when(repository.findMetricsDue(eq(LocalDate.now()), any(Pageable.class))).thenReturn(fullPage, lastPage);
+
+        service.refreshDueMetrics();
+
+        verify(repository, times(2)).findMetricsDue(eq(LocalDate.now()), any(Pageable.class));
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(2)).commit(any());
+        assertTrue(fullPage.stream().allMatch(profile -> profile.getBmr() != null));
+        assertNotNull(lastPage.get(2).getMetricsRefreshOn());
+    }
+
+    @Test
+    void pageFetchesOneExtraRowToDetectMore() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 3))).thenReturn(profiles(1, 3));
+
+        CursorPage<ProfileResponse> page = service.getAllProfiles(null, 2);
+
+        assertEquals(List.of(1L, 2L), page.getItems().stream().map(ProfileResponse::getId).toList());
+        assertTrue(page.isHasMore());
+        assertEquals(2L, page.getNextCursor());
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(2L, PageRequest.of(0, 3))).thenReturn(profiles(3, 2));
+
+        CursorPage<ProfileResponse> page = service.getAllProfiles(2L, 2);
+
+        assertEquals(List.of(3L, 4L), page.getItems().stream().map(ProfileResponse::getId).toList());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(any(), any())).thenReturn(List.of());
+
+        service.getAllProfiles(null, 0);
+        service.getAllProfiles(null, 100_000);
+
+        verify(repository).findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 2));
+        verify(repository).findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, UserProfileService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void tagSearchFillsPageFromRowsThatStillExist() {
+        when(profileTagService.findTagIds(ProfileTag.Type.ALLERGY, Set.of("gluten"))).thenReturn(List.of(5));
+        when(profileTagIndex.find(List.of(5), ProfileTagIndex.Match.ANY, 0L, 3)).thenReturn(new long[]{1, 2, 3});
+        when(profileTagIndex.find(List.of(5), ProfileTagIndex.Match.ANY, 3L, 1)).thenReturn(new long[]{4});
+        // 2 silinmiş ama indeksten henüz düşmemiş
+        when(repository.findByIdInOrderByIdAsc(List.of(1L, 2L, 3L))).thenReturn(List.of(profiles(1, 1).get(0), profiles(3, 1).get(0)));
+        when(repository.findByIdInOrderByIdAsc(List.of(4L))).thenReturn(profiles(4, 1));
+
+        CursorPage<ProfileResponse> page = service.getProfilesByAllergy("gluten", ProfileTagIndex.Match.ANY, null, 2);
+
+        assertEquals(List.of(1L, 3L), page.getItems().stream().map(ProfileResponse::getId).toList());
+        assertTrue(page.isHasMore());
+        assertEquals(3L, page.getNextCursor());
+    }
+
+    @Test
+    void tagSearchEndsWhenIndexIsExhausted() {
+        when(profileTagService.findTagIds(ProfileTag.Type.ALLERGY, Set.of("gluten"))).thenReturn(List.of(5));
+        when(profileTagIndex.find(List.of(5), ProfileTagIndex.Match.ANY, 0L, 3)).thenReturn(new long[]{1, 2});
+        when(profileTagIndex.find(List.of(5), ProfileTagIndex.Match.ANY, 2L, 2)).thenReturn(new long[0]);
+        when(repository.findByIdInOrderByIdAsc(List.of(1L, 2L))).thenReturn(profiles(2, 1));
+
+        CursorPage<ProfileResponse> page = service.getProfilesByAllergy("gluten", ProfileTagIndex.Match.ANY, null, 2);
+
+        assertEquals(List.of(2L), page.getItems().stream().map(ProfileResponse::getId).toList());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void updateResponseCarriesMetricsComputedOnFlush() {
+        UserProfile stored = profiles(1, 1).get(0);
+        stored.setUserId(42L);
+        stored.refreshMetrics(LocalDate.now());
+        Integer previousBmr = stored.getBmr();
+        when(repository.findByUserId(42L)).thenReturn(Optional.of(stored));
+        // Flush @PreUpdate'i çalıştırıp generated BMI'yı geri okur
+        when(repository.saveAndFlush(any(UserProfile.class))).thenAnswer(invocation -> {
+            UserProfile profile = invocation.getArgument(0);
+            profile.refreshMetrics(LocalDate.now());
+            profile.setBmi(profile.getWeight() * 10000 / (profile.getHeight() * profile.getHeight()));
+            return profile;
+        });
+        ProfileRequest request = ProfileRequest.builder()
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .gender(UserProfile.Gender.FEMALE)
+                .height(165.0)
+                .weight(80.0)
+                .build();
+
+        ProfileResponse response = service.updateProfile(42L, request);
+
+        assertEquals(29.4, response.getBmi());
+        assertNotNull(response.getBmr());
+        assertTrue(response.getBmr() > previousBmr);
+        verify(repository, never()).save(any(UserProfile.class));
+    }
+
+    private static List<UserProfile> profiles(long firstId, int count) {
+        List<UserProfile> profiles = new ArrayList<>(count);
+        LongStream.range(firstId, firstId + count).forEach(id -> profiles.add(UserProfile.builder()
+                .id(id)
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .gender(UserProfile.Gender.FEMALE)
+                .height(165.0)
+                .weight(60.0)
+                .build()));
+        return profiles;
+    }
+}